@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.builder.BinaryRecordBuilder;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.RecordHandler;
+import org.jfpa.record.AbstractBinaryRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BinaryRecordBuilder#process(byte[], int, int)} on large records
+ * delivered in small chunks, as they arrive from socket reads, with records either
+ * copied or handed out as slices of the builder buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryRecordBuilderBenchmark {
+
+    private static final byte[] PATTERN = {0x7B, 0x31, 0x3A};
+
+    @Param({"1048576", "4194304"})
+    private int recordSize;
+
+    @Param({"1024", "4096"})
+    private int chunkSize;
+
+    @Param({"4"})
+    private int records;
+
+    @Param({"false", "true"})
+    private boolean sliceRecords;
+
+    private BinaryRecordBuilder<AbstractBinaryRecord> builder;
+    private byte[] stream;
+    private int handled;
+
+    @Setup
+    public void setUp() {
+        builder = new BinaryRecordBuilder<AbstractBinaryRecord>(new AbstractBinaryRecord() {
+            @Override
+            public byte[] getPattern() {
+                return PATTERN;
+            }
+        }, new RecordHandler<AbstractBinaryRecord>() {
+            public void handle(AbstractBinaryRecord record) {
+                handled++;
+            }
+        });
+        builder.setSliceRecords(sliceRecords);
+        stream = new byte[recordSize * records];
+        Arrays.fill(stream, (byte) 'A');
+        for (int i = 0; i < records; i++) {
+            System.arraycopy(PATTERN, 0, stream, i * recordSize, PATTERN.length);
+        }
+    }
+
+    @Benchmark
+    public int process() throws InvalidRecordException {
+        for (int offset = 0; offset < stream.length; offset += chunkSize) {
+            builder.process(stream, offset, Math.min(chunkSize, stream.length - offset));
+        }
+        builder.flush();
+        return handled;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.RecordHandler;
+import org.jfpa.manager.BinaryRecordManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BinaryRecordManager#process(byte[])} on a chunk containing
+ * a configurable number of marker framed positional records.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryRecordManagerBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    private Width width;
+
+    @Param({"100"})
+    private int records;
+
+    private BinaryRecordManager manager;
+    private byte[] chunk;
+    private int handled;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Class<Object> clazz = (Class<Object>) Layout.POSITIONAL.getRecordClass(width);
+        manager = new BinaryRecordManager(clazz, new RecordHandler<Object>() {
+            public void handle(Object record) {
+                handled++;
+            }
+        });
+        StringBuilder builder = new StringBuilder();
+        String line = Layout.POSITIONAL.line(width);
+        for (int i = 0; i < records; i++) {
+            builder.append(line);
+        }
+        chunk = builder.toString().getBytes();
+    }
+
+    @Benchmark
+    public int process() throws InvalidRecordException {
+        manager.process(chunk);
+        manager.flush();
+        return handled;
+    }
+}
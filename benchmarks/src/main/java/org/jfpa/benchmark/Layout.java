@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+/**
+ * Record styles covered by benchmarks, each one with a narrow and a wide mapping.
+ */
+public enum Layout {
+    POSITIONAL(NarrowPositionalRecord.class, WidePositionalRecord.class) {
+        @Override
+        public String line(final Width width) {
+            return Lines.positional(width.getBlocks());
+        }
+    },
+    DELIMITED(NarrowDelimitedRecord.class, WideDelimitedRecord.class) {
+        @Override
+        public String line(final Width width) {
+            return Lines.delimited(width.getBlocks());
+        }
+    },
+    DELIMITED_ENCLOSED(NarrowEnclosedRecord.class, WideEnclosedRecord.class) {
+        @Override
+        public String line(final Width width) {
+            return Lines.enclosed(width.getBlocks());
+        }
+    },
+    WRAPPED(NarrowWrappedRecord.class, WideWrappedRecord.class) {
+        @Override
+        public String line(final Width width) {
+            return Lines.positional(width.getBlocks());
+        }
+    };
+
+    private final Class<?> narrow;
+    private final Class<?> wide;
+
+    Layout(final Class<?> narrow, final Class<?> wide) {
+        this.narrow = narrow;
+        this.wide = wide;
+    }
+
+    public Class<?> getRecordClass(final Width width) {
+        return width == Width.NARROW ? narrow : wide;
+    }
+
+    public abstract String line(Width width);
+}
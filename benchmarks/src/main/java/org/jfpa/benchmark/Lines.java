@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.utility.Formats;
+
+/**
+ * Builds the input lines used by benchmarks. Every record is made of
+ * blocks of eight columns (one for each supported column type), narrow
+ * records contain a single block, wide records contain {@link #WIDE_BLOCKS}.
+ */
+public final class Lines {
+
+    public static final String MARKER = "#";
+    public static final String ENCLOSE = "\"";
+    public static final String DELIMITER = ";";
+    public static final String DATE_FORMAT = Formats.DATE_FORMAT_CLEAN_INVERTED;
+
+    public static final int NARROW_BLOCKS = 1;
+    public static final int WIDE_BLOCKS = 26;
+
+    private static final String[] POSITIONAL_BLOCK = {
+            "ABCDEFGHIJ", "000012345", "000001234567890123", "00001234.567",
+            "000000012345.67", "20121231", "Y", "Lorem ipsum dolor   "};
+
+    private static final String[] DELIMITED_BLOCK = {
+            "ABCDEFGHIJ", "12345", "1234567890123", "1234.567",
+            "12345.67", "20121231", "Y", "Lorem ipsum dolor"};
+
+    private Lines() { }
+
+    public static String positional(final int blocks) {
+        StringBuilder builder = new StringBuilder(MARKER);
+        for (int i = 0; i < blocks; i++) {
+            for (String value : POSITIONAL_BLOCK) {
+                builder.append(value);
+            }
+        }
+        return builder.toString();
+    }
+
+    public static String delimited(final int blocks) {
+        return delimited(blocks, "");
+    }
+
+    public static String enclosed(final int blocks) {
+        return delimited(blocks, ENCLOSE);
+    }
+
+    private static String delimited(final int blocks, final String enclose) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < blocks; i++) {
+            for (String value : DELIMITED_BLOCK) {
+                if (builder.length() > 0) {
+                    builder.append(DELIMITER);
+                }
+                builder.append(enclose).append(value).append(enclose);
+            }
+        }
+        return builder.toString();
+    }
+}
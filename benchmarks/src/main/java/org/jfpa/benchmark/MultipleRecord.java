@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.annotation.MultiplePositional;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.SubRecord;
+import org.jfpa.annotation.TextColumn;
+
+import java.util.List;
+
+/**
+ * Multiple record made of a header line followed by a list of detail lines.
+ */
+@MultiplePositional(typePositionBegin = 0, typePositionEnd = 1)
+public class MultipleRecord {
+
+    public static final String HEADER_TYPE = "H";
+    public static final String DETAIL_TYPE = "D";
+
+    @SubRecord(type = HEADER_TYPE, first = true)
+    private Header header;
+    @SubRecord(type = DETAIL_TYPE)
+    private List<NarrowPositionalRecord> details;
+
+    @Positional
+    public static class Header {
+        @TextColumn(length = 1)
+        private String type;
+        @TextColumn(length = 10)
+        private Long id;
+    }
+}
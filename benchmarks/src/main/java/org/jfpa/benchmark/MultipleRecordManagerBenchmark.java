@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.RecordHandler;
+import org.jfpa.manager.MultipleRecordManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MultipleRecordManager#read(String)} on a header followed
+ * by a configurable number of detail lines, one multiple record per invocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultipleRecordManagerBenchmark {
+
+    @Param({"1", "10"})
+    private int details;
+
+    private MultipleRecordManager manager;
+    private String[] lines;
+    private MultipleRecord last;
+
+    @Setup
+    public void setUp() {
+        manager = new MultipleRecordManager(MultipleRecord.class, new RecordHandler<MultipleRecord>() {
+            public void handle(MultipleRecord record) {
+                last = record;
+            }
+        });
+        lines = new String[details + 1];
+        lines[0] = MultipleRecord.HEADER_TYPE + "0000000001";
+        String detail = MultipleRecord.DETAIL_TYPE + Lines.positional(Lines.NARROW_BLOCKS).substring(Lines.MARKER.length());
+        for (int i = 1; i < lines.length; i++) {
+            lines[i] = detail;
+        }
+    }
+
+    @Benchmark
+    public MultipleRecord read() throws InvalidRecordException {
+        for (String line : lines) {
+            manager.read(line);
+        }
+        manager.flush();
+        return last;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.TextColumn;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Delimited record of 8 columns.
+ */
+@Delimited
+public class NarrowDelimitedRecord {
+    @TextColumn
+    private String string;
+    @TextColumn
+    private Integer integer;
+    @TextColumn
+    private Long longValue;
+    @TextColumn
+    private Double doubleValue;
+    @TextColumn
+    private BigDecimal bigDecimal;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date date;
+    @TextColumn
+    private Boolean bool;
+    @TextColumn
+    private String text;
+}
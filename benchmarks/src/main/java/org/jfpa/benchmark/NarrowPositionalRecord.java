@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.annotation.Binary;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Positional record of 8 columns, also framed as @Binary by a leading marker.
+ */
+@Binary(patternString = Lines.MARKER)
+@Positional
+public class NarrowPositionalRecord {
+    @TextColumn(length = 1)
+    private String marker;
+    @TextColumn(length = 10)
+    private String string;
+    @TextColumn(length = 9)
+    private Integer integer;
+    @TextColumn(length = 18)
+    private Long longValue;
+    @TextColumn(length = 12)
+    private Double doubleValue;
+    @TextColumn(length = 15)
+    private BigDecimal bigDecimal;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date date;
+    @TextColumn(length = 1)
+    private Boolean bool;
+    @TextColumn(length = 20)
+    private String text;
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.manager.RecordManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RecordManager#read(String, Class)} and {@link RecordManager#write(Object)}
+ * for every single line record style.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordManagerBenchmark {
+
+    @Param({"POSITIONAL", "DELIMITED", "DELIMITED_ENCLOSED", "WRAPPED"})
+    private Layout layout;
+
+    @Param({"NARROW", "WIDE"})
+    private Width width;
+
+    private RecordManager manager;
+    private Class<?> clazz;
+    private String line;
+    private Object record;
+
+    @Setup
+    public void setUp() throws InvalidRecordException {
+        manager = new RecordManager();
+        clazz = layout.getRecordClass(width);
+        line = layout.line(width);
+        record = manager.read(line, clazz);
+    }
+
+    @Benchmark
+    public Object read() throws InvalidRecordException {
+        return manager.read(line, clazz);
+    }
+
+    @Benchmark
+    public String write() throws InvalidRecordException {
+        return manager.write(record);
+    }
+}
@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.TextColumn;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Delimited record of 208 columns, every value enclosed by quotes.
+ */
+@Delimited(stringEnclose = Lines.ENCLOSE)
+public class WideEnclosedRecord {
+    @TextColumn
+    private String c000;
+    @TextColumn
+    private Integer c001;
+    @TextColumn
+    private Long c002;
+    @TextColumn
+    private Double c003;
+    @TextColumn
+    private BigDecimal c004;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c005;
+    @TextColumn
+    private Boolean c006;
+    @TextColumn
+    private String c007;
+    @TextColumn
+    private String c008;
+    @TextColumn
+    private Integer c009;
+    @TextColumn
+    private Long c010;
+    @TextColumn
+    private Double c011;
+    @TextColumn
+    private BigDecimal c012;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c013;
+    @TextColumn
+    private Boolean c014;
+    @TextColumn
+    private String c015;
+    @TextColumn
+    private String c016;
+    @TextColumn
+    private Integer c017;
+    @TextColumn
+    private Long c018;
+    @TextColumn
+    private Double c019;
+    @TextColumn
+    private BigDecimal c020;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c021;
+    @TextColumn
+    private Boolean c022;
+    @TextColumn
+    private String c023;
+    @TextColumn
+    private String c024;
+    @TextColumn
+    private Integer c025;
+    @TextColumn
+    private Long c026;
+    @TextColumn
+    private Double c027;
+    @TextColumn
+    private BigDecimal c028;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c029;
+    @TextColumn
+    private Boolean c030;
+    @TextColumn
+    private String c031;
+    @TextColumn
+    private String c032;
+    @TextColumn
+    private Integer c033;
+    @TextColumn
+    private Long c034;
+    @TextColumn
+    private Double c035;
+    @TextColumn
+    private BigDecimal c036;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c037;
+    @TextColumn
+    private Boolean c038;
+    @TextColumn
+    private String c039;
+    @TextColumn
+    private String c040;
+    @TextColumn
+    private Integer c041;
+    @TextColumn
+    private Long c042;
+    @TextColumn
+    private Double c043;
+    @TextColumn
+    private BigDecimal c044;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c045;
+    @TextColumn
+    private Boolean c046;
+    @TextColumn
+    private String c047;
+    @TextColumn
+    private String c048;
+    @TextColumn
+    private Integer c049;
+    @TextColumn
+    private Long c050;
+    @TextColumn
+    private Double c051;
+    @TextColumn
+    private BigDecimal c052;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c053;
+    @TextColumn
+    private Boolean c054;
+    @TextColumn
+    private String c055;
+    @TextColumn
+    private String c056;
+    @TextColumn
+    private Integer c057;
+    @TextColumn
+    private Long c058;
+    @TextColumn
+    private Double c059;
+    @TextColumn
+    private BigDecimal c060;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c061;
+    @TextColumn
+    private Boolean c062;
+    @TextColumn
+    private String c063;
+    @TextColumn
+    private String c064;
+    @TextColumn
+    private Integer c065;
+    @TextColumn
+    private Long c066;
+    @TextColumn
+    private Double c067;
+    @TextColumn
+    private BigDecimal c068;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c069;
+    @TextColumn
+    private Boolean c070;
+    @TextColumn
+    private String c071;
+    @TextColumn
+    private String c072;
+    @TextColumn
+    private Integer c073;
+    @TextColumn
+    private Long c074;
+    @TextColumn
+    private Double c075;
+    @TextColumn
+    private BigDecimal c076;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c077;
+    @TextColumn
+    private Boolean c078;
+    @TextColumn
+    private String c079;
+    @TextColumn
+    private String c080;
+    @TextColumn
+    private Integer c081;
+    @TextColumn
+    private Long c082;
+    @TextColumn
+    private Double c083;
+    @TextColumn
+    private BigDecimal c084;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c085;
+    @TextColumn
+    private Boolean c086;
+    @TextColumn
+    private String c087;
+    @TextColumn
+    private String c088;
+    @TextColumn
+    private Integer c089;
+    @TextColumn
+    private Long c090;
+    @TextColumn
+    private Double c091;
+    @TextColumn
+    private BigDecimal c092;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c093;
+    @TextColumn
+    private Boolean c094;
+    @TextColumn
+    private String c095;
+    @TextColumn
+    private String c096;
+    @TextColumn
+    private Integer c097;
+    @TextColumn
+    private Long c098;
+    @TextColumn
+    private Double c099;
+    @TextColumn
+    private BigDecimal c100;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c101;
+    @TextColumn
+    private Boolean c102;
+    @TextColumn
+    private String c103;
+    @TextColumn
+    private String c104;
+    @TextColumn
+    private Integer c105;
+    @TextColumn
+    private Long c106;
+    @TextColumn
+    private Double c107;
+    @TextColumn
+    private BigDecimal c108;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c109;
+    @TextColumn
+    private Boolean c110;
+    @TextColumn
+    private String c111;
+    @TextColumn
+    private String c112;
+    @TextColumn
+    private Integer c113;
+    @TextColumn
+    private Long c114;
+    @TextColumn
+    private Double c115;
+    @TextColumn
+    private BigDecimal c116;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c117;
+    @TextColumn
+    private Boolean c118;
+    @TextColumn
+    private String c119;
+    @TextColumn
+    private String c120;
+    @TextColumn
+    private Integer c121;
+    @TextColumn
+    private Long c122;
+    @TextColumn
+    private Double c123;
+    @TextColumn
+    private BigDecimal c124;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c125;
+    @TextColumn
+    private Boolean c126;
+    @TextColumn
+    private String c127;
+    @TextColumn
+    private String c128;
+    @TextColumn
+    private Integer c129;
+    @TextColumn
+    private Long c130;
+    @TextColumn
+    private Double c131;
+    @TextColumn
+    private BigDecimal c132;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c133;
+    @TextColumn
+    private Boolean c134;
+    @TextColumn
+    private String c135;
+    @TextColumn
+    private String c136;
+    @TextColumn
+    private Integer c137;
+    @TextColumn
+    private Long c138;
+    @TextColumn
+    private Double c139;
+    @TextColumn
+    private BigDecimal c140;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c141;
+    @TextColumn
+    private Boolean c142;
+    @TextColumn
+    private String c143;
+    @TextColumn
+    private String c144;
+    @TextColumn
+    private Integer c145;
+    @TextColumn
+    private Long c146;
+    @TextColumn
+    private Double c147;
+    @TextColumn
+    private BigDecimal c148;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c149;
+    @TextColumn
+    private Boolean c150;
+    @TextColumn
+    private String c151;
+    @TextColumn
+    private String c152;
+    @TextColumn
+    private Integer c153;
+    @TextColumn
+    private Long c154;
+    @TextColumn
+    private Double c155;
+    @TextColumn
+    private BigDecimal c156;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c157;
+    @TextColumn
+    private Boolean c158;
+    @TextColumn
+    private String c159;
+    @TextColumn
+    private String c160;
+    @TextColumn
+    private Integer c161;
+    @TextColumn
+    private Long c162;
+    @TextColumn
+    private Double c163;
+    @TextColumn
+    private BigDecimal c164;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c165;
+    @TextColumn
+    private Boolean c166;
+    @TextColumn
+    private String c167;
+    @TextColumn
+    private String c168;
+    @TextColumn
+    private Integer c169;
+    @TextColumn
+    private Long c170;
+    @TextColumn
+    private Double c171;
+    @TextColumn
+    private BigDecimal c172;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c173;
+    @TextColumn
+    private Boolean c174;
+    @TextColumn
+    private String c175;
+    @TextColumn
+    private String c176;
+    @TextColumn
+    private Integer c177;
+    @TextColumn
+    private Long c178;
+    @TextColumn
+    private Double c179;
+    @TextColumn
+    private BigDecimal c180;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c181;
+    @TextColumn
+    private Boolean c182;
+    @TextColumn
+    private String c183;
+    @TextColumn
+    private String c184;
+    @TextColumn
+    private Integer c185;
+    @TextColumn
+    private Long c186;
+    @TextColumn
+    private Double c187;
+    @TextColumn
+    private BigDecimal c188;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c189;
+    @TextColumn
+    private Boolean c190;
+    @TextColumn
+    private String c191;
+    @TextColumn
+    private String c192;
+    @TextColumn
+    private Integer c193;
+    @TextColumn
+    private Long c194;
+    @TextColumn
+    private Double c195;
+    @TextColumn
+    private BigDecimal c196;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c197;
+    @TextColumn
+    private Boolean c198;
+    @TextColumn
+    private String c199;
+    @TextColumn
+    private String c200;
+    @TextColumn
+    private Integer c201;
+    @TextColumn
+    private Long c202;
+    @TextColumn
+    private Double c203;
+    @TextColumn
+    private BigDecimal c204;
+    @TextColumn(dateFormat = Lines.DATE_FORMAT)
+    private Date c205;
+    @TextColumn
+    private Boolean c206;
+    @TextColumn
+    private String c207;
+}
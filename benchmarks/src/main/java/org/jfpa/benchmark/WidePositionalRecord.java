@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.annotation.Binary;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Positional record of 208 columns, also framed as @Binary by a leading marker.
+ */
+@Binary(patternString = Lines.MARKER)
+@Positional
+public class WidePositionalRecord {
+    @TextColumn(length = 1)
+    private String marker;
+    @TextColumn(length = 10)
+    private String c000;
+    @TextColumn(length = 9)
+    private Integer c001;
+    @TextColumn(length = 18)
+    private Long c002;
+    @TextColumn(length = 12)
+    private Double c003;
+    @TextColumn(length = 15)
+    private BigDecimal c004;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c005;
+    @TextColumn(length = 1)
+    private Boolean c006;
+    @TextColumn(length = 20)
+    private String c007;
+    @TextColumn(length = 10)
+    private String c008;
+    @TextColumn(length = 9)
+    private Integer c009;
+    @TextColumn(length = 18)
+    private Long c010;
+    @TextColumn(length = 12)
+    private Double c011;
+    @TextColumn(length = 15)
+    private BigDecimal c012;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c013;
+    @TextColumn(length = 1)
+    private Boolean c014;
+    @TextColumn(length = 20)
+    private String c015;
+    @TextColumn(length = 10)
+    private String c016;
+    @TextColumn(length = 9)
+    private Integer c017;
+    @TextColumn(length = 18)
+    private Long c018;
+    @TextColumn(length = 12)
+    private Double c019;
+    @TextColumn(length = 15)
+    private BigDecimal c020;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c021;
+    @TextColumn(length = 1)
+    private Boolean c022;
+    @TextColumn(length = 20)
+    private String c023;
+    @TextColumn(length = 10)
+    private String c024;
+    @TextColumn(length = 9)
+    private Integer c025;
+    @TextColumn(length = 18)
+    private Long c026;
+    @TextColumn(length = 12)
+    private Double c027;
+    @TextColumn(length = 15)
+    private BigDecimal c028;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c029;
+    @TextColumn(length = 1)
+    private Boolean c030;
+    @TextColumn(length = 20)
+    private String c031;
+    @TextColumn(length = 10)
+    private String c032;
+    @TextColumn(length = 9)
+    private Integer c033;
+    @TextColumn(length = 18)
+    private Long c034;
+    @TextColumn(length = 12)
+    private Double c035;
+    @TextColumn(length = 15)
+    private BigDecimal c036;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c037;
+    @TextColumn(length = 1)
+    private Boolean c038;
+    @TextColumn(length = 20)
+    private String c039;
+    @TextColumn(length = 10)
+    private String c040;
+    @TextColumn(length = 9)
+    private Integer c041;
+    @TextColumn(length = 18)
+    private Long c042;
+    @TextColumn(length = 12)
+    private Double c043;
+    @TextColumn(length = 15)
+    private BigDecimal c044;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c045;
+    @TextColumn(length = 1)
+    private Boolean c046;
+    @TextColumn(length = 20)
+    private String c047;
+    @TextColumn(length = 10)
+    private String c048;
+    @TextColumn(length = 9)
+    private Integer c049;
+    @TextColumn(length = 18)
+    private Long c050;
+    @TextColumn(length = 12)
+    private Double c051;
+    @TextColumn(length = 15)
+    private BigDecimal c052;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c053;
+    @TextColumn(length = 1)
+    private Boolean c054;
+    @TextColumn(length = 20)
+    private String c055;
+    @TextColumn(length = 10)
+    private String c056;
+    @TextColumn(length = 9)
+    private Integer c057;
+    @TextColumn(length = 18)
+    private Long c058;
+    @TextColumn(length = 12)
+    private Double c059;
+    @TextColumn(length = 15)
+    private BigDecimal c060;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c061;
+    @TextColumn(length = 1)
+    private Boolean c062;
+    @TextColumn(length = 20)
+    private String c063;
+    @TextColumn(length = 10)
+    private String c064;
+    @TextColumn(length = 9)
+    private Integer c065;
+    @TextColumn(length = 18)
+    private Long c066;
+    @TextColumn(length = 12)
+    private Double c067;
+    @TextColumn(length = 15)
+    private BigDecimal c068;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c069;
+    @TextColumn(length = 1)
+    private Boolean c070;
+    @TextColumn(length = 20)
+    private String c071;
+    @TextColumn(length = 10)
+    private String c072;
+    @TextColumn(length = 9)
+    private Integer c073;
+    @TextColumn(length = 18)
+    private Long c074;
+    @TextColumn(length = 12)
+    private Double c075;
+    @TextColumn(length = 15)
+    private BigDecimal c076;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c077;
+    @TextColumn(length = 1)
+    private Boolean c078;
+    @TextColumn(length = 20)
+    private String c079;
+    @TextColumn(length = 10)
+    private String c080;
+    @TextColumn(length = 9)
+    private Integer c081;
+    @TextColumn(length = 18)
+    private Long c082;
+    @TextColumn(length = 12)
+    private Double c083;
+    @TextColumn(length = 15)
+    private BigDecimal c084;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c085;
+    @TextColumn(length = 1)
+    private Boolean c086;
+    @TextColumn(length = 20)
+    private String c087;
+    @TextColumn(length = 10)
+    private String c088;
+    @TextColumn(length = 9)
+    private Integer c089;
+    @TextColumn(length = 18)
+    private Long c090;
+    @TextColumn(length = 12)
+    private Double c091;
+    @TextColumn(length = 15)
+    private BigDecimal c092;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c093;
+    @TextColumn(length = 1)
+    private Boolean c094;
+    @TextColumn(length = 20)
+    private String c095;
+    @TextColumn(length = 10)
+    private String c096;
+    @TextColumn(length = 9)
+    private Integer c097;
+    @TextColumn(length = 18)
+    private Long c098;
+    @TextColumn(length = 12)
+    private Double c099;
+    @TextColumn(length = 15)
+    private BigDecimal c100;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c101;
+    @TextColumn(length = 1)
+    private Boolean c102;
+    @TextColumn(length = 20)
+    private String c103;
+    @TextColumn(length = 10)
+    private String c104;
+    @TextColumn(length = 9)
+    private Integer c105;
+    @TextColumn(length = 18)
+    private Long c106;
+    @TextColumn(length = 12)
+    private Double c107;
+    @TextColumn(length = 15)
+    private BigDecimal c108;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c109;
+    @TextColumn(length = 1)
+    private Boolean c110;
+    @TextColumn(length = 20)
+    private String c111;
+    @TextColumn(length = 10)
+    private String c112;
+    @TextColumn(length = 9)
+    private Integer c113;
+    @TextColumn(length = 18)
+    private Long c114;
+    @TextColumn(length = 12)
+    private Double c115;
+    @TextColumn(length = 15)
+    private BigDecimal c116;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c117;
+    @TextColumn(length = 1)
+    private Boolean c118;
+    @TextColumn(length = 20)
+    private String c119;
+    @TextColumn(length = 10)
+    private String c120;
+    @TextColumn(length = 9)
+    private Integer c121;
+    @TextColumn(length = 18)
+    private Long c122;
+    @TextColumn(length = 12)
+    private Double c123;
+    @TextColumn(length = 15)
+    private BigDecimal c124;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c125;
+    @TextColumn(length = 1)
+    private Boolean c126;
+    @TextColumn(length = 20)
+    private String c127;
+    @TextColumn(length = 10)
+    private String c128;
+    @TextColumn(length = 9)
+    private Integer c129;
+    @TextColumn(length = 18)
+    private Long c130;
+    @TextColumn(length = 12)
+    private Double c131;
+    @TextColumn(length = 15)
+    private BigDecimal c132;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c133;
+    @TextColumn(length = 1)
+    private Boolean c134;
+    @TextColumn(length = 20)
+    private String c135;
+    @TextColumn(length = 10)
+    private String c136;
+    @TextColumn(length = 9)
+    private Integer c137;
+    @TextColumn(length = 18)
+    private Long c138;
+    @TextColumn(length = 12)
+    private Double c139;
+    @TextColumn(length = 15)
+    private BigDecimal c140;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c141;
+    @TextColumn(length = 1)
+    private Boolean c142;
+    @TextColumn(length = 20)
+    private String c143;
+    @TextColumn(length = 10)
+    private String c144;
+    @TextColumn(length = 9)
+    private Integer c145;
+    @TextColumn(length = 18)
+    private Long c146;
+    @TextColumn(length = 12)
+    private Double c147;
+    @TextColumn(length = 15)
+    private BigDecimal c148;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c149;
+    @TextColumn(length = 1)
+    private Boolean c150;
+    @TextColumn(length = 20)
+    private String c151;
+    @TextColumn(length = 10)
+    private String c152;
+    @TextColumn(length = 9)
+    private Integer c153;
+    @TextColumn(length = 18)
+    private Long c154;
+    @TextColumn(length = 12)
+    private Double c155;
+    @TextColumn(length = 15)
+    private BigDecimal c156;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c157;
+    @TextColumn(length = 1)
+    private Boolean c158;
+    @TextColumn(length = 20)
+    private String c159;
+    @TextColumn(length = 10)
+    private String c160;
+    @TextColumn(length = 9)
+    private Integer c161;
+    @TextColumn(length = 18)
+    private Long c162;
+    @TextColumn(length = 12)
+    private Double c163;
+    @TextColumn(length = 15)
+    private BigDecimal c164;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c165;
+    @TextColumn(length = 1)
+    private Boolean c166;
+    @TextColumn(length = 20)
+    private String c167;
+    @TextColumn(length = 10)
+    private String c168;
+    @TextColumn(length = 9)
+    private Integer c169;
+    @TextColumn(length = 18)
+    private Long c170;
+    @TextColumn(length = 12)
+    private Double c171;
+    @TextColumn(length = 15)
+    private BigDecimal c172;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c173;
+    @TextColumn(length = 1)
+    private Boolean c174;
+    @TextColumn(length = 20)
+    private String c175;
+    @TextColumn(length = 10)
+    private String c176;
+    @TextColumn(length = 9)
+    private Integer c177;
+    @TextColumn(length = 18)
+    private Long c178;
+    @TextColumn(length = 12)
+    private Double c179;
+    @TextColumn(length = 15)
+    private BigDecimal c180;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c181;
+    @TextColumn(length = 1)
+    private Boolean c182;
+    @TextColumn(length = 20)
+    private String c183;
+    @TextColumn(length = 10)
+    private String c184;
+    @TextColumn(length = 9)
+    private Integer c185;
+    @TextColumn(length = 18)
+    private Long c186;
+    @TextColumn(length = 12)
+    private Double c187;
+    @TextColumn(length = 15)
+    private BigDecimal c188;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c189;
+    @TextColumn(length = 1)
+    private Boolean c190;
+    @TextColumn(length = 20)
+    private String c191;
+    @TextColumn(length = 10)
+    private String c192;
+    @TextColumn(length = 9)
+    private Integer c193;
+    @TextColumn(length = 18)
+    private Long c194;
+    @TextColumn(length = 12)
+    private Double c195;
+    @TextColumn(length = 15)
+    private BigDecimal c196;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c197;
+    @TextColumn(length = 1)
+    private Boolean c198;
+    @TextColumn(length = 20)
+    private String c199;
+    @TextColumn(length = 10)
+    private String c200;
+    @TextColumn(length = 9)
+    private Integer c201;
+    @TextColumn(length = 18)
+    private Long c202;
+    @TextColumn(length = 12)
+    private Double c203;
+    @TextColumn(length = 15)
+    private BigDecimal c204;
+    @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+    private Date c205;
+    @TextColumn(length = 1)
+    private Boolean c206;
+    @TextColumn(length = 20)
+    private String c207;
+}
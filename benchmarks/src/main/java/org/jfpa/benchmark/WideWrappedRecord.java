@@ -0,0 +1,580 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.annotation.WrappedColumns;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Positional record of 208 columns wrapped in 26 blocks. Each block needs its
+ * own class, since columns are cached by {@link java.lang.reflect.Field}.
+ */
+@Positional
+public class WideWrappedRecord {
+    @TextColumn(length = 1)
+    private String marker;
+    @WrappedColumns
+    private Block00 block00;
+    @WrappedColumns
+    private Block01 block01;
+    @WrappedColumns
+    private Block02 block02;
+    @WrappedColumns
+    private Block03 block03;
+    @WrappedColumns
+    private Block04 block04;
+    @WrappedColumns
+    private Block05 block05;
+    @WrappedColumns
+    private Block06 block06;
+    @WrappedColumns
+    private Block07 block07;
+    @WrappedColumns
+    private Block08 block08;
+    @WrappedColumns
+    private Block09 block09;
+    @WrappedColumns
+    private Block10 block10;
+    @WrappedColumns
+    private Block11 block11;
+    @WrappedColumns
+    private Block12 block12;
+    @WrappedColumns
+    private Block13 block13;
+    @WrappedColumns
+    private Block14 block14;
+    @WrappedColumns
+    private Block15 block15;
+    @WrappedColumns
+    private Block16 block16;
+    @WrappedColumns
+    private Block17 block17;
+    @WrappedColumns
+    private Block18 block18;
+    @WrappedColumns
+    private Block19 block19;
+    @WrappedColumns
+    private Block20 block20;
+    @WrappedColumns
+    private Block21 block21;
+    @WrappedColumns
+    private Block22 block22;
+    @WrappedColumns
+    private Block23 block23;
+    @WrappedColumns
+    private Block24 block24;
+    @WrappedColumns
+    private Block25 block25;
+
+    public static class Block00 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block01 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block02 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block03 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block04 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block05 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block06 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block07 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block08 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block09 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block10 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block11 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block12 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block13 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block14 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block15 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block16 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block17 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block18 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block19 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block20 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block21 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block22 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block23 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block24 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+
+    public static class Block25 {
+        @TextColumn(length = 10)
+        private String string;
+        @TextColumn(length = 9)
+        private Integer integer;
+        @TextColumn(length = 18)
+        private Long longValue;
+        @TextColumn(length = 12)
+        private Double doubleValue;
+        @TextColumn(length = 15)
+        private BigDecimal bigDecimal;
+        @TextColumn(length = 8, dateFormat = Lines.DATE_FORMAT)
+        private Date date;
+        @TextColumn(length = 1)
+        private Boolean bool;
+        @TextColumn(length = 20)
+        private String text;
+    }
+}
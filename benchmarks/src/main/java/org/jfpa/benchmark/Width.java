@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.benchmark;
+
+/**
+ * Number of column blocks contained in a benchmark record.
+ */
+public enum Width {
+    NARROW(Lines.NARROW_BLOCKS),
+    WIDE(Lines.WIDE_BLOCKS);
+
+    private final int blocks;
+
+    Width(final int blocks) {
+        this.blocks = blocks;
+    }
+
+    public int getBlocks() {
+        return blocks;
+    }
+}
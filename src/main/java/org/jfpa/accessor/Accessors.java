@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.accessor;
+
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.FieldAccessor;
+import org.jfpa.interfaces.Instantiator;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Builds the accessors used on the read/write path. Compiled accessors
+ * (MethodHandle and LambdaMetafactory based) are preferred, reflection
+ * is used as fallback whenever they can't be generated.
+ */
+public final class Accessors {
+
+    private Accessors() { }
+
+    public static FieldAccessor forField(final Field field) {
+        try {
+            return new MethodHandleFieldAccessor(field);
+        } catch (IllegalAccessException e) {
+            return new ReflectionFieldAccessor(field);
+        } catch (RuntimeException e) {
+            return new ReflectionFieldAccessor(field);
+        }
+    }
+
+    public static <T> Instantiator<T> forClass(final Class<T> clazz) {
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return new ReflectionInstantiator<T>(clazz);
+        }
+        try {
+            return isVisible(clazz) ? new LambdaInstantiator<T>(clazz) : new MethodHandleInstantiator<T>(clazz);
+        } catch (ReflectiveOperationException e) {
+            return new ReflectionInstantiator<T>(clazz);
+        } catch (LambdaConversionException e) {
+            return new ReflectionInstantiator<T>(clazz);
+        } catch (RuntimeException e) {
+            return new ReflectionInstantiator<T>(clazz);
+        }
+    }
+
+    /*
+     * Generated lambda classes resolve the record class through the jfpa
+     * class loader, so they can be used only if the class is visible from it.
+     */
+    private static boolean isVisible(final Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, Accessors.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    static RuntimeException propagate(final Class<?> clazz, final Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new JfpaException(clazz, e);
+    }
+}
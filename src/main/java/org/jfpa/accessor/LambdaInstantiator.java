@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.accessor;
+
+import org.jfpa.interfaces.Instantiator;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Supplier;
+
+/**
+ * Instantiator that invokes the public no-arg constructor through a
+ * Supplier generated by LambdaMetafactory, as <code>Record::new</code> would do.
+ */
+public class LambdaInstantiator<T> implements Instantiator<T> {
+
+    private final Supplier<T> supplier;
+
+    @SuppressWarnings("unchecked")
+    public LambdaInstantiator(final Class<T> clazz) throws ReflectiveOperationException, LambdaConversionException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class), constructor, MethodType.methodType(clazz));
+        try {
+            this.supplier = (Supplier<T>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new LambdaConversionException(e);
+        }
+    }
+
+    public final T newInstance() {
+        return supplier.get();
+    }
+}
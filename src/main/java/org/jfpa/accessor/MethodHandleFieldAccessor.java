@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.accessor;
+
+import org.jfpa.interfaces.FieldAccessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * FieldAccessor backed by getter and setter MethodHandles.
+ * Field must be already accessible.
+ */
+public class MethodHandleFieldAccessor implements FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+    private static final MethodType INT_SETTER_TYPE = MethodType.methodType(void.class, Object.class, int.class);
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodType LONG_SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+    private static final MethodType DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+    private static final MethodType DOUBLE_SETTER_TYPE = MethodType.methodType(void.class, Object.class, double.class);
+
+    private final Class<?> clazz;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle intGetter;
+    private final MethodHandle intSetter;
+    private final MethodHandle longGetter;
+    private final MethodHandle longSetter;
+    private final MethodHandle doubleGetter;
+    private final MethodHandle doubleSetter;
+
+    public MethodHandleFieldAccessor(final Field field) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle fieldGetter = lookup.unreflectGetter(field);
+        MethodHandle fieldSetter = lookup.unreflectSetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            fieldGetter = MethodHandles.dropArguments(fieldGetter, 0, Object.class);
+            fieldSetter = MethodHandles.dropArguments(fieldSetter, 0, Object.class);
+        }
+        this.clazz = field.getDeclaringClass();
+        this.getter = fieldGetter.asType(GETTER_TYPE);
+        this.setter = fieldSetter.asType(SETTER_TYPE);
+        this.intGetter = adapt(fieldGetter, INT_GETTER_TYPE);
+        this.intSetter = adapt(fieldSetter, INT_SETTER_TYPE);
+        this.longGetter = adapt(fieldGetter, LONG_GETTER_TYPE);
+        this.longSetter = adapt(fieldSetter, LONG_SETTER_TYPE);
+        this.doubleGetter = adapt(fieldGetter, DOUBLE_GETTER_TYPE);
+        this.doubleSetter = adapt(fieldSetter, DOUBLE_SETTER_TYPE);
+    }
+
+    /*
+     * Primitive handles are available only when the field type converts to
+     * the primitive type, otherwise the boxed handles are used.
+     */
+    private static MethodHandle adapt(final MethodHandle handle, final MethodType type) {
+        try {
+            return handle.asType(type);
+        } catch (WrongMethodTypeException e) {
+            return null;
+        }
+    }
+
+    public final Object get(final Object instance) {
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final void set(final Object instance, final Object value) {
+        try {
+            setter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final int getInt(final Object instance) {
+        if (intGetter == null) {
+            return ((Number) get(instance)).intValue();
+        }
+        try {
+            return (int) intGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final void setInt(final Object instance, final int value) {
+        if (intSetter == null) {
+            set(instance, Integer.valueOf(value));
+            return;
+        }
+        try {
+            intSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final long getLong(final Object instance) {
+        if (longGetter == null) {
+            return ((Number) get(instance)).longValue();
+        }
+        try {
+            return (long) longGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final void setLong(final Object instance, final long value) {
+        if (longSetter == null) {
+            set(instance, Long.valueOf(value));
+            return;
+        }
+        try {
+            longSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final double getDouble(final Object instance) {
+        if (doubleGetter == null) {
+            return ((Number) get(instance)).doubleValue();
+        }
+        try {
+            return (double) doubleGetter.invokeExact(instance);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+
+    public final void setDouble(final Object instance, final double value) {
+        if (doubleSetter == null) {
+            set(instance, Double.valueOf(value));
+            return;
+        }
+        try {
+            doubleSetter.invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+}
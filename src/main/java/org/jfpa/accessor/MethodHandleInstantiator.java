@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.accessor;
+
+import org.jfpa.interfaces.Instantiator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Instantiator that invokes the public no-arg constructor through a MethodHandle.
+ */
+public class MethodHandleInstantiator<T> implements Instantiator<T> {
+
+    private final Class<T> clazz;
+    private final MethodHandle constructor;
+
+    public MethodHandleInstantiator(final Class<T> clazz) throws ReflectiveOperationException {
+        this.clazz = clazz;
+        this.constructor = MethodHandles.lookup().findConstructor(clazz, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    public final T newInstance() {
+        try {
+            return (T) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw Accessors.propagate(clazz, e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.accessor;
+
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.FieldAccessor;
+
+import java.lang.reflect.Field;
+
+/**
+ * FieldAccessor based on reflection, used when MethodHandles are not available.
+ * Field must be already accessible.
+ */
+public class ReflectionFieldAccessor implements FieldAccessor {
+
+    private final Field field;
+
+    public ReflectionFieldAccessor(final Field field) {
+        this.field = field;
+    }
+
+    public final Object get(final Object instance) {
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final void set(final Object instance, final Object value) {
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final int getInt(final Object instance) {
+        try {
+            return field.getInt(instance);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final void setInt(final Object instance, final int value) {
+        try {
+            field.setInt(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final long getLong(final Object instance) {
+        try {
+            return field.getLong(instance);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final void setLong(final Object instance, final long value) {
+        try {
+            field.setLong(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final double getDouble(final Object instance) {
+        try {
+            return field.getDouble(instance);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+
+    public final void setDouble(final Object instance, final double value) {
+        try {
+            field.setDouble(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new JfpaException(field.getDeclaringClass(), e);
+        }
+    }
+}
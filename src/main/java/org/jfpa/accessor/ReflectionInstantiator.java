@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.accessor;
+
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.Instantiator;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Instantiator based on reflection, used when the constructor can't be compiled
+ * into a Supplier or MethodHandle (non public or abstract classes).
+ */
+public class ReflectionInstantiator<T> implements Instantiator<T> {
+
+    private final Class<T> clazz;
+
+    public ReflectionInstantiator(final Class<T> clazz) {
+        this.clazz = clazz;
+    }
+
+    public final T newInstance() {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            throw Accessors.propagate(clazz, e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new JfpaException(clazz, e);
+        }
+    }
+}
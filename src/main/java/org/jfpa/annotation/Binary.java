@@ -16,6 +16,8 @@
 
 package org.jfpa.annotation;
 
+import org.jfpa.type.FramingType;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -40,8 +42,63 @@ public @interface Binary {
      */
     String patternString() default "";
 
+    /**
+     * String patterns used to identify the beginning of a new record,
+     * a record can start with any of them. Converted to bytes as
+     * <code>patternString</code>.
+     */
+    String[] patternStrings() default { };
+
+    /**
+     * String pattern ending a record, converted to bytes as <code>patternString</code>.
+     * Records are then handled as soon as they end instead of when the next one starts.
+     */
+    String trailerString() default "";
+
+    /**
+     * With PATTERN framing, offset of the record length from the start of the record,
+     * read as specified by <code>lengthSize</code>, <code>littleEndian</code> and
+     * <code>lengthInclusive</code>. Records are then handled as soon as they are complete.
+     * Default is -1, no length.
+     */
+    int lengthOffset() default -1;
+
     /**
      * String encoding description used to convert the binary stream to String.
      */
     String encoding() default "";
+
+    /**
+     * How records are delimited in the stream. Only PATTERN framing uses
+     * <code>pattern</code> or <code>patternString</code>, other framings
+     * read the record length instead and drop headers from the record.
+     */
+    FramingType framing() default FramingType.PATTERN;
+
+    /**
+     * Bytes of the unsigned length in record and block headers.
+     */
+    int lengthSize() default 4;
+
+    /**
+     * Bytes of record and block headers, starting with the length.
+     * Default is <code>lengthSize</code>, an RDW has a 2 bytes length in a 4 bytes header.
+     */
+    int headerSize() default 0;
+
+    /**
+     * Whether the length is stored least significant byte first.
+     */
+    boolean littleEndian() default false;
+
+    /**
+     * Whether the length counts the header too, as in RDW and BDW.
+     */
+    boolean lengthInclusive() default false;
+
+    /**
+     * Size of the records with FIXED_LENGTH framing. With BLOCK framing
+     * records inside blocks have this size, or are length prefixed when 0.
+     */
+    int recordLength() default 0;
 }
@@ -16,6 +16,7 @@
 
 package org.jfpa.annotation;
 
+import org.jfpa.type.BinaryFormat;
 import org.jfpa.utility.Utility;
 
 import java.lang.annotation.ElementType;
@@ -54,7 +55,7 @@ public @interface TextColumn {
     int offset() default 0;
 
     /**
-     * Specifies the string format for Date columns (example: "dd/MM/yyyy")
+     * Specifies the string format for Date, LocalDate, LocalDateTime and Instant columns (example: "dd/MM/yyyy")
      * If not specified, the default date format is used, for more info
      * see {@link org.jfpa.manager.RecordClassLoader#getDefaultDateFormat() defaultDateFormat}
      * If it's specified on non Date column, param is ignored
@@ -72,6 +73,40 @@ public @interface TextColumn {
      */
     String[] booleanFormat() default { };
 
+    /**
+     * Specifies the scale of BigDecimal columns, or of long columns holding
+     * an amount as a number of minor units (for example cents with scale 2).
+     * Values are rescaled to this scale, values with more decimals are invalid.
+     * If not specified, BigDecimal columns keep the scale of each value
+     * and long columns are plain numbers.
+     * If it's specified on other columns, param is ignored
+     */
+    int scale() default -1;
+
+    /**
+     * Specifies that the decimal point is implied: only the digits of the
+     * unscaled value are written, and the last <code>scale</code> digits are
+     * the decimals (for example 000001234567 is 12345.67 with scale 2).
+     * A scale must be specified.
+     */
+    boolean impliedDecimal() default false;
+
+    /**
+     * Specifies the decimal separator for BigDecimal columns and for long columns with a scale.
+     * If not specified, both '.' and ',' are accepted and '.' is written.
+     */
+    String decimalSeparator() default Utility.EMPTY_STRING;
+
+    /**
+     * Specifies the binary format of int, long and BigDecimal columns of @Positional records
+     * read from bytes with a single-byte charset, such as packed decimal (COMP-3) or binary
+     * integers of mainframe files.
+     * The length of the column is in bytes, and <code>scale</code> gives the implied decimals.
+     * Columns in a binary format can't be written.
+     * If not specified, the column is text.
+     */
+    BinaryFormat binaryFormat() default BinaryFormat.TEXT;
+
     /**
      * Specifies whether to invalidate record in case of bad value conversion.
      * For example if a Date conversion fails because of a bad format, a <code>true</code>
@@ -13,136 +13,577 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.jfpa.builder;
 
 import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
 import org.jfpa.interfaces.RecordHandler;
 import org.jfpa.record.AbstractBinaryRecord;
+import org.jfpa.type.FramingType;
+import org.jfpa.utility.LatencyHistogram;
 import org.jfpa.utility.Utility;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits a byte stream in records starting with one of the patterns of the record,
+ * or framed by length as described by a {@link RecordFraming}.
+ * Bytes are kept in a ring buffer whose capacity doubles when needed. Patterns are
+ * searched all at once by an Aho-Corasick automaton whose state is kept between calls
+ * to {@link #process(byte[])}, so each byte is copied into the buffer and scanned
+ * exactly once, however the stream is chunked. The pattern a record starts with
+ * is given by {@link AbstractBinaryRecord#getPatternIndex()}.
+ * With {@link #setSliceRecords(boolean)} records are built on a read-only view of the
+ * buffer instead of a copy, the view is valid only while the handler is running.
+ * <p>
+ * A record starting with a pattern is complete when the next one starts, unless it ends with
+ * the trailer of the record or its length is read with {@link #setLengthField(RecordFraming)}.
+ * Otherwise {@link #flushIdle()} handles it once no byte arrived for the idle timeout.
+ * Bytes must come from one thread, only {@link #flushIdle()} can be called from another one.
+ */
 public class BinaryRecordBuilder<T extends AbstractBinaryRecord> {
 
     private static final int DEFAULT_BUFFER_SIZE = 256;
+    private static final int MAX_BUFFER_SIZE = 1 << 30;
     private byte[] buffer;
+    private int mask;
 
-    private final byte[] pattern;
-    private final int[] failure;
+    private final byte[][] patterns;
+    private final boolean trailer;
+    private final int[] transitions;
+    private final int[] found;
+    private final RecordFraming framing;
     private final RecordHandler<T> handler;
     private final T record;
-    private int size = 0;
+
+    /*
+     * Positions are absolute offsets in the stream, mapped to the buffer with the mask:
+     * bytes between head and tail are buffered, bytes before scan have already been searched.
+     */
+    private long head;
+    private long scan;
+    private long tail;
+    private int state;
+    private long recordStart = -1;
+    private int recordPattern = -1;
+    private long recordEnd = -1;
+    private long blockEnd = -1;
+
+    private boolean sliceRecords;
+    private byte[] scratch;
+    private RecordFraming lengthField;
+
+    /*
+     * Times in nanoseconds, taken only with an idle timeout or a histogram and reset when
+     * either is set, so buffered bytes count as arrived then: now is the time of the
+     * current call, firstInput the arrival of the byte at head.
+     */
+    private long idleTimeout;
+    private LatencyHistogram histogram;
+    private long now;
+    private long lastInput;
+    private long firstInput;
 
     public BinaryRecordBuilder(final T record, final RecordHandler<T> handler) {
         this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        this.mask = DEFAULT_BUFFER_SIZE - 1;
         this.record = record;
-        this.pattern = record.getPattern();
-        this.failure = computeFailure(pattern);
+        this.patterns = record.getPatterns();
+        byte[][] searched = patterns;
+        this.trailer = record.getTrailer() != null;
+        if (trailer) {
+            searched = Arrays.copyOf(patterns, patterns.length + 1);
+            searched[patterns.length] = record.getTrailer();
+        }
+        this.transitions = buildTransitions(searched);
+        this.found = new int[transitions.length >> 8];
+        this.framing = null;
+        buildAutomaton(searched);
+        this.handler = handler;
+    }
+
+    /**
+     * Frames records by length, the pattern of the record is not used.
+     */
+    public BinaryRecordBuilder(final T record, final RecordHandler<T> handler, final RecordFraming framing) {
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        this.mask = DEFAULT_BUFFER_SIZE - 1;
+        this.record = record;
+        this.patterns = null;
+        this.trailer = false;
+        this.transitions = null;
+        this.found = null;
+        this.framing = framing;
         this.handler = handler;
     }
 
     public final void process(final byte[] bytes) throws InvalidRecordException {
-        int dataSize = bytes.length + size;
-        if (dataSize > buffer.length) {
-            increaseBufferSize(dataSize);
+        process(bytes, 0, bytes.length);
+    }
+
+    public final synchronized void process(final byte[] bytes, final int offset, final int length) throws InvalidRecordException {
+        boolean empty = isEmpty();
+        fillBuffer(bytes, offset, length);
+        arrived(empty);
+        processBuffer(false);
+    }
+
+    /**
+     * Processes the remaining bytes of the buffer, advancing its position.
+     */
+    public final synchronized void process(final ByteBuffer bytes) throws InvalidRecordException {
+        boolean empty = isEmpty();
+        int length = bytes.remaining();
+        ensureCapacity(length);
+        int index = (int) (tail & mask);
+        int first = Math.min(length, buffer.length - index);
+        bytes.get(buffer, index, first);
+        bytes.get(buffer, 0, length - first);
+        tail += length;
+        arrived(empty);
+        processBuffer(false);
+    }
+
+    /**
+     * Reads once from the channel straight into the buffer and processes the bytes read.
+     * The lock is not held while reading, so {@link #flushIdle()} can run meanwhile.
+     *
+     * @return the number of bytes read, -1 at the end of the stream
+     */
+    public final int read(final ReadableByteChannel channel) throws IOException, InvalidRecordException {
+        ByteBuffer free;
+        synchronized (this) {
+            if ((tail - head) << 1 > buffer.length) {
+                increaseBufferSize((long) buffer.length << 1);
+            }
+            int index = (int) (tail & mask);
+            free = ByteBuffer.wrap(buffer, index, (int) Math.min(buffer.length - (tail - head), buffer.length - index));
+        }
+        int count = channel.read(free);
+        if (count > 0) {
+            synchronized (this) {
+                boolean empty = isEmpty();
+                tail += count;
+                arrived(empty);
+                processBuffer(false);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the channel until the end of the stream, then flushes the last record.
+     * The channel should be in blocking mode.
+     */
+    public final void consume(final ReadableByteChannel channel) throws IOException, InvalidRecordException {
+        while (read(channel) >= 0) {
+            // records are handled while reading
+        }
+        flush();
+    }
+
+    public final void setSliceRecords(final boolean sliceRecords) {
+        this.sliceRecords = sliceRecords;
+    }
+
+    public final boolean isSliceRecords() {
+        return sliceRecords;
+    }
+
+    /**
+     * Reads the length of records starting with a pattern, so they are handled as soon as
+     * they are complete. Bytes inside a record are not searched for patterns.
+     */
+    public final void setLengthField(final RecordFraming lengthField) {
+        if (framing != null || lengthField.getType() != FramingType.LENGTH_PREFIX) {
+            throw new JfpaException("Length field requires records starting with a pattern and a length framing");
+        }
+        this.lengthField = lengthField;
+    }
+
+    public final RecordFraming getLengthField() {
+        return lengthField;
+    }
+
+    public final synchronized void setIdleTimeout(final long timeout, final TimeUnit unit) {
+        this.idleTimeout = unit.toNanos(timeout);
+        resetTimes();
+    }
+
+    /**
+     * Records how long each record stayed buffered, from the arrival of its first byte to its handling.
+     */
+    public final synchronized void setLatencyHistogram(final LatencyHistogram histogram) {
+        this.histogram = histogram;
+        resetTimes();
+    }
+
+    public final LatencyHistogram getLatencyHistogram() {
+        return histogram;
+    }
+
+    private void resetTimes() {
+        now = System.nanoTime();
+        lastInput = now;
+        firstInput = now;
+    }
+
+    private void arrived(final boolean empty) {
+        if (idleTimeout > 0 || histogram != null) {
+            now = System.nanoTime();
+            lastInput = now;
+            if (empty) {
+                firstInput = now;
+            }
+        }
+    }
+
+    private void processBuffer(final boolean flush) throws InvalidRecordException {
+        if (framing != null) {
+            processFrames(flush);
+        } else {
+            processStream(flush);
         }
-        fillBuffer(bytes);
-        processStream(false);
     }
 
     private void processStream(final boolean flush) throws InvalidRecordException {
-        int begin = indexOf(buffer, 0);
-        if (begin >= 0) {
-            if (begin != 0) {
-                byte[] junk = new byte[begin];
-                System.arraycopy(buffer, 0, junk, 0, begin);
-                freeBuffer(junk.length);
-                record.setBytes(junk);
-                throw new InvalidRecordException("Out of sync: " + Utility.hexString(junk), record.toString());
-            }
-            int end;
-            while ((end = indexOf(buffer, begin + pattern.length)) > 0) {
-                newRecord(begin, end);
-                begin = end;
-            }
-            if (flush) {
-                try {
-                    newRecord(begin, size);
-                } finally {
-                    size = 0;
+        while (true) {
+            if (recordEnd >= 0) {
+                if (tail < recordEnd) {
+                    break;
+                }
+                endRecord(recordEnd);
+            } else if (recordStart >= 0 && lengthField != null) {
+                if (tail - recordStart < lengthField.getHeaderSize()) {
+                    break;
+                }
+                long length = lengthField.getFrameLength(buffer, mask, recordStart);
+                if (length < lengthField.getHeaderSize() || length > MAX_BUFFER_SIZE) {
+                    outOfSync("Invalid record length " + length);
+                }
+                recordEnd = recordStart + length;
+            } else if (!scanPatterns()) {
+                break;
+            }
+        }
+        if (flush && recordStart >= 0) {
+            if (lengthField != null) {
+                outOfSync("Truncated record");
+            }
+            try {
+                newRecord(recordStart, tail, recordPattern);
+            } finally {
+                head = scan = tail;
+                state = 0;
+                recordStart = -1;
+                recordPattern = -1;
+            }
+        }
+    }
+
+    /*
+     * Searches patterns until a record starts with a length field to read, returning true,
+     * or all buffered bytes are searched, returning false.
+     */
+    private boolean scanPatterns() throws InvalidRecordException {
+        while (scan < tail) {
+            state = transitions[state << 8 | buffer[(int) (scan++ & mask)] & 0xFF];
+            int index = found[state];
+            if (index >= 0) {
+                state = 0;
+                if (index == patterns.length) {
+                    if (recordStart >= 0) {
+                        endRecord(scan);
+                    }
+                    continue;
+                }
+                long begin = scan - patterns[index].length;
+                if (recordStart < 0) {
+                    recordStart = begin;
+                    recordPattern = index;
+                    if (begin != head) {
+                        byte[] junk = copyBuffer(head, begin);
+                        head = begin;
+                        record.setBytes(junk);
+                        throw new InvalidRecordException("Out of sync: " + Utility.hexString(junk), record.toString());
+                    }
+                    if (lengthField != null) {
+                        return true;
+                    }
+                } else {
+                    long start = recordStart;
+                    int startPattern = recordPattern;
+                    recordStart = begin;
+                    recordPattern = index;
+                    newRecord(start, begin, startPattern);
                 }
-            } else {
-                freeBuffer(begin);
             }
         }
+        return false;
+    }
+
+    /*
+     * Handles the current record when its end is known, from its trailer or its length.
+     */
+    private void endRecord(final long end) throws InvalidRecordException {
+        long start = recordStart;
+        int startPattern = recordPattern;
+        recordStart = -1;
+        recordPattern = -1;
+        recordEnd = -1;
+        scan = end;
+        state = 0;
+        newRecord(start, end, startPattern);
+    }
+
+    /**
+     * Handles the current record if no byte arrived for the idle timeout and its end would be
+     * known only when the next record starts. All buffered bytes belong to the record, the
+     * search restarts with the next byte. Can be called from a scheduler, the handler then
+     * runs on its thread.
+     *
+     * @return true if a record was handled
+     */
+    public final synchronized boolean flushIdle() throws InvalidRecordException {
+        if (idleTimeout <= 0 || framing != null || trailer || lengthField != null || recordStart < 0) {
+            return false;
+        }
+        long time = System.nanoTime();
+        if (time - lastInput < idleTimeout) {
+            return false;
+        }
+        now = time;
+        long start = recordStart;
+        int startPattern = recordPattern;
+        recordStart = -1;
+        recordPattern = -1;
+        scan = tail;
+        state = 0;
+        newRecord(start, tail, startPattern);
+        return true;
+    }
+
+    /*
+     * Each frame is sized by its header alone, bytes in between are never scanned.
+     */
+    private void processFrames(final boolean flush) throws InvalidRecordException {
+        boolean blocks = framing.getType() == FramingType.BLOCK;
+        RecordFraming recordFraming = blocks ? framing.getRecordFraming() : framing;
+        while (true) {
+            if (blocks) {
+                if (head == blockEnd) {
+                    blockEnd = -1;
+                }
+                if (blockEnd < 0) {
+                    if (tail - head < framing.getHeaderSize()) {
+                        break;
+                    }
+                    long length = framing.getFrameLength(buffer, mask, head);
+                    if (length < framing.getHeaderSize() || length > MAX_BUFFER_SIZE) {
+                        outOfSync("Invalid block length " + length);
+                    }
+                    blockEnd = head + length;
+                    head += framing.getHeaderSize();
+                    continue;
+                }
+            }
+            int header = recordFraming.getHeaderSize();
+            if (tail == head || tail - head < header) {
+                break;
+            }
+            long length = recordFraming.getFrameLength(buffer, mask, head);
+            if (length < header || length > MAX_BUFFER_SIZE || (blockEnd >= 0 && head + length > blockEnd)) {
+                outOfSync("Invalid record length " + length);
+            }
+            if (tail - head < length) {
+                break;
+            }
+            newRecord(head + header, head + length, -1);
+        }
+        if (flush && (head != tail || blockEnd >= 0)) {
+            outOfSync("Truncated record");
+        }
     }
 
-    public final void flush() throws InvalidRecordException {
-        processStream(true);
+    /*
+     * Frames can't be resynchronized, so all buffered bytes are discarded.
+     */
+    private void outOfSync(final String message) throws InvalidRecordException {
+        byte[] junk = copyBuffer(head, tail);
+        head = scan = tail;
+        state = 0;
+        recordStart = -1;
+        recordPattern = -1;
+        recordEnd = -1;
+        blockEnd = -1;
+        record.setBytes(junk);
+        throw new InvalidRecordException(message + ": " + Utility.hexString(junk), record.toString());
+    }
+
+    public final synchronized void flush() throws InvalidRecordException {
+        if (idleTimeout > 0 || histogram != null) {
+            now = System.nanoTime();
+        }
+        processBuffer(true);
     }
 
-    private void newRecord(final int begin, final int end) throws InvalidRecordException {
-        int recordSize = end - begin;
-        byte[] data = new byte[recordSize];
-        System.arraycopy(buffer, begin, data, 0, recordSize);
-        record.buildRecord(data);
+    /*
+     * The record is removed from the buffer before being handled, so a failing record is not handled again.
+     */
+    private void newRecord(final long begin, final long end, final int patternIndex) throws InvalidRecordException {
+        head = end;
+        if (histogram != null) {
+            histogram.record(now - firstInput);
+            firstInput = now;
+        }
+        record.setPatternIndex(patternIndex);
+        if (sliceRecords) {
+            record.buildRecord(sliceBuffer(begin, end));
+        } else {
+            record.buildRecord(copyBuffer(begin, end));
+        }
         handler.handle(record);
     }
 
-    private void fillBuffer(final byte[] src) {
-        System.arraycopy(src, 0, buffer, size, src.length);
-        size += src.length;
+    /*
+     * Bytes stay in the buffer until the next fill, only a record wrapping around the end is copied.
+     */
+    private ByteBuffer sliceBuffer(final long begin, final long end) {
+        int length = (int) (end - begin);
+        int index = (int) (begin & mask);
+        if (index + length <= buffer.length) {
+            return ByteBuffer.wrap(buffer, index, length).slice().asReadOnlyBuffer();
+        }
+        if (scratch == null || scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch == null ? 0 : scratch.length << 1)];
+        }
+        int first = buffer.length - index;
+        System.arraycopy(buffer, index, scratch, 0, first);
+        System.arraycopy(buffer, 0, scratch, first, length - first);
+        return ByteBuffer.wrap(scratch, 0, length).asReadOnlyBuffer();
+    }
+
+    private byte[] copyBuffer(final long begin, final long end) {
+        byte[] data = new byte[(int) (end - begin)];
+        int index = (int) (begin & mask);
+        int first = Math.min(data.length, buffer.length - index);
+        System.arraycopy(buffer, index, data, 0, first);
+        System.arraycopy(buffer, 0, data, first, data.length - first);
+        return data;
     }
 
-    private void freeBuffer(final int length) {
-        size -= length;
-        System.arraycopy(buffer, length, buffer, 0, size);
+    private void fillBuffer(final byte[] src, final int offset, final int length) {
+        ensureCapacity(length);
+        int index = (int) (tail & mask);
+        int first = Math.min(length, buffer.length - index);
+        System.arraycopy(src, offset, buffer, index, first);
+        System.arraycopy(src, offset + first, buffer, 0, length - first);
+        tail += length;
     }
 
-    private void increaseBufferSize(final int requestedSize) {
-        byte[] oldBuffer = buffer;
-        buffer = new byte[(int) (DEFAULT_BUFFER_SIZE * (Math.ceil((double) requestedSize / DEFAULT_BUFFER_SIZE)))];
-        System.arraycopy(oldBuffer, 0, buffer, 0, oldBuffer.length);
+    private void ensureCapacity(final int length) {
+        long size = tail - head + length;
+        if (size > buffer.length) {
+            increaseBufferSize(size);
+        }
     }
 
     /*
-     * Finds the first occurrence of the pattern in the text.
+     * Doubles the capacity until it holds requestedSize bytes, buffered bytes keep their positions.
      */
-    private int indexOf(final byte[] data, final int offset) {
-        int j = 0;
-        for (int i = offset; i < size; i++) {
-            while (j > 0 && pattern[j] != data[i]) {
-                j = failure[j - 1];
-            }
-            if (pattern[j] == data[i]) {
-                j++;
+    private void increaseBufferSize(final long requestedSize) {
+        if (requestedSize > MAX_BUFFER_SIZE) {
+            throw new OutOfMemoryError("Record too large: " + requestedSize + " bytes");
+        }
+        int capacity = buffer.length;
+        while (capacity < requestedSize) {
+            capacity <<= 1;
+        }
+        byte[] data = copyBuffer(head, tail);
+        buffer = new byte[capacity];
+        mask = capacity - 1;
+        int index = (int) (head & mask);
+        int first = Math.min(data.length, capacity - index);
+        System.arraycopy(data, 0, buffer, index, first);
+        System.arraycopy(data, first, buffer, 0, data.length - first);
+    }
+
+    /*
+     * Builds the trie of the patterns, 256 transitions per state in a single table, missing ones are -1.
+     */
+    private static int[] buildTransitions(final byte[][] patterns) {
+        int states = 1;
+        for (byte[] pattern : patterns) {
+            if (pattern == null || pattern.length == 0) {
+                throw new JfpaException("Record pattern can't be empty");
             }
-            if (j == pattern.length) {
-                return i - pattern.length + 1;
+            states += pattern.length;
+        }
+        int[] trie = new int[states << 8];
+        Arrays.fill(trie, -1);
+        int count = 1;
+        for (byte[] pattern : patterns) {
+            int state = 0;
+            for (byte b : pattern) {
+                int next = trie[state << 8 | b & 0xFF];
+                if (next < 0) {
+                    next = count++;
+                    trie[state << 8 | b & 0xFF] = next;
+                }
+                state = next;
             }
         }
-        return -1;
+        return Arrays.copyOf(trie, count << 8);
     }
 
     /*
-     * Computes the failure function using a boot-strapping process,
-     * where the pattern is matched against itself.
+     * Turns the trie into a complete automaton visiting states breadth-first: missing transitions
+     * follow the failure link, the longest proper suffix of the state that is a trie state.
+     * A state is found when a pattern ends in it, itself or through its failure link.
      */
-    private int[] computeFailure(final byte[] pattern) {
-        int[] failure = new int[pattern.length];
-        int j = 0;
-        for (int i = 1; i < pattern.length; i++) {
-            while (j > 0 && pattern[j] != pattern[i]) {
-                j = failure[j - 1];
+    private void buildAutomaton(final byte[][] patterns) {
+        Arrays.fill(found, -1);
+        for (int i = patterns.length - 1; i >= 0; i--) {
+            int state = 0;
+            for (byte b : patterns[i]) {
+                state = transitions[state << 8 | b & 0xFF];
+            }
+            found[state] = i;
+        }
+        int[] failure = new int[found.length];
+        int[] queue = new int[found.length];
+        int first = 0;
+        int last = 0;
+        for (int c = 0; c < 256; c++) {
+            int next = transitions[c];
+            if (next < 0) {
+                transitions[c] = 0;
+            } else {
+                queue[last++] = next;
             }
-            if (pattern[j] == pattern[i]) {
-                j++;
+        }
+        while (first < last) {
+            int state = queue[first++];
+            if (found[state] < 0) {
+                found[state] = found[failure[state]];
+            }
+            for (int c = 0; c < 256; c++) {
+                int next = transitions[state << 8 | c];
+                if (next < 0) {
+                    transitions[state << 8 | c] = transitions[failure[state] << 8 | c];
+                } else {
+                    failure[next] = transitions[failure[state] << 8 | c];
+                    queue[last++] = next;
+                }
             }
-            failure[i] = j;
         }
-        return failure;
     }
 
     public final boolean isEmpty() {
-        return size == 0;
+        return tail == head;
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.builder;
+
+import org.jfpa.exception.JfpaException;
+import org.jfpa.type.FramingType;
+
+/**
+ * Delimits records of a binary stream by length instead of by pattern, so each record
+ * is framed reading its header only. Headers are not part of the record bytes.
+ */
+public final class RecordFraming {
+
+    private final FramingType type;
+    private final int lengthOffset;
+    private final int lengthSize;
+    private final int headerSize;
+    private final boolean littleEndian;
+    private final boolean inclusive;
+    private final int recordLength;
+    private final RecordFraming recordFraming;
+
+    private RecordFraming(final FramingType type, final int lengthOffset, final int lengthSize, final int headerSize, final boolean littleEndian,
+                          final boolean inclusive, final int recordLength, final RecordFraming recordFraming) {
+        this.type = type;
+        this.lengthOffset = lengthOffset;
+        this.lengthSize = lengthSize;
+        this.headerSize = headerSize;
+        this.littleEndian = littleEndian;
+        this.inclusive = inclusive;
+        this.recordLength = recordLength;
+        this.recordFraming = recordFraming;
+    }
+
+    /**
+     * Records start with a header of <code>headerSize</code> bytes, beginning with an unsigned length
+     * of <code>lengthSize</code> bytes. The length counts the header too when <code>inclusive</code>.
+     * A standard RDW is <code>lengthPrefix(2, 4, false, true)</code>.
+     */
+    public static RecordFraming lengthPrefix(final int lengthSize, final int headerSize, final boolean littleEndian, final boolean inclusive) {
+        if (lengthSize < 1 || lengthSize > 4) {
+            throw new JfpaException("Length size must be between 1 and 4 bytes: " + lengthSize);
+        }
+        if (headerSize < lengthSize) {
+            throw new JfpaException("Header size must hold the length: " + headerSize);
+        }
+        return new RecordFraming(FramingType.LENGTH_PREFIX, 0, lengthSize, headerSize, littleEndian, inclusive, 0, null);
+    }
+
+    /**
+     * Records whose unsigned length of <code>lengthSize</code> bytes is <code>lengthOffset</code> bytes from
+     * their start. The length counts the whole record when <code>inclusive</code>, otherwise the bytes following it.
+     * Used with records starting with a pattern, to handle them as soon as they are complete.
+     */
+    public static RecordFraming lengthField(final int lengthOffset, final int lengthSize, final boolean littleEndian, final boolean inclusive) {
+        if (lengthOffset < 0) {
+            throw new JfpaException("Length offset can't be negative: " + lengthOffset);
+        }
+        RecordFraming prefix = lengthPrefix(lengthSize, lengthOffset + lengthSize, littleEndian, inclusive);
+        return new RecordFraming(FramingType.LENGTH_PREFIX, lengthOffset, lengthSize, prefix.headerSize, littleEndian, inclusive, 0, null);
+    }
+
+    /**
+     * Records of exactly <code>recordLength</code> bytes, without header.
+     */
+    public static RecordFraming fixedLength(final int recordLength) {
+        if (recordLength < 1) {
+            throw new JfpaException("Record length must be positive: " + recordLength);
+        }
+        return new RecordFraming(FramingType.FIXED_LENGTH, 0, 0, 0, false, false, recordLength, null);
+    }
+
+    /**
+     * Blocks starting with the <code>header</code> length prefix, each holding whole records framed by <code>records</code>.
+     */
+    public static RecordFraming block(final RecordFraming header, final RecordFraming records) {
+        if (header.type != FramingType.LENGTH_PREFIX) {
+            throw new JfpaException("Block header must be a length prefix: " + header.type);
+        }
+        if (records.type == FramingType.BLOCK) {
+            throw new JfpaException("Blocks can't be nested");
+        }
+        return new RecordFraming(FramingType.BLOCK, header.lengthOffset, header.lengthSize, header.headerSize, header.littleEndian, header.inclusive, 0, records);
+    }
+
+    /*
+     * Length of the frame starting at position in the ring buffer, header included.
+     */
+    long getFrameLength(final byte[] buffer, final int mask, final long position) {
+        if (type == FramingType.FIXED_LENGTH) {
+            return recordLength;
+        }
+        long length = 0;
+        for (int i = 0; i < lengthSize; i++) {
+            int shift = littleEndian ? i << 3 : (lengthSize - 1 - i) << 3;
+            length |= (buffer[(int) ((position + lengthOffset + i) & mask)] & 0xFFL) << shift;
+        }
+        return inclusive ? length : length + headerSize;
+    }
+
+    public FramingType getType() {
+        return type;
+    }
+
+    public int getLengthOffset() {
+        return lengthOffset;
+    }
+
+    public int getLengthSize() {
+        return lengthSize;
+    }
+
+    public int getHeaderSize() {
+        return headerSize;
+    }
+
+    public boolean isLittleEndian() {
+        return littleEndian;
+    }
+
+    public boolean isInclusive() {
+        return inclusive;
+    }
+
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * @return the framing of the records inside a block, null if not a block
+     */
+    public RecordFraming getRecordFraming() {
+        return recordFraming;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.cache;
+
+import org.jfpa.type.RecordType;
+
+/**
+ * Immutable binding of the columns of a record to their positions in the line,
+ * positions are indexed as the columns returned by {@link CachedRecord#getColumns()}.
+ * Columns excluded by a projection have a negative position.
+ */
+public class CachedBinding {
+    private final int[] positions;
+    private final RecordType recordType;
+    private final int limit;
+
+    public CachedBinding(final int[] positions, final RecordType recordType) {
+        this(positions, recordType, Integer.MAX_VALUE);
+    }
+
+    private CachedBinding(final int[] positions, final RecordType recordType, final int limit) {
+        this.positions = positions;
+        this.recordType = recordType;
+        this.limit = limit;
+    }
+
+    /**
+     * Binds only the selected columns, the limit is set past the last selected position.
+     * @param selected flags indexed as the columns of this binding
+     */
+    public final CachedBinding project(final boolean[] selected) {
+        int[] projected = new int[positions.length];
+        int last = -1;
+        for (int i = 0; i < positions.length; i++) {
+            projected[i] = selected[i] ? positions[i] : -1;
+            last = Math.max(last, projected[i]);
+        }
+        return new CachedBinding(projected, recordType, last + 1);
+    }
+
+    public final int getPosition(final int column) {
+        return positions[column];
+    }
+
+    public final boolean isProjected() {
+        return limit != Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of line columns needed by this binding
+     */
+    public final int getLimit() {
+        return limit;
+    }
+
+    public final RecordType getRecordType() {
+        return recordType;
+    }
+}
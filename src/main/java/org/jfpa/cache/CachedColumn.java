@@ -1,6 +1,11 @@
 package org.jfpa.cache;
 
+import org.jfpa.interfaces.FieldAccessor;
+import org.jfpa.interfaces.Instantiator;
 import org.jfpa.manager.ColumnType;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.DateCodec;
+import org.jfpa.utility.DecimalCodec;
 
 import java.lang.reflect.Field;
 
@@ -18,17 +23,26 @@ public class CachedColumn {
     private final int offset;
     private int position;
     private String format;
+    private DateCodec dateCodec;
+    private DecimalCodec decimalCodec;
+    private BinaryCodec binaryCodec;
     private String[] booleanFormat;
     private final boolean invalidateOnError;
     private final Field parentField;
+    private final FieldAccessor accessor;
+    private final FieldAccessor parentAccessor;
+    private Instantiator<?> converterInstantiator;
 
-    public CachedColumn(final String fieldName, final String name, final ColumnType columnType, final int offset, final boolean invalidateOnError, final Field parentField) {
+    public CachedColumn(final String fieldName, final String name, final ColumnType columnType, final int offset, final boolean invalidateOnError,
+                        final Field parentField, final FieldAccessor accessor, final FieldAccessor parentAccessor) {
         this.fieldName = fieldName;
         this.name = name;
         this.offset = offset;
         this.columnType = columnType;
         this.invalidateOnError = invalidateOnError;
         this.parentField = parentField;
+        this.accessor = accessor;
+        this.parentAccessor = parentAccessor;
     }
 
     public final String getFieldName() {
@@ -68,9 +82,33 @@ public class CachedColumn {
     }
 
     public final void setFormat(final String format) {
+        this.dateCodec = DateCodec.forPattern(format);
         this.format = format;
     }
 
+    public final DateCodec getDateCodec() {
+        return dateCodec;
+    }
+
+    public final DecimalCodec getDecimalCodec() {
+        return decimalCodec;
+    }
+
+    public final void setDecimalCodec(final DecimalCodec decimalCodec) {
+        this.decimalCodec = decimalCodec;
+    }
+
+    /**
+     * @return the codec of a numeric column stored in a binary format, or null for text columns
+     */
+    public final BinaryCodec getBinaryCodec() {
+        return binaryCodec;
+    }
+
+    public final void setBinaryCodec(final BinaryCodec binaryCodec) {
+        this.binaryCodec = binaryCodec;
+    }
+
     public final String[] getBooleanFormat() {
         return booleanFormat;
     }
@@ -91,6 +129,22 @@ public class CachedColumn {
         return parentField != null;
     }
 
+    public final FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    public final FieldAccessor getParentAccessor() {
+        return parentAccessor;
+    }
+
+    public final Instantiator<?> getConverterInstantiator() {
+        return converterInstantiator;
+    }
+
+    public final void setConverterInstantiator(final Instantiator<?> converterInstantiator) {
+        this.converterInstantiator = converterInstantiator;
+    }
+
     @Override
     public String toString() {
         return fieldName;
@@ -1,5 +1,6 @@
 package org.jfpa.cache;
 
+import org.jfpa.interfaces.Instantiator;
 import org.jfpa.interfaces.TypeExtractor;
 import org.jfpa.manager.SeparatorType;
 import org.jfpa.type.RecordType;
@@ -7,7 +8,6 @@ import org.jfpa.type.RecordType;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Created by IntelliJ IDEA.
@@ -26,11 +26,14 @@ public class CachedMultipleRecord {
     private TypeExtractor typeExtractor;
     private boolean validator;
     private final List<CachedSubRecord> firsts;
+    private final Instantiator<?> instantiator;
 
-    public CachedMultipleRecord(final Map<String, RecordType> mapTypes, final Map<RecordType, CachedSubRecord> mapFields, final List<CachedSubRecord> firsts) {
+    public CachedMultipleRecord(final Map<String, RecordType> mapTypes, final Map<RecordType, CachedSubRecord> mapFields, final List<CachedSubRecord> firsts,
+                                final Instantiator<?> instantiator) {
         this.mapTypes = mapTypes;
         this.mapFields = mapFields;
         this.firsts = firsts;
+        this.instantiator = instantiator;
     }
 
     public final void setPositional(final TypeExtractor typeExtractor) {
@@ -46,7 +49,7 @@ public class CachedMultipleRecord {
 
     public final void setDelimited(final String delimiter, final int typePosition) {
         this.separatorType = SeparatorType.DELIMITED;
-        this.delimiter = Pattern.quote(delimiter);
+        this.delimiter = delimiter;
         this.typePosition = typePosition;
     }
 
@@ -102,4 +105,8 @@ public class CachedMultipleRecord {
     public final List<CachedSubRecord> getFirsts() {
         return firsts;
     }
+
+    public final Instantiator<?> getInstantiator() {
+        return instantiator;
+    }
 }
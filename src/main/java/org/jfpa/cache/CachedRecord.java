@@ -1,5 +1,6 @@
 package org.jfpa.cache;
 
+import org.jfpa.interfaces.Instantiator;
 import org.jfpa.manager.SeparatorType;
 import org.jfpa.type.RecordType;
 
@@ -7,6 +8,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Created by IntelliJ IDEA.
@@ -17,16 +20,26 @@ import java.util.Map;
 public class CachedRecord {
     private SeparatorType separatorType;
     private final Map<Field, CachedColumn> mapColumns;
+    private final CachedColumn[] columns;
     private final Map<Field, Class> mapWrappedClasses;
     private final Map<String, CachedColumn> mapNames;
     private final List<Method> postReadMethods;
     private final List<Method> preWriteMethods;
+    private final Instantiator<?> instantiator;
+    private final List<CachedWrappedColumns> wrappedColumns;
     private RecordType recordType;
+    private volatile CachedBinding binding;
+    private final ConcurrentMap<String, CachedBinding> headerBindings = new ConcurrentHashMap<String, CachedBinding>();
+    private final ConcurrentMap<Method, Integer> viewColumns = new ConcurrentHashMap<Method, Integer>();
     private boolean validator;
 
-    public CachedRecord(final Map<Field, CachedColumn> mapColumns, final Map<Field, Class> mapWrappedClasses, final Map<String, CachedColumn> mapNames, final List<Method> postReadMethods, final List<Method> preWriteMethods) {
+    public CachedRecord(final Map<Field, CachedColumn> mapColumns, final Map<Field, Class> mapWrappedClasses, final Map<String, CachedColumn> mapNames, final List<Method> postReadMethods, final List<Method> preWriteMethods,
+                        final Instantiator<?> instantiator, final List<CachedWrappedColumns> wrappedColumns) {
         this.mapColumns = mapColumns;
+        this.columns = mapColumns.values().toArray(new CachedColumn[mapColumns.size()]);
         this.mapWrappedClasses = mapWrappedClasses;
+        this.instantiator = instantiator;
+        this.wrappedColumns = wrappedColumns;
         this.mapNames = mapNames;
         this.postReadMethods = postReadMethods;
         this.preWriteMethods = preWriteMethods;
@@ -35,11 +48,21 @@ public class CachedRecord {
     public final void setPositional(final int[] lengths) {
         this.separatorType = SeparatorType.POSITIONAL;
         this.recordType = new RecordType(lengths);
+        this.binding = new CachedBinding(getDeclaredPositions(), recordType);
     }
 
     public final void setDelimited(final String delimiter, final int columns, final String stringEnclose, final int[] lengths) {
         this.separatorType = SeparatorType.DELIMITED;
         this.recordType = new RecordType(delimiter, columns, stringEnclose, lengths);
+        this.binding = new CachedBinding(getDeclaredPositions(), recordType);
+    }
+
+    private int[] getDeclaredPositions() {
+        int[] positions = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            positions[i] = columns[i].getPosition();
+        }
+        return positions;
     }
 
     public final SeparatorType getSeparatorType() {
@@ -50,6 +73,10 @@ public class CachedRecord {
         return mapColumns;
     }
 
+    public final CachedColumn[] getColumns() {
+        return columns;
+    }
+
     public Map<Field, Class> getMapWrappedClasses() {
         return mapWrappedClasses;
     }
@@ -62,6 +89,37 @@ public class CachedRecord {
         return recordType;
     }
 
+    public final CachedBinding getBinding() {
+        return binding;
+    }
+
+    public final void setBinding(final CachedBinding binding) {
+        this.binding = binding;
+    }
+
+    public final CachedBinding getHeaderBinding(final String header) {
+        return headerBindings.get(header);
+    }
+
+    /**
+     * Caches the binding for a header, returning the one already cached if any.
+     */
+    public final CachedBinding addHeaderBinding(final String header, final CachedBinding binding) {
+        CachedBinding cached = headerBindings.putIfAbsent(header, binding);
+        return cached != null ? cached : binding;
+    }
+
+    /**
+     * @return the index in {@link #getColumns()} of the column read by a view method, or null if not resolved yet
+     */
+    public final Integer getViewColumn(final Method method) {
+        return viewColumns.get(method);
+    }
+
+    public final void addViewColumn(final Method method, final int column) {
+        viewColumns.putIfAbsent(method, column);
+    }
+
     public final boolean isValidator() {
         return validator;
     }
@@ -77,4 +135,12 @@ public class CachedRecord {
     public List<Method> getPreWriteMethods() {
         return preWriteMethods;
     }
+
+    public final Instantiator<?> getInstantiator() {
+        return instantiator;
+    }
+
+    public final List<CachedWrappedColumns> getWrappedColumns() {
+        return wrappedColumns;
+    }
 }
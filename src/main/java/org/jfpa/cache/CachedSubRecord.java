@@ -1,5 +1,6 @@
 package org.jfpa.cache;
 
+import org.jfpa.interfaces.FieldAccessor;
 import org.jfpa.type.RecordType;
 
 import java.lang.reflect.Field;
@@ -16,9 +17,11 @@ public class CachedSubRecord {
     private final Field field;
     private final RecordType recordType;
     private final boolean list;
+    private final FieldAccessor accessor;
 
-    public CachedSubRecord(final Field field, final Class<?> clazz, final RecordType recordType, final boolean list) {
+    public CachedSubRecord(final Field field, final Class<?> clazz, final RecordType recordType, final boolean list, final FieldAccessor accessor) {
         this.field = field;
+        this.accessor = accessor;
         this.clazz = clazz;
         this.recordType = recordType;
         this.list = list;
@@ -39,4 +42,8 @@ public class CachedSubRecord {
     public final boolean isList() {
         return list;
     }
+
+    public final FieldAccessor getAccessor() {
+        return accessor;
+    }
 }
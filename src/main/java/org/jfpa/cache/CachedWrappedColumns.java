@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.cache;
+
+import org.jfpa.interfaces.FieldAccessor;
+import org.jfpa.interfaces.Instantiator;
+
+/**
+ * A field annotated with @WrappedColumns, with the accessor used to
+ * set it and the instantiator of the wrapping bean.
+ */
+public class CachedWrappedColumns {
+    private final FieldAccessor accessor;
+    private final Instantiator<?> instantiator;
+
+    public CachedWrappedColumns(final FieldAccessor accessor, final Instantiator<?> instantiator) {
+        this.accessor = accessor;
+        this.instantiator = instantiator;
+    }
+
+    public final FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    public final Instantiator<?> getInstantiator() {
+        return instantiator;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.interfaces;
+
+import org.jfpa.exception.InvalidRecordException;
+
+/**
+ * FlatRecord backed by a CharSequence, whose column values can be located
+ * and parsed in place. Ranges are trimmed, a blank column has an empty range.
+ */
+public interface CharRecord extends FlatRecord {
+
+    CharSequence getChars();
+
+    int getValueStart(int pos) throws InvalidRecordException;
+
+    int getValueEnd(int pos) throws InvalidRecordException;
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jfpa.interfaces;
+
+/**
+ * Reads and writes a single field of a record instance.
+ */
+public interface FieldAccessor {
+    Object get(Object instance);
+
+    void set(Object instance, Object value);
+
+    int getInt(Object instance);
+
+    void setInt(Object instance, int value);
+
+    long getLong(Object instance);
+
+    void setLong(Object instance, long value);
+
+    double getDouble(Object instance);
+
+    void setDouble(Object instance, double value);
+}
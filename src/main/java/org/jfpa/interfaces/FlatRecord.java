@@ -4,8 +4,14 @@ import org.jfpa.dto.FlatRecordDTO;
 import org.jfpa.exception.InvalidRecordException;
 import org.jfpa.type.RecordType;
 import org.jfpa.type.RecordTypeDTO;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.DateCodec;
+import org.jfpa.utility.DecimalCodec;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 
 /**
@@ -23,6 +29,22 @@ public interface FlatRecord extends Record, RecordValidator {
 
     void setDate(int pos, Date value, String format) throws InvalidRecordException;
 
+    Date getDate(int pos, DateCodec codec) throws InvalidRecordException;
+
+    void setDate(int pos, Date value, DateCodec codec) throws InvalidRecordException;
+
+    LocalDate getLocalDate(int pos, DateCodec codec) throws InvalidRecordException;
+
+    void setLocalDate(int pos, LocalDate value, DateCodec codec) throws InvalidRecordException;
+
+    LocalDateTime getLocalDateTime(int pos, DateCodec codec) throws InvalidRecordException;
+
+    void setLocalDateTime(int pos, LocalDateTime value, DateCodec codec) throws InvalidRecordException;
+
+    Instant getInstant(int pos, DateCodec codec) throws InvalidRecordException;
+
+    void setInstant(int pos, Instant value, DateCodec codec) throws InvalidRecordException;
+
     Integer getInteger(int pos) throws InvalidRecordException;
 
     void setInteger(int pos, Integer value) throws InvalidRecordException;
@@ -35,10 +57,36 @@ public interface FlatRecord extends Record, RecordValidator {
 
     void setDouble(int pos, Double value) throws InvalidRecordException;
 
+    int getIntValue(int pos) throws InvalidRecordException;
+
+    void setIntValue(int pos, int value) throws InvalidRecordException;
+
+    long getLongValue(int pos) throws InvalidRecordException;
+
+    void setLongValue(int pos, long value) throws InvalidRecordException;
+
+    double getDoubleValue(int pos) throws InvalidRecordException;
+
+    void setDoubleValue(int pos, double value) throws InvalidRecordException;
+
     BigDecimal getBigDecimal(int pos) throws InvalidRecordException;
 
     void setBigDecimal(int pos, BigDecimal value) throws InvalidRecordException;
 
+    BigDecimal getBigDecimal(int pos, DecimalCodec codec) throws InvalidRecordException;
+
+    void setBigDecimal(int pos, BigDecimal value, DecimalCodec codec) throws InvalidRecordException;
+
+    long getMinorUnits(int pos, DecimalCodec codec) throws InvalidRecordException;
+
+    void setMinorUnits(int pos, long value, DecimalCodec codec) throws InvalidRecordException;
+
+    int getBinaryInt(int pos, BinaryCodec codec) throws InvalidRecordException;
+
+    long getBinaryLong(int pos, BinaryCodec codec) throws InvalidRecordException;
+
+    BigDecimal getBinaryDecimal(int pos, BinaryCodec codec) throws InvalidRecordException;
+
     Boolean getBoolean(int pos, String[] trueFalse) throws InvalidRecordException;
 
     void setBoolean(int pos, Boolean value, String[] trueFalse) throws InvalidRecordException;
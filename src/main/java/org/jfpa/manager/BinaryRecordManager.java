@@ -2,13 +2,25 @@ package org.jfpa.manager;
 
 import org.jfpa.annotation.Binary;
 import org.jfpa.builder.BinaryRecordBuilder;
+import org.jfpa.builder.RecordFraming;
 import org.jfpa.exception.InvalidRecordException;
 import org.jfpa.exception.JfpaException;
 import org.jfpa.interfaces.RecordHandler;
 import org.jfpa.record.AbstractBinaryRecord;
+import org.jfpa.type.FramingType;
+import org.jfpa.utility.LatencyHistogram;
 import org.jfpa.utility.Utility;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by IntelliJ IDEA.
@@ -19,16 +31,18 @@ import java.io.UnsupportedEncodingException;
 public class BinaryRecordManager extends RecordManager {
 
     private final BinaryRecordBuilder<AbstractBinaryRecord> builder;
+    private volatile InvalidRecordException idleError;
 
     public <T> BinaryRecordManager(final RecordHandler<String> handler, final Class<T> clazz) {
         loadBinary(clazz);
         AbstractBinaryRecord abstractBinaryRecord = loadBinary(clazz);
+        final Charset charset = getCharset(clazz, abstractBinaryRecord.getEncoding());
         RecordHandler<AbstractBinaryRecord> abstractBinaryRecordRecordHandler = new RecordHandler<AbstractBinaryRecord>() {
             public void handle(AbstractBinaryRecord record) throws InvalidRecordException {
-                handler.handle(record.toString());
+                handler.handle(charset.decode(record.getBuffer()).toString());
             }
         };
-        builder = new BinaryRecordBuilder<AbstractBinaryRecord>(abstractBinaryRecord, abstractBinaryRecordRecordHandler);
+        builder = newBuilder(clazz, abstractBinaryRecord, abstractBinaryRecordRecordHandler);
     }
 
     public <T> BinaryRecordManager(final Class<T> clazz, final RecordHandler<T> handler) {
@@ -36,12 +50,86 @@ public class BinaryRecordManager extends RecordManager {
             throw new JfpaException(clazz, "Class must be @Positional or @Delimited to be used with BinaryRecordManager");
         }
         AbstractBinaryRecord abstractBinaryRecord = loadBinary(clazz);
+        final Charset charset = getCharset(clazz, abstractBinaryRecord.getEncoding());
+        RecordHandler<AbstractBinaryRecord> abstractBinaryRecordRecordHandler = new RecordHandler<AbstractBinaryRecord>() {
+            public void handle(AbstractBinaryRecord record) throws InvalidRecordException {
+                handler.handle(read(record.getBuffer(), charset, clazz));
+            }
+        };
+        builder = newBuilder(clazz, abstractBinaryRecord, abstractBinaryRecordRecordHandler);
+    }
+
+    /**
+     * Reads records of several classes from the same stream, each class identified by its patterns.
+     * The handler receives instances of the class whose pattern starts the record.
+     */
+    public BinaryRecordManager(final RecordHandler<Object> handler, final Class<?>... classes) {
+        if (classes.length == 0) {
+            throw new JfpaException("No record class specified for BinaryRecordManager");
+        }
+        List<byte[]> patterns = new ArrayList<byte[]>();
+        List<Class<?>> owners = new ArrayList<Class<?>>();
+        String encoding = null;
+        for (Class<?> clazz : classes) {
+            if (recordClassLoader.loadClass(clazz) != Type.SINGLE) {
+                throw new JfpaException(clazz, "Class must be @Positional or @Delimited to be used with BinaryRecordManager");
+            }
+            Binary binary = clazz.getAnnotation(Binary.class);
+            if (binary != null && binary.framing() != FramingType.PATTERN) {
+                throw new JfpaException(clazz, "Only PATTERN framing can tell record classes apart");
+            }
+            if (binary != null && (!Utility.isEmpty(binary.trailerString()) || binary.lengthOffset() >= 0)) {
+                throw new JfpaException(clazz, "'trailerString' and 'lengthOffset' are not supported reading several record classes");
+            }
+            AbstractBinaryRecord abstractBinaryRecord = loadBinary(clazz);
+            if (encoding != null && !encoding.equals(abstractBinaryRecord.getEncoding())) {
+                throw new JfpaException(clazz, "All record classes must have the same encoding in @Binary");
+            }
+            encoding = abstractBinaryRecord.getEncoding();
+            for (byte[] pattern : abstractBinaryRecord.getPatterns()) {
+                for (int i = 0; i < patterns.size(); i++) {
+                    if (owners.get(i) != clazz && overlaps(patterns.get(i), pattern)) {
+                        throw new JfpaException(clazz, "Pattern overlaps a pattern of " + owners.get(i).getName() + ", records could not be told apart");
+                    }
+                }
+                patterns.add(pattern);
+                owners.add(clazz);
+            }
+        }
+        final byte[][] allPatterns = patterns.toArray(new byte[patterns.size()][]);
+        final Class<?>[] patternClasses = owners.toArray(new Class<?>[owners.size()]);
+        final Charset charset = getCharset(classes[0], encoding);
         RecordHandler<AbstractBinaryRecord> abstractBinaryRecordRecordHandler = new RecordHandler<AbstractBinaryRecord>() {
             public void handle(AbstractBinaryRecord record) throws InvalidRecordException {
-                handler.handle(read(record.toString(), clazz));
+                handler.handle(read(record.getBuffer(), charset, patternClasses[record.getPatternIndex()]));
+            }
+        };
+        AbstractBinaryRecord abstractBinaryRecord = new AbstractBinaryRecord(encoding) {
+            @Override
+            public byte[] getPattern() {
+                return allPatterns[0];
+            }
+
+            @Override
+            public byte[][] getPatterns() {
+                return allPatterns;
             }
         };
         builder = new BinaryRecordBuilder<AbstractBinaryRecord>(abstractBinaryRecord, abstractBinaryRecordRecordHandler);
+        builder.setSliceRecords(true);
+    }
+
+    /*
+     * True when a pattern equals or starts the other one.
+     */
+    private static boolean overlaps(byte[] a, byte[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private <T> AbstractBinaryRecord loadBinary(Class<T> clazz) {
@@ -52,20 +140,53 @@ public class BinaryRecordManager extends RecordManager {
             }
             boolean hasPattern = binary.pattern().length > 0;
             boolean hasPatternString = !Utility.isEmpty(binary.patternString());
+            boolean hasPatternStrings = binary.patternStrings().length > 0;
             boolean hasEncoding = !Utility.isEmpty(binary.encoding());
-            if (!hasPattern && !hasPatternString) {
-                throw new JfpaException(clazz, "Neither 'pattern' nor 'patternString' specified in @Binary");
+            boolean hasTrailer = !Utility.isEmpty(binary.trailerString());
+            if (binary.framing() != FramingType.PATTERN) {
+                if (hasPattern || hasPatternString || hasPatternStrings || hasTrailer || binary.lengthOffset() >= 0) {
+                    throw new JfpaException(clazz, "'pattern', 'patternString', 'patternStrings', 'trailerString' and 'lengthOffset' are allowed only with PATTERN framing in @Binary");
+                }
+                return new AbstractBinaryRecord(binary.encoding()) {
+                    @Override
+                    public byte[] getPattern() {
+                        return null;
+                    }
+                };
             }
-            if (hasPattern && hasPatternString) {
-                throw new JfpaException(clazz, "Only one between 'pattern' and 'patternString' should be specified in @Binary");
+            if (!hasPattern && !hasPatternString && !hasPatternStrings) {
+                throw new JfpaException(clazz, "Neither 'pattern' nor 'patternString' nor 'patternStrings' specified in @Binary");
             }
-            final byte[] pattern = hasPattern ? binary.pattern()
-                                   : hasEncoding ? binary.patternString().getBytes(binary.encoding())
-                                   : binary.patternString().getBytes();
+            if ((hasPattern ? 1 : 0) + (hasPatternString ? 1 : 0) + (hasPatternStrings ? 1 : 0) > 1) {
+                throw new JfpaException(clazz, "Only one between 'pattern', 'patternString' and 'patternStrings' should be specified in @Binary");
+            }
+            String[] strings = hasPatternStrings ? binary.patternStrings() : new String[] {binary.patternString()};
+            final byte[][] patterns = new byte[strings.length][];
+            for (int i = 0; i < strings.length; i++) {
+                if (hasPatternStrings && Utility.isEmpty(strings[i])) {
+                    throw new JfpaException(clazz, "Empty pattern in 'patternStrings' of @Binary");
+                }
+                patterns[i] = hasPattern ? binary.pattern()
+                              : hasEncoding ? strings[i].getBytes(binary.encoding())
+                              : strings[i].getBytes();
+            }
+            final byte[] trailer = !hasTrailer ? null
+                                   : hasEncoding ? binary.trailerString().getBytes(binary.encoding())
+                                   : binary.trailerString().getBytes();
             return new AbstractBinaryRecord(binary.encoding()) {
                 @Override
                 public byte[] getPattern() {
-                    return pattern;
+                    return patterns[0];
+                }
+
+                @Override
+                public byte[][] getPatterns() {
+                    return patterns;
+                }
+
+                @Override
+                public byte[] getTrailer() {
+                    return trailer;
                 }
             };
         } catch (UnsupportedEncodingException e) {
@@ -73,11 +194,111 @@ public class BinaryRecordManager extends RecordManager {
         }
     }
 
+    private <T> BinaryRecordBuilder<AbstractBinaryRecord> newBuilder(Class<T> clazz, AbstractBinaryRecord record, RecordHandler<AbstractBinaryRecord> handler) {
+        Binary binary = clazz.getAnnotation(Binary.class);
+        BinaryRecordBuilder<AbstractBinaryRecord> builder;
+        if (binary.framing() == FramingType.PATTERN) {
+            builder = new BinaryRecordBuilder<AbstractBinaryRecord>(record, handler);
+            if (binary.lengthOffset() >= 0) {
+                try {
+                    builder.setLengthField(RecordFraming.lengthField(binary.lengthOffset(), binary.lengthSize(), binary.littleEndian(), binary.lengthInclusive()));
+                } catch (JfpaException e) {
+                    throw new JfpaException(clazz, e.getMessage());
+                }
+            }
+        } else {
+            builder = new BinaryRecordBuilder<AbstractBinaryRecord>(record, handler, getFraming(clazz, binary));
+        }
+        builder.setSliceRecords(true);
+        return builder;
+    }
+
+    private <T> RecordFraming getFraming(Class<T> clazz, Binary binary) {
+        try {
+            if (binary.framing() == FramingType.FIXED_LENGTH) {
+                return RecordFraming.fixedLength(binary.recordLength());
+            }
+            int headerSize = binary.headerSize() > 0 ? binary.headerSize() : binary.lengthSize();
+            RecordFraming lengthPrefix = RecordFraming.lengthPrefix(binary.lengthSize(), headerSize, binary.littleEndian(), binary.lengthInclusive());
+            if (binary.framing() == FramingType.LENGTH_PREFIX) {
+                return lengthPrefix;
+            }
+            return RecordFraming.block(lengthPrefix, binary.recordLength() > 0 ? RecordFraming.fixedLength(binary.recordLength()) : lengthPrefix);
+        } catch (JfpaException e) {
+            throw new JfpaException(clazz, e.getMessage());
+        }
+    }
+
+    private <T> Charset getCharset(Class<T> clazz, String encoding) {
+        try {
+            return Utility.isEmpty(encoding) ? Charset.defaultCharset() : Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new JfpaException(clazz, e);
+        }
+    }
+
     public final void process(byte[] bytes) throws InvalidRecordException {
+        checkIdleError();
+        builder.process(bytes);
+    }
+
+    public final void process(ByteBuffer bytes) throws InvalidRecordException {
+        checkIdleError();
         builder.process(bytes);
     }
 
+    public final int read(ReadableByteChannel channel) throws IOException, InvalidRecordException {
+        checkIdleError();
+        return builder.read(channel);
+    }
+
+    public final void consume(ReadableByteChannel channel) throws IOException, InvalidRecordException {
+        while (read(channel) >= 0) {
+            // records are handled while reading
+        }
+        flush();
+    }
+
     public final void flush() throws InvalidRecordException {
+        checkIdleError();
         builder.flush();
     }
+
+    /**
+     * Handles the last record once no byte arrived for <code>timeout</code>, instead of waiting for the
+     * next record to start. The scheduler checks every half timeout and runs the handler on its thread,
+     * a record failing there is thrown by the next call of this manager.
+     */
+    public final ScheduledFuture<?> scheduleIdleFlush(ScheduledExecutorService scheduler, long timeout, TimeUnit unit) {
+        builder.setIdleTimeout(timeout, unit);
+        long period = Math.max(unit.toNanos(timeout) / 2, 1);
+        return scheduler.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                try {
+                    builder.flushIdle();
+                } catch (InvalidRecordException e) {
+                    idleError = e;
+                }
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    private void checkIdleError() throws InvalidRecordException {
+        InvalidRecordException e = idleError;
+        if (e != null) {
+            idleError = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Records how long each record stayed buffered before being handled.
+     */
+    public final void setLatencyHistogram(LatencyHistogram histogram) {
+        builder.setLatencyHistogram(histogram);
+    }
+
+    public final LatencyHistogram getLatencyHistogram() {
+        return builder.getLatencyHistogram();
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.RecordHandler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs chunk decoders on a pool keeping at most twice its parallelism chunks in flight.
+ * Results of the chunks are handled by the submitting thread in submission order,
+ * chunks handling their own records return an empty list and must stop once
+ * {@link #isAborted()} is true.
+ */
+class ChunkPipeline<T> {
+
+    private final ForkJoinPool pool;
+    private final Class<?> clazz;
+    private final RecordHandler<T> handler;
+    private final int maxPending;
+    private final Deque<Future<List<T>>> pending = new ArrayDeque<Future<List<T>>>();
+    private volatile boolean aborted;
+
+    ChunkPipeline(final ForkJoinPool pool, final Class<?> clazz, final RecordHandler<T> handler) {
+        this.pool = pool;
+        this.clazz = clazz;
+        this.handler = handler;
+        this.maxPending = pool.getParallelism() * 2;
+    }
+
+    void submit(final Callable<List<T>> chunk) throws IOException, InvalidRecordException {
+        if (pending.size() >= maxPending) {
+            handleNext();
+        }
+        pending.add(pool.submit(chunk));
+    }
+
+    void finish() throws IOException, InvalidRecordException {
+        while (!pending.isEmpty()) {
+            handleNext();
+        }
+    }
+
+    boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Aborts the pending chunks and waits for them, so that no record is handled after the read ends.
+     */
+    void cancel() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        aborted = true;
+        boolean interrupted = false;
+        for (Future<List<T>> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException ignore) {
+                    break;
+                }
+            }
+        }
+        pending.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleNext() throws IOException, InvalidRecordException {
+        for (T record : await(pending.poll())) {
+            handler.handle(record);
+        }
+    }
+
+    private List<T> await(final Future<List<T>> future) throws IOException, InvalidRecordException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading records");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                // ForkJoinPool wraps checked exceptions thrown by callables, possibly more than once
+                cause = cause.getCause();
+            }
+            if (cause instanceof InvalidRecordException) {
+                throw (InvalidRecordException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new JfpaException(clazz, cause);
+        }
+    }
+}
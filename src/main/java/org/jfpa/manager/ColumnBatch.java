@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedColumn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A batch of rows stored by column, one {@link ColumnVector} per mapped column
+ * in the order of the record class. Batches are meant to be reused, each read
+ * overwrites the previous rows.
+ */
+public final class ColumnBatch {
+
+    private final ColumnVector[] vectors;
+    private final Map<String, ColumnVector> names = new HashMap<String, ColumnVector>();
+    private final int capacity;
+    private int size;
+
+    ColumnBatch(final CachedColumn[] columns, final int capacity) {
+        this.capacity = capacity;
+        this.vectors = new ColumnVector[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            CachedColumn column = columns[i];
+            vectors[i] = new ColumnVector(column.getFieldName(), column.getColumnType(), capacity);
+            if (!names.containsKey(column.getFieldName())) {
+                names.put(column.getFieldName(), vectors[i]);
+            }
+            if (!column.getName().isEmpty() && !names.containsKey(column.getName())) {
+                names.put(column.getName(), vectors[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows read in the batch
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getColumns() {
+        return vectors.length;
+    }
+
+    public ColumnVector getVector(final int column) {
+        return vectors[column];
+    }
+
+    /**
+     * @param name the field name, or the column name, of the column
+     * @return the vector, or null if no column has that name
+     */
+    public ColumnVector getVector(final String name) {
+        return names.get(name);
+    }
+
+    void clear() {
+        size = 0;
+        for (ColumnVector vector : vectors) {
+            vector.clear();
+        }
+    }
+
+    void setSize(final int size) {
+        this.size = size;
+    }
+}
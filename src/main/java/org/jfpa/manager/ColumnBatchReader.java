@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.cache.CachedColumn;
+import org.jfpa.cache.CachedRecord;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.CharRecord;
+import org.jfpa.record.DelimitedRecordView;
+import org.jfpa.record.PositionalRecordView;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.CharParser;
+import org.jfpa.utility.DelimitedTokenizer;
+import org.jfpa.utility.LineReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads lines into {@link ColumnBatch}es using the column metadata of a record
+ * class, without creating record instances. Numbers and strings are parsed in
+ * place into the vectors, so steady-state reading allocates only the lines.
+ * Since no instance is created, validators and @PostRead methods are not invoked.
+ * When the input has a header, its first line is bound with {@link RecordManager#bindHeader(Class, String)}.
+ * Not thread-safe.
+ */
+public class ColumnBatchReader<T> implements Closeable {
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final LineReader lineReader;
+    private final boolean header;
+    private final int batchLength;
+    private final SeparatorType separatorType;
+    private final CachedColumn[] columns;
+    private CachedBinding binding;
+    private DelimitedTokenizer tokenizer;
+    private boolean started;
+
+    public ColumnBatchReader(final RecordManager manager, final Class<T> clazz, final LineReader lineReader,
+                             final boolean header, final int batchLength) {
+        if (manager.recordClassLoader.loadClass(clazz) != Type.SINGLE) {
+            throw new JfpaException(clazz, "class must be @Positional or @Delimited to be read in column batches");
+        }
+        if (batchLength <= 0) {
+            throw new IllegalArgumentException("Batch length must be positive: " + batchLength);
+        }
+        CachedRecord cachedRecord = manager.recordClassLoader.getCachedRecord(clazz);
+        this.manager = manager;
+        this.clazz = clazz;
+        this.lineReader = lineReader;
+        this.header = header;
+        this.batchLength = batchLength;
+        this.separatorType = cachedRecord.getSeparatorType();
+        this.columns = cachedRecord.getColumns();
+        this.binding = cachedRecord.getBinding();
+    }
+
+    /**
+     * @return a new batch holding up to the batch length rows
+     */
+    public ColumnBatch newBatch() {
+        return new ColumnBatch(columns, batchLength);
+    }
+
+    /**
+     * Fills the batch with the next lines, replacing its previous rows.
+     * If a line is invalid the batch keeps the rows read before it.
+     *
+     * @return the number of rows read, 0 at the end of the input
+     */
+    public int read(final ColumnBatch batch) throws IOException, InvalidRecordException {
+        batch.clear();
+        if (!started) {
+            started = true;
+            if (header) {
+                String line = lineReader.readLine();
+                if (line == null) {
+                    return 0;
+                }
+                binding = manager.bindHeader(clazz, line).getBinding();
+            }
+        }
+        int row = 0;
+        String line;
+        while (row < batch.getCapacity() && (line = lineReader.readLine()) != null) {
+            readRow(line, batch, row);
+            batch.setSize(++row);
+        }
+        return row;
+    }
+
+    private void readRow(final String line, final ColumnBatch batch, final int row) throws InvalidRecordException {
+        CharRecord record = getRecord(line);
+        for (int i = 0; i < columns.length; i++) {
+            CachedColumn column = columns[i];
+            ColumnVector vector = batch.getVector(i);
+            try {
+                readValue(record, column, binding.getPosition(i), vector, row);
+            } catch (InvalidRecordException e) {
+                if (column.isInvalidateOnError()) {
+                    throw e;
+                }
+                vector.setNull(row);
+            }
+        }
+    }
+
+    private CharRecord getRecord(final String line) throws InvalidRecordException {
+        RecordType recordType = binding.getRecordType();
+        if (separatorType == SeparatorType.POSITIONAL) {
+            return new PositionalRecordView(recordType, line);
+        }
+        if (tokenizer == null) {
+            tokenizer = new DelimitedTokenizer(recordType.getDelimiter(), recordType.getStringEnclose(), recordType.getColumns());
+        }
+        return new DelimitedRecordView(recordType, line, 0, line.length(), tokenizer);
+    }
+
+    private void readValue(final CharRecord record, final CachedColumn column, final int pos, final ColumnVector vector, final int row) throws InvalidRecordException {
+        if (column.getBinaryCodec() != null) {
+            readBinaryValue(record, column, pos, vector, row);
+            return;
+        }
+        if (vector.getKind() == ColumnVector.Kind.OBJECT) {
+            vector.setObject(row, manager.getValue(record, column, pos));
+            return;
+        }
+        CharSequence chars = record.getChars();
+        int start = record.getValueStart(pos);
+        int end = record.getValueEnd(pos);
+        if (start == end) {
+            vector.setNull(row);
+            return;
+        }
+        try {
+            switch (vector.getKind()) {
+                case INT:
+                    vector.setInt(row, CharParser.parseIntValue(chars, start, end));
+                    break;
+                case LONG:
+                    vector.setLong(row, column.getColumnType() == ColumnType.MINOR_UNITS
+                            ? column.getDecimalCodec().parseMinorUnits(chars, start, end) : CharParser.parseLongValue(chars, start, end));
+                    break;
+                case DOUBLE:
+                    vector.setDouble(row, CharParser.parseDoubleValue(chars, start, end));
+                    break;
+                default:
+                    vector.setString(row, chars, start, end);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid " + column.getColumnType() + " format: " + e.getMessage(), record.toString());
+        }
+    }
+
+    private void readBinaryValue(final CharRecord record, final CachedColumn column, final int pos, final ColumnVector vector, final int row) throws InvalidRecordException {
+        Object value = manager.getValue(record, column, pos);
+        switch (vector.getKind()) {
+            case INT:
+                vector.setInt(row, (Integer) value);
+                break;
+            case LONG:
+                vector.setLong(row, (Long) value);
+                break;
+            default:
+                vector.setObject(row, value);
+        }
+    }
+
+    /**
+     * @return the number of lines read so far, header included
+     */
+    public long getLineNumber() {
+        return lineReader.getLineNumber();
+    }
+
+    public void close() throws IOException {
+        lineReader.close();
+    }
+}
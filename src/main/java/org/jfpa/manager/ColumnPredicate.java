@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.utility.CharParser;
+
+/**
+ * Condition evaluated on the raw characters of a column, without converting them.
+ * Ranges are trimmed as the values read by {@link org.jfpa.interfaces.CharRecord}.
+ * Predicates are immutable and can be shared between threads.
+ */
+public abstract class ColumnPredicate {
+
+    /**
+     * @return true if the column value in chars between start and end satisfies the condition
+     */
+    public abstract boolean test(CharSequence chars, int start, int end);
+
+    public static ColumnPredicate equalTo(final String value) {
+        return new ColumnPredicate() {
+            @Override
+            public boolean test(final CharSequence chars, final int start, final int end) {
+                return CharParser.equals(chars, start, end, value);
+            }
+        };
+    }
+
+    /**
+     * Values are compared one by one, meant for small sets.
+     */
+    public static ColumnPredicate in(final String... values) {
+        final String[] copy = values.clone();
+        return new ColumnPredicate() {
+            @Override
+            public boolean test(final CharSequence chars, final int start, final int end) {
+                for (String value : copy) {
+                    if (CharParser.equals(chars, start, end, value)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static ColumnPredicate startsWith(final String prefix) {
+        return new ColumnPredicate() {
+            @Override
+            public boolean test(final CharSequence chars, final int start, final int end) {
+                return end - start >= prefix.length() && CharParser.equals(chars, start, start + prefix.length(), prefix);
+            }
+        };
+    }
+
+    /**
+     * Lexicographic range, bounds included. Useful for codes and dates in sortable formats such as yyyyMMdd.
+     */
+    public static ColumnPredicate between(final String min, final String max) {
+        return new ColumnPredicate() {
+            @Override
+            public boolean test(final CharSequence chars, final int start, final int end) {
+                return compare(chars, start, end, min) >= 0 && compare(chars, start, end, max) <= 0;
+            }
+        };
+    }
+
+    /**
+     * Numeric range, bounds included. Blank and non numeric values don't match.
+     */
+    public static ColumnPredicate between(final long min, final long max) {
+        return new ColumnPredicate() {
+            @Override
+            public boolean test(final CharSequence chars, final int start, final int end) {
+                if (start == end) {
+                    return false;
+                }
+                long value;
+                try {
+                    value = CharParser.parseLongValue(chars, start, end);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                return value >= min && value <= max;
+            }
+        };
+    }
+
+    public static ColumnPredicate not(final ColumnPredicate predicate) {
+        return new ColumnPredicate() {
+            @Override
+            public boolean test(final CharSequence chars, final int start, final int end) {
+                return !predicate.test(chars, start, end);
+            }
+        };
+    }
+
+    private static int compare(final CharSequence chars, final int start, final int end, final String value) {
+        int length = Math.min(end - start, value.length());
+        for (int i = 0; i < length; i++) {
+            int diff = chars.charAt(start + i) - value.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (end - start) - value.length();
+    }
+}
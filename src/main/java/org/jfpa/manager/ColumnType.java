@@ -1,6 +1,9 @@
 package org.jfpa.manager;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,9 +19,16 @@ public enum ColumnType {
 
     STRING,
     DATE,
+    LOCAL_DATE,
+    LOCAL_DATE_TIME,
+    INSTANT,
     INTEGER,
     LONG,
     DOUBLE,
+    PRIMITIVE_INT,
+    PRIMITIVE_LONG,
+    PRIMITIVE_DOUBLE,
+    MINOR_UNITS,
     BIG_DECIMAL,
     BOOLEAN,
     CUSTOM,
@@ -27,9 +37,15 @@ public enum ColumnType {
     private static final Map<Class, ColumnType> VALID_TYPES = new HashMap<Class, ColumnType>() { {
         put(String.class, ColumnType.STRING);
         put(Date.class, ColumnType.DATE);
+        put(LocalDate.class, ColumnType.LOCAL_DATE);
+        put(LocalDateTime.class, ColumnType.LOCAL_DATE_TIME);
+        put(Instant.class, ColumnType.INSTANT);
         put(Integer.class, ColumnType.INTEGER);
         put(Long.class, ColumnType.LONG);
         put(Double.class, ColumnType.DOUBLE);
+        put(int.class, ColumnType.PRIMITIVE_INT);
+        put(long.class, ColumnType.PRIMITIVE_LONG);
+        put(double.class, ColumnType.PRIMITIVE_DOUBLE);
         put(BigDecimal.class, ColumnType.BIG_DECIMAL);
         put(Boolean.class, ColumnType.BOOLEAN);
     } };
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import java.util.Arrays;
+
+/**
+ * Values of a single column for all the rows of a {@link ColumnBatch}.
+ * Numeric columns are stored in primitive arrays, strings are stored one after
+ * another in a char buffer delimited by offsets, any other type as objects.
+ * Blank values are tracked in a null bitmap, their primitive value is zero.
+ */
+public final class ColumnVector {
+
+    /**
+     * Storage of the vector, depending on the column type.
+     */
+    public enum Kind {
+        INT,
+        LONG,
+        DOUBLE,
+        STRING,
+        OBJECT
+    }
+
+    private static final int DEFAULT_CHARS_PER_ROW = 16;
+
+    private final String name;
+    private final ColumnType columnType;
+    private final Kind kind;
+    private final long[] nulls;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private char[] chars;
+    private int[] offsets;
+    private Object[] objects;
+
+    ColumnVector(final String name, final ColumnType columnType, final int capacity) {
+        this.name = name;
+        this.columnType = columnType;
+        this.kind = kindOf(columnType);
+        this.nulls = new long[(capacity + 63) >>> 6];
+        switch (kind) {
+            case INT:
+                ints = new int[capacity];
+                break;
+            case LONG:
+                longs = new long[capacity];
+                break;
+            case DOUBLE:
+                doubles = new double[capacity];
+                break;
+            case STRING:
+                chars = new char[capacity * DEFAULT_CHARS_PER_ROW];
+                offsets = new int[capacity + 1];
+                break;
+            default:
+                objects = new Object[capacity];
+        }
+    }
+
+    static Kind kindOf(final ColumnType columnType) {
+        switch (columnType) {
+            case INTEGER:
+            case PRIMITIVE_INT:
+                return Kind.INT;
+            case LONG:
+            case PRIMITIVE_LONG:
+            case MINOR_UNITS:
+                return Kind.LONG;
+            case DOUBLE:
+            case PRIMITIVE_DOUBLE:
+                return Kind.DOUBLE;
+            case STRING:
+                return Kind.STRING;
+            default:
+                return Kind.OBJECT;
+        }
+    }
+
+    /**
+     * @return the name of the mapped field
+     */
+    public String getName() {
+        return name;
+    }
+
+    public ColumnType getColumnType() {
+        return columnType;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isNull(final int row) {
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * @return the null bitmap, bit <code>row % 64</code> of word <code>row / 64</code> is set for null rows
+     */
+    public long[] getNulls() {
+        return nulls;
+    }
+
+    public int getInt(final int row) {
+        return ints[row];
+    }
+
+    public int[] getInts() {
+        return ints;
+    }
+
+    public long getLong(final int row) {
+        return longs[row];
+    }
+
+    public long[] getLongs() {
+        return longs;
+    }
+
+    public double getDouble(final int row) {
+        return doubles[row];
+    }
+
+    public double[] getDoubles() {
+        return doubles;
+    }
+
+    /**
+     * @return the chars of all the strings, the string of a row goes from
+     * <code>getOffsets()[row]</code> to <code>getOffsets()[row + 1]</code>
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public String getString(final int row) {
+        return isNull(row) ? null : new String(chars, offsets[row], offsets[row + 1] - offsets[row]);
+    }
+
+    public Object getObject(final int row) {
+        return objects[row];
+    }
+
+    public Object[] getObjects() {
+        return objects;
+    }
+
+    void clear() {
+        Arrays.fill(nulls, 0);
+        if (objects != null) {
+            Arrays.fill(objects, null);
+        }
+    }
+
+    void setNull(final int row) {
+        nulls[row >>> 6] |= 1L << row;
+        switch (kind) {
+            case INT:
+                ints[row] = 0;
+                break;
+            case LONG:
+                longs[row] = 0;
+                break;
+            case DOUBLE:
+                doubles[row] = 0;
+                break;
+            case STRING:
+                offsets[row + 1] = offsets[row];
+                break;
+            default:
+                objects[row] = null;
+        }
+    }
+
+    void setInt(final int row, final int value) {
+        ints[row] = value;
+    }
+
+    void setLong(final int row, final long value) {
+        longs[row] = value;
+    }
+
+    void setDouble(final int row, final double value) {
+        doubles[row] = value;
+    }
+
+    void setString(final int row, final CharSequence value, final int start, final int end) {
+        int offset = offsets[row];
+        int length = end - start;
+        if (offset + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, offset + length));
+        }
+        if (value instanceof String) {
+            ((String) value).getChars(start, end, chars, offset);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[offset + i] = value.charAt(start + i);
+            }
+        }
+        offsets[row + 1] = offset + length;
+    }
+
+    void setObject(final int row, final Object value) {
+        objects[row] = value;
+        if (value == null) {
+            nulls[row >>> 6] |= 1L << row;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.exception.InvalidRecordException;
+
+/**
+ * Reads and writes records of a class using the column order of a header.
+ * Bindings are immutable and can be shared between threads and files with the same header.
+ */
+public final class HeaderBinding<T> {
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final CachedBinding binding;
+
+    HeaderBinding(final RecordManager manager, final Class<T> clazz, final CachedBinding binding) {
+        this.manager = manager;
+        this.clazz = clazz;
+        this.binding = binding;
+    }
+
+    public T read(final String line) throws InvalidRecordException {
+        return manager.readSingle(line, clazz, binding);
+    }
+
+    /**
+     * @see RecordManager#readInto(String, Object)
+     */
+    public T readInto(final String line, final T target) throws InvalidRecordException {
+        return manager.readSingle(line, clazz, binding, target);
+    }
+
+    /**
+     * @see RecordManager#readLazy(String, Class)
+     */
+    public LazyRecord<T> readLazy(final String line) throws InvalidRecordException {
+        return manager.readLazy(line, clazz, binding);
+    }
+
+    /**
+     * @see RecordManager#project(Class, String...)
+     */
+    public Projection<T> project(final String... fields) {
+        return manager.project(clazz, binding, fields);
+    }
+
+    /**
+     * @see RecordManager#filter(Class)
+     */
+    public RecordFilter<T> filter() {
+        return manager.filter(clazz, binding);
+    }
+
+    public String write(final T instance) throws InvalidRecordException {
+        return manager.writeSingle(clazz, instance, binding);
+    }
+
+    public Class<T> getRecordClass() {
+        return clazz;
+    }
+
+    final CachedBinding getBinding() {
+        return binding;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.cache.CachedColumn;
+import org.jfpa.cache.CachedRecord;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.FlatRecord;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Record backed by the original line, each column is converted only the first time it's read
+ * and then kept, so columns never read cost nothing. Columns are named by field or column name.
+ * A lazy record is not thread-safe.
+ *
+ * @see RecordManager#readLazy(String, Class)
+ */
+public final class LazyRecord<T> {
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final CachedRecord cachedRecord;
+    private final CachedBinding binding;
+    private final FlatRecord record;
+    private final Object[] values;
+    private final boolean[] decoded;
+
+    LazyRecord(final RecordManager manager, final Class<T> clazz, final CachedRecord cachedRecord,
+               final CachedBinding binding, final FlatRecord record) {
+        this.manager = manager;
+        this.clazz = clazz;
+        this.cachedRecord = cachedRecord;
+        this.binding = binding;
+        this.record = record;
+        int columns = cachedRecord.getColumns().length;
+        this.values = new Object[columns];
+        this.decoded = new boolean[columns];
+    }
+
+    public Object get(final String column) throws InvalidRecordException {
+        return get(manager.getColumnIndex(clazz, column));
+    }
+
+    /**
+     * @param column index of the column in the record class
+     * @return the converted value, null when the column is blank or invalid and not invalidateOnError
+     */
+    public Object get(final int column) throws InvalidRecordException {
+        if (!decoded[column]) {
+            CachedColumn cachedColumn = cachedRecord.getColumns()[column];
+            try {
+                values[column] = manager.getValue(record, cachedColumn, binding.getPosition(column));
+            } catch (InvalidRecordException e) {
+                if (cachedColumn.isInvalidateOnError()) {
+                    throw e;
+                }
+            }
+            decoded[column] = true;
+        }
+        return values[column];
+    }
+
+    public boolean isDecoded(final int column) {
+        return decoded[column];
+    }
+
+    public int getColumns() {
+        return values.length;
+    }
+
+    /**
+     * Converts all the columns into a new instance, as {@link RecordManager#read(String, Class)} does.
+     */
+    public T toInstance() throws InvalidRecordException {
+        return manager.readSingle(record, clazz, binding);
+    }
+
+    /**
+     * Exposes this record through an interface whose getters are named after the columns,
+     * as <code>getAmount()</code>, <code>isActive()</code> or <code>amount()</code>.
+     * A null value is returned as 0 or false by primitive getters. An InvalidRecordException
+     * is thrown as is by getters declaring it, otherwise it's wrapped in a JfpaException.
+     */
+    public <I> I as(final Class<I> view) {
+        Object proxy = Proxy.newProxyInstance(view.getClassLoader(), new Class<?>[] {view}, new InvocationHandler() {
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if (method.getDeclaringClass() == Object.class) {
+                    return invokeObject(proxy, method, args);
+                }
+                try {
+                    Object value = get(getColumn(method));
+                    return value == null && method.getReturnType().isPrimitive() ? defaultValue(method.getReturnType()) : value;
+                } catch (InvalidRecordException e) {
+                    for (Class<?> exceptionType : method.getExceptionTypes()) {
+                        if (exceptionType.isInstance(e)) {
+                            throw e;
+                        }
+                    }
+                    throw new JfpaException(clazz, e);
+                }
+            }
+        });
+        return view.cast(proxy);
+    }
+
+    private int getColumn(final Method method) {
+        Integer column = cachedRecord.getViewColumn(method);
+        if (column == null) {
+            if (method.getParameterTypes().length > 0) {
+                throw new JfpaException(clazz, "view method must not have parameters: " + method);
+            }
+            column = manager.getColumnIndex(clazz, getPropertyName(method.getName()));
+            cachedRecord.addViewColumn(method, column);
+        }
+        return column;
+    }
+
+    private static String getPropertyName(final String name) {
+        for (String prefix : new String[] {"get", "is"}) {
+            if (name.length() > prefix.length() && name.startsWith(prefix) && Character.isUpperCase(name.charAt(prefix.length()))) {
+                return Character.toLowerCase(name.charAt(prefix.length())) + name.substring(prefix.length() + 1);
+            }
+        }
+        return name;
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+
+    private Object invokeObject(final Object proxy, final Method method, final Object[] args) {
+        if (method.getName().equals("equals")) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        }
+        return toString();
+    }
+
+    @Override
+    public String toString() {
+        return record.toString();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.cache.CachedRecord;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.RecordHandler;
+import org.jfpa.record.PositionalRecordView;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.ByteChars;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reads fixed-length @Positional files in parallel.
+ * The file is memory-mapped in record-aligned chunks which are decoded on a fork-join pool,
+ * every record is followed by a separator of <code>separatorLength</code> characters (0 when records are contiguous),
+ * the separator of the last record is optional.
+ * The charset must encode every character in a single byte, so that record boundaries are known from the lengths alone,
+ * records are parsed from the mapped bytes without decoding them.
+ */
+public class MappedPositionalReader<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 23;
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final Charset charset;
+    private final int separatorLength;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final CachedBinding binding;
+    private final RecordType recordType;
+    private final int recordLength;
+    private final int lineLength;
+
+    public MappedPositionalReader(final RecordManager manager, final Class<T> clazz, final Charset charset, final int separatorLength) {
+        this(manager, clazz, charset, separatorLength, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public MappedPositionalReader(final RecordManager manager, final Class<T> clazz, final Charset charset, final int separatorLength,
+                                  final ForkJoinPool pool, final int chunkSize) {
+        if (manager.recordClassLoader.loadClass(clazz) != Type.SINGLE) {
+            throw new JfpaException(clazz, "class must be @Positional to be used with MappedPositionalReader");
+        }
+        CachedRecord cachedRecord = manager.recordClassLoader.getCachedRecord(clazz);
+        if (cachedRecord.getSeparatorType() != SeparatorType.POSITIONAL) {
+            throw new JfpaException(clazz, "class must be @Positional to be used with MappedPositionalReader");
+        }
+        if (!ByteChars.isSingleByte(charset)) {
+            throw new IllegalArgumentException("Charset must be single byte: " + charset);
+        }
+        if (separatorLength < 0) {
+            throw new IllegalArgumentException("Invalid separator length: " + separatorLength);
+        }
+        this.manager = manager;
+        this.clazz = clazz;
+        this.charset = charset;
+        this.separatorLength = separatorLength;
+        this.pool = pool;
+        this.binding = cachedRecord.getBinding();
+        this.recordType = binding.getRecordType();
+        int[] positions = recordType.getPositions();
+        this.recordLength = positions[positions.length - 1];
+        this.lineLength = recordLength + separatorLength;
+        this.chunkSize = Math.max(chunkSize, lineLength);
+    }
+
+    /**
+     * Reads all the records of the file.
+     * When <code>ordered</code> is true records are handled in file order by the calling thread, otherwise
+     * they are handled by the pool threads as soon as they are decoded and the handler must be thread-safe.
+     */
+    public void read(final Path path, final RecordHandler<T> handler, final boolean ordered) throws IOException, InvalidRecordException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long records = (size + separatorLength) / lineLength;
+            if (records * lineLength != size && records * lineLength - separatorLength != size) {
+                throw new InvalidRecordException(String.format("Invalid file size: %d (expected a multiple of %d)", size, lineLength));
+            }
+            long recordsPerChunk = chunkSize / lineLength;
+            ChunkPipeline<T> pipeline = new ChunkPipeline<T>(pool, clazz, handler);
+            try {
+                for (long next = 0; next < records; next += recordsPerChunk) {
+                    int count = (int) Math.min(recordsPerChunk, records - next);
+                    pipeline.submit(new Chunk(pipeline, channel, size, next, count, ordered ? null : handler));
+                }
+                pipeline.finish();
+            } finally {
+                pipeline.cancel();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private class Chunk implements Callable<List<T>> {
+        private final ChunkPipeline<T> pipeline;
+        private final FileChannel channel;
+        private final long size;
+        private final long first;
+        private final int count;
+        private final RecordHandler<T> handler;
+
+        Chunk(final ChunkPipeline<T> pipeline, final FileChannel channel, final long size, final long first, final int count,
+              final RecordHandler<T> handler) {
+            this.pipeline = pipeline;
+            this.channel = channel;
+            this.size = size;
+            this.first = first;
+            this.count = count;
+            this.handler = handler;
+        }
+
+        public List<T> call() throws IOException, InvalidRecordException {
+            if (pipeline.isAborted()) {
+                return Collections.<T>emptyList();
+            }
+            long position = first * lineLength;
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min((long) count * lineLength, size - position));
+            ByteChars chars = new ByteChars(bytes, charset);
+            List<T> records = handler == null ? new ArrayList<T>(count) : Collections.<T>emptyList();
+            for (int i = 0; i < count && !pipeline.isAborted(); i++) {
+                int start = i * lineLength;
+                T record = manager.readSingle(new PositionalRecordView(recordType, chars, start, start + recordLength), clazz, binding);
+                if (handler == null) {
+                    records.add(record);
+                } else {
+                    handler.handle(record);
+                }
+            }
+            return records;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.cache.CachedRecord;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.RecordHandler;
+import org.jfpa.record.DelimitedRecordView;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.ByteChars;
+import org.jfpa.utility.DelimitedTokenizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reads @Delimited files in parallel.
+ * The file is scanned once to split it in chunks ending on a line feed outside enclosed strings,
+ * so that line feeds embedded in enclosed strings never break a record, chunks are then memory-mapped
+ * and parsed on a fork-join pool. Lines end with "\n" or "\r\n".
+ * The charset must be UTF-8 or single byte, so that line feeds and enclosing strings can be found in the raw bytes.
+ */
+public class ParallelDelimitedReader<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 23;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final Charset charset;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final CachedRecord cachedRecord;
+    private final String delimiter;
+    private final String stringEnclose;
+
+    public ParallelDelimitedReader(final RecordManager manager, final Class<T> clazz, final Charset charset) {
+        this(manager, clazz, charset, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelDelimitedReader(final RecordManager manager, final Class<T> clazz, final Charset charset,
+                                   final ForkJoinPool pool, final int chunkSize) {
+        if (manager.recordClassLoader.loadClass(clazz) != Type.SINGLE) {
+            throw new JfpaException(clazz, "class must be @Delimited to be used with ParallelDelimitedReader");
+        }
+        this.cachedRecord = manager.recordClassLoader.getCachedRecord(clazz);
+        if (cachedRecord.getSeparatorType() != SeparatorType.DELIMITED) {
+            throw new JfpaException(clazz, "class must be @Delimited to be used with ParallelDelimitedReader");
+        }
+        if (!UTF_8.equals(charset) && !ByteChars.isSingleByte(charset)) {
+            throw new IllegalArgumentException("Charset must be UTF-8 or single byte: " + charset);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        this.manager = manager;
+        this.clazz = clazz;
+        this.charset = charset;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.delimiter = cachedRecord.getRecordType().getDelimiter();
+        this.stringEnclose = cachedRecord.getRecordType().getStringEnclose();
+    }
+
+    /**
+     * Reads all the records of the file, when <code>header</code> is true the first line is bound
+     * with {@link RecordManager#bindHeader(Class, String)}.
+     * When <code>ordered</code> is true records are handled in file order by the calling thread, otherwise
+     * they are handled by the pool threads as soon as they are parsed and the handler must be thread-safe.
+     */
+    public void read(final Path path, final RecordHandler<T> handler, final boolean header, final boolean ordered) throws IOException, InvalidRecordException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ChunkPipeline<T> pipeline = new ChunkPipeline<T>(pool, clazz, handler);
+            RecordHandler<T> chunkHandler = ordered ? null : handler;
+            try {
+                CachedBinding binding = header ? null : cachedRecord.getBinding();
+                ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+                byte[] bytes = buffer.array();
+                RecordEndScanner scanner = RecordEndScanner.forBytes(delimiter, stringEnclose, charset);
+                long chunkStart = 0;
+                long position = 0;
+                int read;
+                while ((read = channel.read(buffer, position)) >= 0) {
+                    for (int i = 0; i < read; i++) {
+                        if (scanner.isRecordEnd(bytes[i] & 0xFF)) {
+                            long end = position + i + 1;
+                            if (binding == null) {
+                                binding = manager.bindHeader(clazz, decodeLine(channel, chunkStart, end)).getBinding();
+                                chunkStart = end;
+                            } else if (end - chunkStart >= chunkSize) {
+                                pipeline.submit(new Chunk(pipeline, channel, chunkStart, end, binding, chunkHandler));
+                                chunkStart = end;
+                            }
+                        }
+                    }
+                    position += read;
+                    buffer.clear();
+                }
+                if (position > chunkStart) {
+                    if (binding == null) {
+                        manager.bindHeader(clazz, decodeLine(channel, chunkStart, position));
+                    } else {
+                        pipeline.submit(new Chunk(pipeline, channel, chunkStart, position, binding, chunkHandler));
+                    }
+                }
+                pipeline.finish();
+            } finally {
+                pipeline.cancel();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private String decodeLine(final FileChannel channel, final long start, final long end) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+        while (bytes.hasRemaining() && channel.read(bytes, start + bytes.position()) >= 0) {
+            // read the whole line
+        }
+        bytes.flip();
+        CharBuffer chars = charset.newDecoder().decode(bytes);
+        return chars.subSequence(0, lineEnd(chars, 0, chars.length())).toString();
+    }
+
+    private static int lineEnd(final CharSequence chars, final int start, int end) {
+        if (end > start && chars.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && chars.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return end;
+    }
+
+    private class Chunk implements Callable<List<T>> {
+        private final ChunkPipeline<T> pipeline;
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final CachedBinding binding;
+        private final RecordHandler<T> handler;
+
+        Chunk(final ChunkPipeline<T> pipeline, final FileChannel channel, final long start, final long end,
+              final CachedBinding binding, final RecordHandler<T> handler) {
+            this.pipeline = pipeline;
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.binding = binding;
+            this.handler = handler;
+        }
+
+        public List<T> call() throws IOException, InvalidRecordException {
+            if (pipeline.isAborted()) {
+                return Collections.<T>emptyList();
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            CharBuffer chars = charset.newDecoder().decode(bytes);
+            RecordType recordType = binding.getRecordType();
+            DelimitedTokenizer tokenizer = new DelimitedTokenizer(delimiter, stringEnclose, recordType.getColumns());
+            List<T> records = handler == null ? new ArrayList<T>() : Collections.<T>emptyList();
+            RecordEndScanner scanner = RecordEndScanner.forChars(delimiter, stringEnclose);
+            int lineStart = 0;
+            int length = chars.length();
+            for (int i = 0; i < length; i++) {
+                if (scanner.isRecordEnd(chars.charAt(i))) {
+                    if (pipeline.isAborted()) {
+                        return records;
+                    }
+                    readLine(chars, lineStart, i + 1, recordType, tokenizer, records);
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < length && !pipeline.isAborted()) {
+                readLine(chars, lineStart, length, recordType, tokenizer, records);
+            }
+            return records;
+        }
+
+        private void readLine(final CharBuffer chars, final int lineStart, final int lineEnd, final RecordType recordType,
+                              final DelimitedTokenizer tokenizer, final List<T> records) throws InvalidRecordException {
+            DelimitedRecordView view = new DelimitedRecordView(recordType, chars, lineStart, lineEnd(chars, lineStart, lineEnd), tokenizer);
+            T record = manager.readSingle(view, clazz, binding);
+            if (handler == null) {
+                records.add(record);
+            } else {
+                handler.handle(record);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.exception.InvalidRecordException;
+
+/**
+ * Reads only a subset of the columns of a record, see {@link RecordManager#project(Class, String...)}.
+ * Projections are immutable and can be shared between threads.
+ */
+public final class Projection<T> {
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final CachedBinding binding;
+
+    Projection(final RecordManager manager, final Class<T> clazz, final CachedBinding binding) {
+        this.manager = manager;
+        this.clazz = clazz;
+        this.binding = binding;
+    }
+
+    public T read(final String line) throws InvalidRecordException {
+        return manager.readSingle(line, clazz, binding);
+    }
+
+    /**
+     * Only projected fields are overwritten.
+     * @see RecordManager#readInto(String, Object)
+     */
+    public T readInto(final String line, final T target) throws InvalidRecordException {
+        return manager.readSingle(line, clazz, binding, target);
+    }
+
+    public Class<T> getRecordClass() {
+        return clazz;
+    }
+}
@@ -16,17 +16,23 @@
 
 package org.jfpa.manager;
 
+import org.jfpa.accessor.Accessors;
 import org.jfpa.annotation.*;
 import org.jfpa.cache.CachedColumn;
 import org.jfpa.cache.CachedMultipleRecord;
 import org.jfpa.cache.CachedRecord;
 import org.jfpa.cache.CachedSubRecord;
+import org.jfpa.cache.CachedWrappedColumns;
 import org.jfpa.exception.JfpaException;
 import org.jfpa.interfaces.Converter;
+import org.jfpa.interfaces.FieldAccessor;
 import org.jfpa.interfaces.MultipleRecordValidator;
 import org.jfpa.interfaces.RecordValidator;
 import org.jfpa.interfaces.TypeExtractor;
+import org.jfpa.type.BinaryFormat;
 import org.jfpa.type.RecordType;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.DecimalCodec;
 import org.jfpa.utility.Utility;
 
 import java.lang.annotation.Annotation;
@@ -34,14 +40,20 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class RecordClassLoader {
 
-    private final Map<Class, Type> knownClasses = new HashMap<Class, Type>();
-    private final Map<Class, CachedRecord> singleClasses = new HashMap<Class, CachedRecord>();
-    private final Map<Class, CachedMultipleRecord> multipleClasses = new HashMap<Class, CachedMultipleRecord>();
-    private final Map<RecordType, Class> typeClasses = new HashMap<RecordType, Class>();
-    private final Map<Class, TypeExtractor> extractors = new HashMap<Class, TypeExtractor>();
+    /*
+     * Cached records are fully built before being published in these maps and never change afterwards,
+     * so once a class is known it can be read without locking. knownClasses is always written last.
+     */
+    private final ConcurrentMap<Class, Type> knownClasses = new ConcurrentHashMap<Class, Type>();
+    private final ConcurrentMap<Class, CachedRecord> singleClasses = new ConcurrentHashMap<Class, CachedRecord>();
+    private final ConcurrentMap<Class, CachedMultipleRecord> multipleClasses = new ConcurrentHashMap<Class, CachedMultipleRecord>();
+    private final ConcurrentMap<RecordType, Class> typeClasses = new ConcurrentHashMap<RecordType, Class>();
+    private final ConcurrentMap<Class, TypeExtractor> extractors = new ConcurrentHashMap<Class, TypeExtractor>();
 
     private final String defaultDateFormat;
     private final String[] defaultBooleanFormat;
@@ -51,7 +63,15 @@ public class RecordClassLoader {
         this.defaultBooleanFormat = defaultBooleanFormat;
     }
 
-    public final synchronized <T> Type loadClass(Class<T> clazz) {
+    public final <T> Type loadClass(Class<T> clazz) {
+        Type type = knownClasses.get(clazz);
+        return type != null ? type : loadNewClass(clazz);
+    }
+
+    /*
+     * Loading is serialized, it happens only once per class and may recursively load sub records.
+     */
+    private synchronized <T> Type loadNewClass(Class<T> clazz) {
         try {
             Type type = knownClasses.get(clazz);
             if (type == null) {
@@ -195,13 +215,14 @@ public class RecordClassLoader {
         Map<String, CachedColumn> mapNames = new LinkedHashMap<String, CachedColumn>();
         List<Method> postReadMethods = new ArrayList<Method>();
         List<Method> preWriteMethods = new ArrayList<Method>();
-        loadColumns(clazz, mapColumns, mapWrappedClasses, mapNames, null);
+        List<CachedWrappedColumns> wrappedColumns = new ArrayList<CachedWrappedColumns>();
+        loadColumns(clazz, mapColumns, mapWrappedClasses, wrappedColumns, mapNames, null, null);
         loadMethods(clazz, postReadMethods, preWriteMethods);
-        return new CachedRecord(mapColumns, mapWrappedClasses, mapNames, postReadMethods, preWriteMethods);
+        return new CachedRecord(mapColumns, mapWrappedClasses, mapNames, postReadMethods, preWriteMethods, Accessors.forClass(clazz), wrappedColumns);
     }
 
-    private void loadColumns(Class<?> clazz, Map<Field, CachedColumn> mapColumns, Map<Field, Class> mapWrappedClasses,
-                             Map<String, CachedColumn> mapNames, Field parentField) {
+    private void loadColumns(Class<?> clazz, Map<Field, CachedColumn> mapColumns, Map<Field, Class> mapWrappedClasses, List<CachedWrappedColumns> cachedWrappedColumns,
+                             Map<String, CachedColumn> mapNames, Field parentField, FieldAccessor parentAccessor) {
         for (Field field : clazz.getDeclaredFields()) {
             field.setAccessible(true);
             Class columnClass = field.getType();
@@ -220,7 +241,11 @@ public class RecordClassLoader {
                     }
                     columnType = ColumnType.CUSTOM;
                 }
-                CachedColumn cachedColumn = new CachedColumn(field.getName(), textColumn.name(), columnType, textColumn.offset(), textColumn.invalidateOnError(), parentField);
+                if (columnType == ColumnType.PRIMITIVE_LONG && textColumn.scale() >= 0) {
+                    columnType = ColumnType.MINOR_UNITS;
+                }
+                CachedColumn cachedColumn = new CachedColumn(field.getName(), textColumn.name(), columnType, textColumn.offset(), textColumn.invalidateOnError(),
+                        parentField, Accessors.forField(field), parentAccessor);
                 cachedColumn.setLength(textColumn.length());
                 boolean hasBooleanFormat = textColumn.booleanFormat().length > 0;
                 boolean hasDateFormat = !Utility.isEmpty(textColumn.dateFormat());
@@ -240,8 +265,21 @@ public class RecordClassLoader {
                         }
                         break;
                     case DATE:
+                    case LOCAL_DATE:
+                    case LOCAL_DATE_TIME:
+                    case INSTANT:
                         cachedColumn.setFormat(hasDateFormat ? textColumn.dateFormat() : defaultDateFormat);
                         break;
+                    case BIG_DECIMAL:
+                    case MINOR_UNITS:
+                        cachedColumn.setDecimalCodec(getDecimalCodec(clazz, field, textColumn));
+                        break;
+                    case CUSTOM:
+                        cachedColumn.setConverterInstantiator(Accessors.forClass((Class<?>) columnClass));
+                        break;
+                }
+                if (textColumn.binaryFormat() != BinaryFormat.TEXT) {
+                    cachedColumn.setBinaryCodec(getBinaryCodec(clazz, field, textColumn, columnType));
                 }
                 mapColumns.put(field, cachedColumn);
                 if (!textColumn.name().isEmpty()) {
@@ -251,12 +289,48 @@ public class RecordClassLoader {
                 if (parentField != null) {
                     throw new JfpaException(clazz, "Nested @WrappedColumns are not allowed");
                 }
+                FieldAccessor accessor = Accessors.forField(field);
                 mapWrappedClasses.put(field, columnClass);
-                loadColumns(columnClass, mapColumns, mapWrappedClasses, mapNames, field);
+                cachedWrappedColumns.add(new CachedWrappedColumns(accessor, Accessors.forClass((Class<?>) columnClass)));
+                loadColumns(columnClass, mapColumns, mapWrappedClasses, cachedWrappedColumns, mapNames, field, accessor);
             }
         }
     }
 
+    private DecimalCodec getDecimalCodec(Class<?> clazz, Field field, TextColumn textColumn) {
+        String separator = textColumn.decimalSeparator();
+        if (separator.length() > 1) {
+            throw new JfpaException(clazz, "Invalid decimalSeparator '" + separator + "' for @TextColumn '" + field.getName() + "', should be a single char");
+        }
+        if (textColumn.scale() < 0 && !textColumn.impliedDecimal() && separator.isEmpty()) {
+            return DecimalCodec.DEFAULT;
+        }
+        try {
+            return new DecimalCodec(textColumn.scale(), textColumn.impliedDecimal(), separator.isEmpty() ? 0 : separator.charAt(0));
+        } catch (IllegalArgumentException e) {
+            throw new JfpaException(clazz, "Invalid decimal format for @TextColumn '" + field.getName() + "': " + e.getMessage());
+        }
+    }
+
+    private BinaryCodec getBinaryCodec(Class<?> clazz, Field field, TextColumn textColumn, ColumnType columnType) {
+        switch (columnType) {
+            case INTEGER:
+            case PRIMITIVE_INT:
+            case LONG:
+            case PRIMITIVE_LONG:
+            case MINOR_UNITS:
+            case BIG_DECIMAL:
+                break;
+            default:
+                throw new JfpaException(clazz, "Invalid binaryFormat for @TextColumn '" + field.getName() + "', supported only by int, long and BigDecimal columns");
+        }
+        BinaryCodec codec = new BinaryCodec(textColumn.binaryFormat(), Math.max(textColumn.scale(), 0));
+        if (codec.getMaxLength() > 0 && textColumn.length() > codec.getMaxLength()) {
+            throw new JfpaException(clazz, "Invalid length for @TextColumn '" + field.getName() + "': " + textColumn.binaryFormat() + " supports up to " + codec.getMaxLength() + " bytes");
+        }
+        return codec;
+    }
+
     private void loadMethods(Class<?> clazz, List<Method> postReadMethods, List<Method> preWriteMethods) {
         for (Method method : clazz.getDeclaredMethods()) {
             checkMethodAnnotation(clazz, method, PostRead.class, postReadMethods);
@@ -310,7 +384,7 @@ public class RecordClassLoader {
                 field.setAccessible(true);
                 RecordType recordType = new RecordType(subRecord.type(), singleClasses.get(typeClass).getRecordType());
                 mapTypes.put(subRecord.type(), recordType);
-                CachedSubRecord cachedSubRecord = new CachedSubRecord(field, typeClass, recordType, isList);
+                CachedSubRecord cachedSubRecord = new CachedSubRecord(field, typeClass, recordType, isList, Accessors.forField(field));
                 mapFields.put(recordType, cachedSubRecord);
                 if (firsts.isEmpty() || subRecord.first()) {
                     firsts.add(cachedSubRecord);
@@ -318,7 +392,7 @@ public class RecordClassLoader {
                 typeClasses.put(recordType, typeClass);
             }
         }
-        return new CachedMultipleRecord(mapTypes, mapFields, firsts);
+        return new CachedMultipleRecord(mapTypes, mapFields, firsts, Accessors.forClass((Class<?>) clazz));
     }
 
     private TypeExtractor loadTypeExtractor(Class clazz) throws IllegalAccessException, InstantiationException {
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import java.nio.charset.Charset;
+
+/**
+ * Finds the line feeds ending delimited records, fed one char or byte at a time.
+ * Line feeds inside an enclosed string don't end the record, with the rule of
+ * {@link org.jfpa.utility.DelimitedTokenizer#columnEnd}: a string is enclosed only when the
+ * enclose opens the column, and it's closed only by an enclose followed by the delimiter
+ * or the end of the line. Not thread-safe.
+ */
+final class RecordEndScanner {
+
+    private final int[] delimiter;
+    private final int[] enclose;
+
+    private boolean enclosed;
+    private boolean closing;
+    private boolean carriageReturn;
+    private int opening;
+    private int encloseMatched;
+    private int delimiterMatched;
+
+    private RecordEndScanner(final int[] delimiter, final int[] enclose) {
+        this.delimiter = delimiter;
+        this.enclose = enclose;
+    }
+
+    static RecordEndScanner forChars(final String delimiter, final String enclose) {
+        return new RecordEndScanner(toUnits(delimiter.toCharArray()), enclose == null ? null : toUnits(enclose.toCharArray()));
+    }
+
+    /**
+     * The charset must encode the line feed, delimiter and enclose as bytes not found inside other characters.
+     */
+    static RecordEndScanner forBytes(final String delimiter, final String enclose, final Charset charset) {
+        return new RecordEndScanner(toUnits(delimiter.getBytes(charset)), enclose == null ? null : toUnits(enclose.getBytes(charset)));
+    }
+
+    private static int[] toUnits(final char[] chars) {
+        int[] units = new int[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            units[i] = chars[i];
+        }
+        return units;
+    }
+
+    private static int[] toUnits(final byte[] bytes) {
+        int[] units = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            units[i] = bytes[i] & 0xFF;
+        }
+        return units;
+    }
+
+    /**
+     * @param c the next char, or byte as an unsigned value
+     * @return true if c is the line feed ending the record
+     */
+    boolean isRecordEnd(final int c) {
+        if (enclose == null) {
+            return c == '\n';
+        }
+        if (enclosed) {
+            if (closing) {
+                if (c == '\n') {
+                    startRecord();
+                    return true;
+                }
+                if (c == '\r' && !carriageReturn && delimiterMatched == 0) {
+                    carriageReturn = true;
+                    return false;
+                }
+                if (!carriageReturn && c == delimiter[delimiterMatched]) {
+                    if (++delimiterMatched == delimiter.length) {
+                        enclosed = false;
+                        closing = false;
+                        startColumn();
+                    }
+                    return false;
+                }
+                closing = false;
+                carriageReturn = false;
+                delimiterMatched = 0;
+            }
+            if (c == enclose[encloseMatched]) {
+                if (++encloseMatched == enclose.length) {
+                    closing = true;
+                    encloseMatched = 0;
+                }
+            } else {
+                encloseMatched = c == enclose[0] ? 1 : 0;
+            }
+            return false;
+        }
+        if (c == '\n') {
+            startRecord();
+            return true;
+        }
+        if (opening >= 0) {
+            if (c == enclose[opening]) {
+                if (++opening == enclose.length) {
+                    enclosed = true;
+                    opening = -1;
+                    delimiterMatched = 0;
+                    return false;
+                }
+            } else {
+                opening = -1;
+            }
+        }
+        if (c == delimiter[delimiterMatched]) {
+            if (++delimiterMatched == delimiter.length) {
+                startColumn();
+            }
+        } else {
+            delimiterMatched = c == delimiter[0] ? 1 : 0;
+        }
+        return false;
+    }
+
+    private void startRecord() {
+        enclosed = false;
+        closing = false;
+        carriageReturn = false;
+        encloseMatched = 0;
+        startColumn();
+    }
+
+    private void startColumn() {
+        opening = 0;
+        delimiterMatched = 0;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.CharRecord;
+import org.jfpa.record.DelimitedRecordView;
+import org.jfpa.record.PositionalRecordView;
+
+/**
+ * Rejects lines by testing {@link ColumnPredicate}s on the raw column ranges, before any conversion
+ * or instantiation: positional columns are located by their offsets and delimited lines are
+ * tokenized only up to the last filtered column. All conditions must match for a line to be accepted.
+ * Filters are immutable and can be shared between threads.
+ */
+public final class RecordFilter<T> {
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final SeparatorType separatorType;
+    private final CachedBinding binding;
+    private final CachedBinding readBinding;
+    private final int[] positions;
+    private final ColumnPredicate[] predicates;
+    private final int limit;
+
+    RecordFilter(final RecordManager manager, final Class<T> clazz, final SeparatorType separatorType, final CachedBinding binding) {
+        this(manager, clazz, separatorType, binding, binding, new int[0], new ColumnPredicate[0]);
+    }
+
+    private RecordFilter(final RecordManager manager, final Class<T> clazz, final SeparatorType separatorType, final CachedBinding binding,
+                         final CachedBinding readBinding, final int[] positions, final ColumnPredicate[] predicates) {
+        this.manager = manager;
+        this.clazz = clazz;
+        this.separatorType = separatorType;
+        this.binding = binding;
+        this.readBinding = readBinding;
+        this.positions = positions;
+        this.predicates = predicates;
+        int last = 0;
+        for (int position : positions) {
+            last = Math.max(last, position + 1);
+        }
+        this.limit = Math.max(last, 1);
+    }
+
+    /**
+     * @param column field or column name
+     * @return a new filter with the additional condition
+     */
+    public RecordFilter<T> where(final String column, final ColumnPredicate predicate) {
+        int length = positions.length;
+        int[] newPositions = new int[length + 1];
+        ColumnPredicate[] newPredicates = new ColumnPredicate[length + 1];
+        System.arraycopy(positions, 0, newPositions, 0, length);
+        System.arraycopy(predicates, 0, newPredicates, 0, length);
+        newPositions[length] = binding.getPosition(manager.getColumnIndex(clazz, column));
+        newPredicates[length] = predicate;
+        return new RecordFilter<T>(manager, clazz, separatorType, binding, readBinding, newPositions, newPredicates);
+    }
+
+    /**
+     * @return a new filter reading only the given columns of accepted lines
+     * @see RecordManager#project(Class, String...)
+     */
+    public RecordFilter<T> project(final String... fields) {
+        return new RecordFilter<T>(manager, clazz, separatorType, binding, manager.projectBinding(clazz, binding, fields), positions, predicates);
+    }
+
+    public boolean accept(final String line) throws InvalidRecordException {
+        return accept(view(line, limit));
+    }
+
+    /**
+     * @return the record read from line, or null if the line is rejected
+     */
+    public T read(final String line) throws InvalidRecordException {
+        return readInto(line, null);
+    }
+
+    /**
+     * @return target filled from line, or null if the line is rejected and target is untouched
+     * @see RecordManager#readInto(String, Object)
+     */
+    public T readInto(final String line, final T target) throws InvalidRecordException {
+        CharRecord record = view(line, limit);
+        if (!accept(record)) {
+            return null;
+        }
+        if (separatorType == SeparatorType.DELIMITED && readBinding.getLimit() > limit) {
+            record = view(line, readBinding.getLimit());
+        }
+        return manager.readSingle(record, clazz, readBinding, target);
+    }
+
+    public Class<T> getRecordClass() {
+        return clazz;
+    }
+
+    private boolean accept(final CharRecord record) throws InvalidRecordException {
+        CharSequence chars = record.getChars();
+        for (int i = 0; i < predicates.length; i++) {
+            if (!predicates[i].test(chars, record.getValueStart(positions[i]), record.getValueEnd(positions[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CharRecord view(final String line, final int columns) throws InvalidRecordException {
+        CharRecord record = null;
+        switch (separatorType) {
+            case POSITIONAL:
+                record = new PositionalRecordView(readBinding.getRecordType(), line);
+                break;
+            case DELIMITED:
+                record = new DelimitedRecordView(readBinding.getRecordType(), line, columns);
+        }
+        return record;
+    }
+}
@@ -16,25 +16,52 @@
 
 package org.jfpa.manager;
 
+import org.jfpa.cache.CachedBinding;
 import org.jfpa.cache.CachedColumn;
 import org.jfpa.cache.CachedMultipleRecord;
 import org.jfpa.cache.CachedRecord;
 import org.jfpa.cache.CachedSubRecord;
+import org.jfpa.cache.CachedWrappedColumns;
 import org.jfpa.exception.InvalidMultipleRecordException;
 import org.jfpa.exception.InvalidRecordException;
 import org.jfpa.exception.JfpaException;
 import org.jfpa.interfaces.*;
 import org.jfpa.record.DelimitedRecord;
+import org.jfpa.record.DelimitedRecordView;
 import org.jfpa.record.PositionalRecord;
+import org.jfpa.record.PositionalRecordView;
 import org.jfpa.type.RecordType;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.ByteChars;
+import org.jfpa.utility.ChannelReader;
+import org.jfpa.utility.ChannelWriter;
+import org.jfpa.utility.DelimitedTokenizer;
 import org.jfpa.utility.Formats;
+import org.jfpa.utility.LineReader;
 import org.jfpa.utility.Utility;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class RecordManager {
 
@@ -65,52 +92,158 @@ public class RecordManager {
     }
 
     private <T> T createHeader(Class<T> clazz) {
-        try {
-            T instance = clazz.newInstance();
-            CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
-            for (Map.Entry<Field, CachedColumn> entry : cachedRecord.getMapColumns().entrySet()) {
-                Field field = entry.getKey();
-                CachedColumn cachedColumn = entry.getValue();
-                field.set(instance, cachedColumn.getName());
-            }
-            return instance;
-        } catch (IllegalAccessException e) {
-            throw new JfpaException(clazz, e);
-        } catch (InstantiationException e) {
-            throw new JfpaException(clazz, e);
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
+        T instance = clazz.cast(cachedRecord.getInstantiator().newInstance());
+        for (CachedColumn cachedColumn : cachedRecord.getMapColumns().values()) {
+            cachedColumn.getAccessor().set(instance, cachedColumn.getName());
         }
+        return instance;
     }
 
+    /**
+     * Maps the columns of clazz to the positions found in header, for every following read and write of this manager.
+     * Use {@link #bindHeader(Class, String)} to process files with different headers at the same time.
+     */
     public <T> void mapFromHeader(Class<T> clazz, String header) throws InvalidRecordException {
+        CachedBinding binding = bindHeader(clazz, header).getBinding();
+        recordClassLoader.getCachedRecord(clazz).setBinding(binding);
+    }
+
+    public final <T> HeaderBinding<T> bindHeader(Class<T> clazz, String header) throws InvalidRecordException {
         Type type = recordClassLoader.loadClass(clazz);
-        switch (type) {
-            case SINGLE:
-                CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
-                Map<String, CachedColumn> mapNames = cachedRecord.getMapNames();
-                Map<Field, CachedColumn> mapColumns = cachedRecord.getMapColumns();
-                if (mapNames.size() < mapColumns.size()) {
-                    mapColumns.values().removeAll(mapNames.values());
-                    throw new JfpaException("unable to map from header, record contains unnamed columns: " + mapColumns.values());
-                }
-                FlatRecord record = getFlatRecord(header, cachedRecord.getSeparatorType(), cachedRecord.getRecordType());
-                Set<String> found = new LinkedHashSet<String>();
-                for (int i = 0; i < record.getColumns(); i++) {
-                    String name = record.getString(i);
-                    CachedColumn cachedColumn = mapNames.get(name);
-                    if (cachedColumn != null) {
-                        cachedColumn.setPosition(i);
-                        found.add(name);
-                    }
-                }
-                if (found.size() < mapNames.size()) {
-                    Set<String> missing = new LinkedHashSet<String>(mapNames.keySet());
-                    missing.removeAll(found);
-                    throw new InvalidRecordException("not all columns have been mapped from header: " + missing);
+        if (type == Type.MULTIPLE) {
+            throw new JfpaException("header mapping for Multiple record type is not supported");
+        }
+        if (header == null) {
+            throw new InvalidRecordException("Record string is null");
+        }
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
+        CachedBinding binding = cachedRecord.getHeaderBinding(header);
+        if (binding == null) {
+            binding = cachedRecord.addHeaderBinding(header, mapHeader(cachedRecord, header));
+        }
+        return new HeaderBinding<T>(this, clazz, binding);
+    }
+
+    /**
+     * Binds only the given columns of clazz, named by field or column name, so the other
+     * columns are neither parsed nor converted: positional records skip their ranges and
+     * delimited records are tokenized only up to the last projected column.
+     * Fields not projected are left untouched, so validators and @PostRead methods,
+     * which may depend on them, are not invoked on projected instances.
+     */
+    public final <T> Projection<T> project(Class<T> clazz, String... fields) {
+        Type type = recordClassLoader.loadClass(clazz);
+        if (type == Type.MULTIPLE) {
+            throw new JfpaException("projection for Multiple record type is not supported");
+        }
+        return project(clazz, recordClassLoader.getCachedRecord(clazz).getBinding(), fields);
+    }
+
+    /**
+     * Projects the columns of clazz having the same name of a field declared by view.
+     * @see #project(Class, String...)
+     */
+    public final <T> Projection<T> project(Class<T> clazz, Class<?> view) {
+        List<String> fields = new ArrayList<String>();
+        for (Field field : view.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.add(field.getName());
+            }
+        }
+        return project(clazz, fields.toArray(new String[fields.size()]));
+    }
+
+    final <T> Projection<T> project(Class<T> clazz, CachedBinding binding, String... fields) {
+        return new Projection<T>(this, clazz, projectBinding(clazz, binding, fields));
+    }
+
+    final CachedBinding projectBinding(Class<?> clazz, CachedBinding binding, String... fields) {
+        if (fields.length == 0) {
+            throw new JfpaException(clazz, "projection requires at least one column");
+        }
+        CachedColumn[] columns = recordClassLoader.getCachedRecord(clazz).getColumns();
+        boolean[] selected = new boolean[columns.length];
+        for (String field : fields) {
+            boolean found = false;
+            for (int i = 0; i < columns.length; i++) {
+                if (field.equals(columns[i].getFieldName()) || field.equals(columns[i].getName())) {
+                    selected[i] = true;
+                    found = true;
                 }
-                break;
-            case MULTIPLE:
-                throw new JfpaException("header mapping for Multiple record type is not supported");
+            }
+            if (!found) {
+                throw new JfpaException(clazz, "unknown column in projection: " + field);
+            }
+        }
+        return binding.project(selected);
+    }
+
+    /**
+     * Creates an empty filter for clazz, conditions are added with {@link RecordFilter#where(String, ColumnPredicate)}.
+     */
+    public final <T> RecordFilter<T> filter(Class<T> clazz) {
+        Type type = recordClassLoader.loadClass(clazz);
+        if (type == Type.MULTIPLE) {
+            throw new JfpaException("filter for Multiple record type is not supported");
+        }
+        return filter(clazz, recordClassLoader.getCachedRecord(clazz).getBinding());
+    }
+
+    final <T> RecordFilter<T> filter(Class<T> clazz, CachedBinding binding) {
+        return new RecordFilter<T>(this, clazz, recordClassLoader.getCachedRecord(clazz).getSeparatorType(), binding);
+    }
+
+    /**
+     * @return the index in {@link CachedRecord#getColumns()} of the column named by field or column name
+     */
+    final int getColumnIndex(Class<?> clazz, String name) {
+        CachedColumn[] columns = recordClassLoader.getCachedRecord(clazz).getColumns();
+        for (int i = 0; i < columns.length; i++) {
+            if (name.equals(columns[i].getFieldName()) || name.equals(columns[i].getName())) {
+                return i;
+            }
+        }
+        throw new JfpaException(clazz, "unknown column: " + name);
+    }
+
+    private CachedBinding mapHeader(CachedRecord cachedRecord, String header) throws InvalidRecordException {
+        CachedColumn[] columns = cachedRecord.getColumns();
+        Map<String, CachedColumn> mapNames = cachedRecord.getMapNames();
+        if (mapNames.size() < columns.length) {
+            List<CachedColumn> unnamed = new ArrayList<CachedColumn>(Arrays.asList(columns));
+            unnamed.removeAll(mapNames.values());
+            throw new JfpaException("unable to map from header, record contains unnamed columns: " + unnamed);
+        }
+        RecordType recordType = cachedRecord.getRecordType();
+        FlatRecord record = getFlatRecord(header, cachedRecord.getSeparatorType(), recordType);
+        Map<String, Integer> found = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < record.getColumns(); i++) {
+            String name = record.getString(i);
+            if (mapNames.containsKey(name)) {
+                found.put(name, i);
+            }
+        }
+        if (found.size() < mapNames.size()) {
+            Set<String> missing = new LinkedHashSet<String>(mapNames.keySet());
+            missing.removeAll(found.keySet());
+            throw new InvalidRecordException("not all columns have been mapped from header: " + missing);
+        }
+        int[] positions = new int[columns.length];
+        int size = recordType.getColumns() != null ? recordType.getColumns() : 0;
+        for (int i = 0; i < columns.length; i++) {
+            positions[i] = found.get(columns[i].getName());
+            size = Math.max(size, positions[i] + 1);
+        }
+        if (cachedRecord.getSeparatorType() == SeparatorType.DELIMITED) {
+            int[] lengths = new int[size];
+            Arrays.fill(lengths, -1);
+            for (int i = 0; i < columns.length; i++) {
+                lengths[positions[i]] = columns[i].getLength();
+            }
+            recordType = new RecordType(recordType.getDelimiter(), size, recordType.getStringEnclose(), lengths);
         }
+        return new CachedBinding(positions, recordType);
     }
 
     public final <T> T read(String line, Class<T> clazz) throws InvalidRecordException {
@@ -126,6 +259,82 @@ public class RecordManager {
         return t;
     }
 
+    /**
+     * Reads a record from bytes. When charset is single byte the bytes are not decoded as a whole,
+     * see {@link ByteChars}: positional offsets are byte offsets, numbers are parsed from the bytes
+     * and Strings are created only for String columns. Other charsets are decoded to a String first.
+     */
+    public final <T> T read(byte[] bytes, int offset, int length, Charset charset, Class<T> clazz) throws InvalidRecordException {
+        if (!ByteChars.isSingleByte(charset)) {
+            return read(new String(bytes, offset, length, charset), clazz);
+        }
+        return read(new ByteChars(bytes, offset, length, charset), clazz);
+    }
+
+    /**
+     * Reads a record from the remaining bytes of buffer, without changing its position.
+     * @see #read(byte[], int, int, Charset, Class)
+     */
+    public final <T> T read(ByteBuffer buffer, Charset charset, Class<T> clazz) throws InvalidRecordException {
+        if (!ByteChars.isSingleByte(charset)) {
+            return read(charset.decode(buffer.duplicate()).toString(), clazz);
+        }
+        return read(new ByteChars(buffer, charset), clazz);
+    }
+
+    private <T> T read(ByteChars chars, Class<T> clazz) throws InvalidRecordException {
+        if (recordClassLoader.loadClass(clazz) == Type.MULTIPLE) {
+            return read(chars.toString(), clazz);
+        }
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
+        CachedBinding binding = cachedRecord.getBinding();
+        return readSingle(getFlatRecord(chars, cachedRecord.getSeparatorType(), binding.getRecordType()), clazz, binding);
+    }
+
+    /**
+     * Returns a record backed by line whose columns are converted only when read, see {@link LazyRecord}.
+     * Validators and post read methods are invoked only by {@link LazyRecord#toInstance()}.
+     */
+    public final <T> LazyRecord<T> readLazy(String line, Class<T> clazz) throws InvalidRecordException {
+        Type type = recordClassLoader.loadClass(clazz);
+        if (type == Type.MULTIPLE) {
+            throw new JfpaException("lazy read for Multiple record type is not supported");
+        }
+        return readLazy(line, clazz, recordClassLoader.getCachedRecord(clazz).getBinding());
+    }
+
+    final <T> LazyRecord<T> readLazy(String line, Class<T> clazz, CachedBinding binding) throws InvalidRecordException {
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
+        FlatRecord record = getFlatRecord(line, cachedRecord.getSeparatorType(), binding.getRecordType());
+        return new LazyRecord<T>(this, clazz, cachedRecord, binding, record);
+    }
+
+    /**
+     * Reads the line into an existing instance instead of creating a new one,
+     * so the same instance can be reused for each line. All mapped columns are
+     * overwritten, wrapped and sub record instances already set are reused.
+     *
+     * @return the target instance
+     */
+    public final <T> T readInto(String line, T target) throws InvalidRecordException {
+        @SuppressWarnings("unchecked")
+        Class<T> clazz = (Class<T>) target.getClass();
+        return readInto(line, target, clazz);
+    }
+
+    private <T> T readInto(String line, Object target, Class<T> clazz) throws InvalidRecordException {
+        T instance = clazz.cast(target);
+        Type type = recordClassLoader.loadClass(clazz);
+        switch (type) {
+            case SINGLE:
+                readSingle(line, clazz, recordClassLoader.getCachedRecord(clazz).getBinding(), instance);
+                break;
+            case MULTIPLE:
+                readMultipleInto(line, instance);
+        }
+        return instance;
+    }
+
     public final String write(Object instance) throws InvalidRecordException {
         Class<?> clazz = instance.getClass();
         Type type = recordClassLoader.loadClass(clazz);
@@ -140,14 +349,72 @@ public class RecordManager {
         return s;
     }
 
-    protected final FlatRecord getFlatRecord(String line, SeparatorType separatorType, RecordType recordType) throws InvalidRecordException {
+    /**
+     * Reads records of clazz from reader, one per line. When header is true the first line is used to bind the columns.
+     */
+    public final <T> RecordReader<T> reader(Reader reader, Class<T> clazz, boolean header) {
+        recordClassLoader.loadClass(clazz);
+        return new RecordReader<T>(this, clazz, new LineReader(reader), header);
+    }
+
+    public final <T> RecordReader<T> reader(ReadableByteChannel channel, Charset charset, Class<T> clazz, boolean header) {
+        return reader(new ChannelReader(channel, charset), clazz, header);
+    }
+
+    public final <T> ColumnBatchReader<T> batchReader(Reader reader, Class<T> clazz, boolean header, int batchLength) {
+        return new ColumnBatchReader<T>(this, clazz, new LineReader(reader), header, batchLength);
+    }
+
+    public final <T> ColumnBatchReader<T> batchReader(ReadableByteChannel channel, Charset charset, Class<T> clazz, boolean header, int batchLength) {
+        return batchReader(new ChannelReader(channel, charset), clazz, header, batchLength);
+    }
+
+    public final <T> Stream<T> stream(Reader reader, Class<T> clazz, boolean header) {
+        return reader(reader, clazz, header).stream();
+    }
+
+    public final <T> Stream<T> stream(ReadableByteChannel channel, Charset charset, Class<T> clazz, boolean header) {
+        return reader(channel, charset, clazz, header).stream();
+    }
+
+    public final <T> Stream<T> stream(InputStream inputStream, Charset charset, Class<T> clazz, boolean header) {
+        return stream(Channels.newChannel(inputStream), charset, clazz, header);
+    }
+
+    /**
+     * The returned stream must be closed to release the file.
+     */
+    public final <T> Stream<T> stream(Path path, Charset charset, Class<T> clazz, boolean header) throws IOException {
+        recordClassLoader.loadClass(clazz);
+        return stream(FileChannel.open(path, StandardOpenOption.READ), charset, clazz, header);
+    }
+
+    /**
+     * Writes records to writer, each one followed by lineSeparator.
+     */
+    public final RecordWriter writer(Writer writer, String lineSeparator) {
+        return new RecordWriter(this, writer, lineSeparator);
+    }
+
+    public final RecordWriter writer(WritableByteChannel channel, Charset charset, String lineSeparator) {
+        return writer(new ChannelWriter(channel, charset), lineSeparator);
+    }
+
+    /**
+     * The file is created or truncated, the returned writer must be closed to release it.
+     */
+    public final RecordWriter writer(Path path, Charset charset, String lineSeparator) throws IOException {
+        return writer(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), charset, lineSeparator);
+    }
+
+    protected final FlatRecord getFlatRecord(CharSequence line, SeparatorType separatorType, RecordType recordType) throws InvalidRecordException {
         FlatRecord record = null;
         switch (separatorType) {
             case POSITIONAL:
-                record = new PositionalRecord(recordType, line);
+                record = new PositionalRecordView(recordType, line);
                 break;
             case DELIMITED:
-                record = new DelimitedRecord(recordType, line);
+                record = new DelimitedRecordView(recordType, line);
         }
         return record;
     }
@@ -160,60 +427,226 @@ public class RecordManager {
         return getFlatRecord(line, cachedRecord.getSeparatorType(), cachedSubRecord.getRecordType());
     }
 
-    private <T> T createRecord(FlatRecord record, Class<T> clazz) throws InvalidRecordException, IllegalAccessException, InstantiationException {
-        T rootInstance = clazz.newInstance();
+    private <T> T createRecord(FlatRecord record, Class<T> clazz) throws InvalidRecordException {
+        return createRecord(record, clazz, recordClassLoader.getCachedRecord(clazz).getBinding());
+    }
+
+    private <T> T createRecord(FlatRecord record, Class<T> clazz, CachedBinding binding) throws InvalidRecordException {
         CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
-        for (Map.Entry<Field, Class> entry : cachedRecord.getMapWrappedClasses().entrySet()) {
-            Field field = entry.getKey();
-            Object wrappedInstance = entry.getValue().newInstance();
-            field.set(rootInstance, wrappedInstance);
-        }
-        for (Map.Entry<Field, CachedColumn> entry : cachedRecord.getMapColumns().entrySet()) {
-            Field field = entry.getKey();
-            CachedColumn cachedColumn = entry.getValue();
-            Object instance = cachedColumn.isWrapped() ? cachedColumn.getParentField().get(rootInstance) : rootInstance;
+        T rootInstance = clazz.cast(cachedRecord.getInstantiator().newInstance());
+        for (CachedWrappedColumns wrappedColumns : cachedRecord.getWrappedColumns()) {
+            wrappedColumns.getAccessor().set(rootInstance, wrappedColumns.getInstantiator().newInstance());
+        }
+        getFields(record, rootInstance, cachedRecord.getColumns(), binding, false);
+        return rootInstance;
+    }
+
+    /*
+     * Wrapped instances already set on the target are reused.
+     */
+    private <T> T fillRecord(FlatRecord record, T rootInstance, CachedBinding binding) throws InvalidRecordException {
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(rootInstance.getClass());
+        for (CachedWrappedColumns wrappedColumns : cachedRecord.getWrappedColumns()) {
+            if (wrappedColumns.getAccessor().get(rootInstance) == null) {
+                wrappedColumns.getAccessor().set(rootInstance, wrappedColumns.getInstantiator().newInstance());
+            }
+        }
+        getFields(record, rootInstance, cachedRecord.getColumns(), binding, true);
+        return rootInstance;
+    }
+
+    private void getFields(FlatRecord record, Object rootInstance, CachedColumn[] columns, CachedBinding binding, boolean reset) throws InvalidRecordException {
+        for (int i = 0; i < columns.length; i++) {
+            CachedColumn cachedColumn = columns[i];
+            int position = binding.getPosition(i);
+            if (position < 0) {
+                continue;
+            }
+            FieldAccessor accessor = cachedColumn.getAccessor();
+            Object instance = cachedColumn.isWrapped() ? cachedColumn.getParentAccessor().get(rootInstance) : rootInstance;
             try {
+                if (cachedColumn.getBinaryCodec() != null) {
+                    getBinaryField(record, cachedColumn, position, instance);
+                    continue;
+                }
                 switch (cachedColumn.getColumnType()) {
                     case STRING:
-                        field.set(instance, record.getString(cachedColumn.getPosition()));
+                        accessor.set(instance, record.getString(position));
                         break;
                     case DATE:
-                        field.set(instance, record.getDate(cachedColumn.getPosition(), cachedColumn.getFormat()));
+                        accessor.set(instance, record.getDate(position, cachedColumn.getDateCodec()));
+                        break;
+                    case LOCAL_DATE:
+                        accessor.set(instance, record.getLocalDate(position, cachedColumn.getDateCodec()));
+                        break;
+                    case LOCAL_DATE_TIME:
+                        accessor.set(instance, record.getLocalDateTime(position, cachedColumn.getDateCodec()));
+                        break;
+                    case INSTANT:
+                        accessor.set(instance, record.getInstant(position, cachedColumn.getDateCodec()));
                         break;
                     case INTEGER:
-                        field.set(instance, record.getInteger(cachedColumn.getPosition()));
+                        accessor.set(instance, record.getInteger(position));
                         break;
                     case LONG:
-                        field.set(instance, record.getLong(cachedColumn.getPosition()));
+                        accessor.set(instance, record.getLong(position));
                         break;
                     case DOUBLE:
-                        field.set(instance, record.getDouble(cachedColumn.getPosition()));
+                        accessor.set(instance, record.getDouble(position));
+                        break;
+                    case PRIMITIVE_INT:
+                        accessor.setInt(instance, record.getIntValue(position));
+                        break;
+                    case PRIMITIVE_LONG:
+                        accessor.setLong(instance, record.getLongValue(position));
+                        break;
+                    case PRIMITIVE_DOUBLE:
+                        accessor.setDouble(instance, record.getDoubleValue(position));
                         break;
                     case BIG_DECIMAL:
-                        field.set(instance, record.getBigDecimal(cachedColumn.getPosition()));
+                        accessor.set(instance, record.getBigDecimal(position, cachedColumn.getDecimalCodec()));
+                        break;
+                    case MINOR_UNITS:
+                        accessor.setLong(instance, record.getMinorUnits(position, cachedColumn.getDecimalCodec()));
                         break;
                     case BOOLEAN:
-                        field.set(instance, record.getBoolean(cachedColumn.getPosition(), cachedColumn.getBooleanFormat()));
+                        accessor.set(instance, record.getBoolean(position, cachedColumn.getBooleanFormat()));
                         break;
                     case CUSTOM:
-                        Object typeInstance = field.getType().newInstance();
-                        ((Converter) typeInstance).write(record.getString(cachedColumn.getPosition()));
-                        field.set(instance, typeInstance);
+                        Object typeInstance = cachedColumn.getConverterInstantiator().newInstance();
+                        ((Converter) typeInstance).write(record.getString(position));
+                        accessor.set(instance, typeInstance);
                 }
             } catch (InvalidRecordException e) {
                 if (cachedColumn.isInvalidateOnError()) {
                     throw e;
                 }
+                if (reset) {
+                    clearField(cachedColumn, instance);
+                }
             }
         }
-        return rootInstance;
+    }
+
+    private void getBinaryField(FlatRecord record, CachedColumn cachedColumn, int position, Object instance) throws InvalidRecordException {
+        FieldAccessor accessor = cachedColumn.getAccessor();
+        BinaryCodec codec = cachedColumn.getBinaryCodec();
+        switch (cachedColumn.getColumnType()) {
+            case PRIMITIVE_INT:
+                accessor.setInt(instance, record.getBinaryInt(position, codec));
+                break;
+            case PRIMITIVE_LONG:
+            case MINOR_UNITS:
+                accessor.setLong(instance, record.getBinaryLong(position, codec));
+                break;
+            default:
+                accessor.set(instance, getBinaryValue(record, cachedColumn, position));
+        }
+    }
+
+    private Object getBinaryValue(FlatRecord record, CachedColumn cachedColumn, int position) throws InvalidRecordException {
+        BinaryCodec codec = cachedColumn.getBinaryCodec();
+        switch (cachedColumn.getColumnType()) {
+            case INTEGER:
+            case PRIMITIVE_INT:
+                return record.getBinaryInt(position, codec);
+            case BIG_DECIMAL:
+                return record.getBinaryDecimal(position, codec);
+            default:
+                return record.getBinaryLong(position, codec);
+        }
+    }
+
+    /**
+     * Converts a single column, primitive columns are boxed.
+     */
+    final Object getValue(FlatRecord record, CachedColumn cachedColumn, int position) throws InvalidRecordException {
+        if (cachedColumn.getBinaryCodec() != null) {
+            return getBinaryValue(record, cachedColumn, position);
+        }
+        switch (cachedColumn.getColumnType()) {
+            case STRING:
+                return record.getString(position);
+            case DATE:
+                return record.getDate(position, cachedColumn.getDateCodec());
+            case LOCAL_DATE:
+                return record.getLocalDate(position, cachedColumn.getDateCodec());
+            case LOCAL_DATE_TIME:
+                return record.getLocalDateTime(position, cachedColumn.getDateCodec());
+            case INSTANT:
+                return record.getInstant(position, cachedColumn.getDateCodec());
+            case INTEGER:
+                return record.getInteger(position);
+            case LONG:
+                return record.getLong(position);
+            case DOUBLE:
+                return record.getDouble(position);
+            case PRIMITIVE_INT:
+                return record.getIntValue(position);
+            case PRIMITIVE_LONG:
+                return record.getLongValue(position);
+            case PRIMITIVE_DOUBLE:
+                return record.getDoubleValue(position);
+            case BIG_DECIMAL:
+                return record.getBigDecimal(position, cachedColumn.getDecimalCodec());
+            case MINOR_UNITS:
+                return record.getMinorUnits(position, cachedColumn.getDecimalCodec());
+            case BOOLEAN:
+                return record.getBoolean(position, cachedColumn.getBooleanFormat());
+            case CUSTOM:
+                Object typeInstance = cachedColumn.getConverterInstantiator().newInstance();
+                ((Converter) typeInstance).write(record.getString(position));
+                return typeInstance;
+            default:
+                throw new JfpaException("Unsupported column type " + cachedColumn.getColumnType());
+        }
+    }
+
+    private void clearField(CachedColumn cachedColumn, Object instance) {
+        FieldAccessor accessor = cachedColumn.getAccessor();
+        switch (cachedColumn.getColumnType()) {
+            case PRIMITIVE_INT:
+                accessor.setInt(instance, 0);
+                break;
+            case PRIMITIVE_LONG:
+            case MINOR_UNITS:
+                accessor.setLong(instance, 0);
+                break;
+            case PRIMITIVE_DOUBLE:
+                accessor.setDouble(instance, 0);
+                break;
+            default:
+                accessor.set(instance, null);
+        }
     }
 
     private <T> T readSingle(String line, Class<T> clazz) throws InvalidRecordException {
+        return readSingle(line, clazz, recordClassLoader.getCachedRecord(clazz).getBinding());
+    }
+
+    final <T> T readSingle(String line, Class<T> clazz, CachedBinding binding) throws InvalidRecordException {
+        return readSingle(line, clazz, binding, null);
+    }
+
+    final <T> T readSingle(String line, Class<T> clazz, CachedBinding binding, T target) throws InvalidRecordException {
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
+        FlatRecord record = binding.isProjected() && cachedRecord.getSeparatorType() == SeparatorType.DELIMITED
+                ? new DelimitedRecordView(binding.getRecordType(), line, binding.getLimit())
+                : getFlatRecord(line, cachedRecord.getSeparatorType(), binding.getRecordType());
+        return readSingle(record, clazz, binding, target);
+    }
+
+    final <T> T readSingle(FlatRecord record, Class<T> clazz, CachedBinding binding) throws InvalidRecordException {
+        return readSingle(record, clazz, binding, null);
+    }
+
+    final <T> T readSingle(FlatRecord record, Class<T> clazz, CachedBinding binding, T target) throws InvalidRecordException {
         try {
             CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
-            FlatRecord record = getFlatRecord(line, cachedRecord.getSeparatorType(), cachedRecord.getRecordType());
-            T instance = createRecord(record, clazz);
+            T instance = target != null ? fillRecord(record, target, binding) : createRecord(record, clazz, binding);
+            if (binding.isProjected()) {
+                return instance;
+            }
             if (cachedRecord.isValidator()) {
                 RecordValidator validator = (RecordValidator) instance;
                 validator.validate();
@@ -226,12 +659,23 @@ public class RecordManager {
             throw new JfpaException(clazz, e);
         } catch (IllegalAccessException e) {
             throw new JfpaException(clazz, e);
-        } catch (InstantiationException e) {
-            throw new JfpaException(clazz, e);
         }
     }
 
     private String writeSingle(Class clazz, Object instance) throws InvalidRecordException {
+        return writeSingle(clazz, instance, recordClassLoader.getCachedRecord(clazz).getBinding());
+    }
+
+    final String writeSingle(Class clazz, Object instance, CachedBinding binding) throws InvalidRecordException {
+        CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
+        FlatRecord record = cachedRecord.getSeparatorType() == SeparatorType.POSITIONAL
+                ? new PositionalRecord(binding.getRecordType())
+                : new DelimitedRecord(binding.getRecordType());
+        writeSingle(clazz, instance, binding, record);
+        return record.toString();
+    }
+
+    final void writeSingle(Class clazz, Object instance, CachedBinding binding, FlatRecord record) throws InvalidRecordException {
         CachedRecord cachedRecord = recordClassLoader.getCachedRecord(clazz);
         if (cachedRecord.isValidator()) {
             RecordValidator validator = (RecordValidator) instance;
@@ -246,51 +690,70 @@ public class RecordManager {
         } catch (InvocationTargetException e) {
             throw new JfpaException(clazz, e);
         }
-        FlatRecord record = cachedRecord.getSeparatorType() == SeparatorType.POSITIONAL
-                ? new PositionalRecord(cachedRecord.getRecordType())
-                : new DelimitedRecord(cachedRecord.getRecordType());
-        setFields(record, instance, cachedRecord.getMapColumns());
-        return record.toString();
+        setFields(record, instance, cachedRecord.getColumns(), binding);
     }
 
-    private void setFields(FlatRecord record, Object rootInstance, Map<Field, CachedColumn> mapColumns) throws InvalidRecordException {
-        for (Map.Entry<Field, CachedColumn> entry : mapColumns.entrySet()) {
-            Field field = entry.getKey();
-            CachedColumn cachedColumn = entry.getValue();
+    private void setFields(FlatRecord record, Object rootInstance, CachedColumn[] columns, CachedBinding binding) throws InvalidRecordException {
+        for (int i = 0; i < columns.length; i++) {
+            CachedColumn cachedColumn = columns[i];
+            int position = binding.getPosition(i);
+            FieldAccessor accessor = cachedColumn.getAccessor();
+            if (cachedColumn.getBinaryCodec() != null) {
+                throw new JfpaException("Column '" + cachedColumn.getFieldName() + "' has a binary format and can't be written");
+            }
             try {
-                Object instance = cachedColumn.isWrapped() ? cachedColumn.getParentField().get(rootInstance) : rootInstance;
+                Object instance = cachedColumn.isWrapped() ? cachedColumn.getParentAccessor().get(rootInstance) : rootInstance;
                 switch (cachedColumn.getColumnType()) {
                     case STRING:
-                        record.setString(cachedColumn.getPosition(), (String) field.get(instance));
+                        record.setString(position, (String) accessor.get(instance));
                         break;
                     case DATE:
-                        record.setDate(cachedColumn.getPosition(), (Date) field.get(instance), cachedColumn.getFormat());
+                        record.setDate(position, (Date) accessor.get(instance), cachedColumn.getDateCodec());
+                        break;
+                    case LOCAL_DATE:
+                        record.setLocalDate(position, (LocalDate) accessor.get(instance), cachedColumn.getDateCodec());
+                        break;
+                    case LOCAL_DATE_TIME:
+                        record.setLocalDateTime(position, (LocalDateTime) accessor.get(instance), cachedColumn.getDateCodec());
+                        break;
+                    case INSTANT:
+                        record.setInstant(position, (Instant) accessor.get(instance), cachedColumn.getDateCodec());
                         break;
                     case INTEGER:
-                        record.setInteger(cachedColumn.getPosition(), (Integer) field.get(instance));
+                        record.setInteger(position, (Integer) accessor.get(instance));
                         break;
                     case LONG:
-                        record.setLong(cachedColumn.getPosition(), (Long) field.get(instance));
+                        record.setLong(position, (Long) accessor.get(instance));
                         break;
                     case DOUBLE:
-                        record.setDouble(cachedColumn.getPosition(), (Double) field.get(instance));
+                        record.setDouble(position, (Double) accessor.get(instance));
+                        break;
+                    case PRIMITIVE_INT:
+                        record.setIntValue(position, accessor.getInt(instance));
+                        break;
+                    case PRIMITIVE_LONG:
+                        record.setLongValue(position, accessor.getLong(instance));
+                        break;
+                    case PRIMITIVE_DOUBLE:
+                        record.setDoubleValue(position, accessor.getDouble(instance));
                         break;
                     case BIG_DECIMAL:
-                        record.setBigDecimal(cachedColumn.getPosition(), (BigDecimal) field.get(instance));
+                        record.setBigDecimal(position, (BigDecimal) accessor.get(instance), cachedColumn.getDecimalCodec());
+                        break;
+                    case MINOR_UNITS:
+                        record.setMinorUnits(position, accessor.getLong(instance), cachedColumn.getDecimalCodec());
                         break;
                     case BOOLEAN:
-                        record.setBoolean(cachedColumn.getPosition(), (Boolean) field.get(instance), cachedColumn.getBooleanFormat());
+                        record.setBoolean(position, (Boolean) accessor.get(instance), cachedColumn.getBooleanFormat());
                         break;
                     case CUSTOM:
-                        Object typeInstance = field.get(instance);
-                        record.setString(cachedColumn.getPosition(), ((Converter) typeInstance).read());
+                        Object typeInstance = accessor.get(instance);
+                        record.setString(position, ((Converter) typeInstance).read());
                 }
             } catch (InvalidRecordException e) {
                 if (cachedColumn.isInvalidateOnError()) {
                     throw e;
                 }
-            } catch (IllegalAccessException e) {
-                throw new JfpaException(e);
             }
         }
     }
@@ -311,12 +774,12 @@ public class RecordManager {
                     typeString = Utility.substring(line, begin, end, true);
                     break;
                 case DELIMITED:
-                    String[] columns = line.split(cachedMultipleRecord.getDelimiter());
                     int pos = cachedMultipleRecord.getTypePosition();
-                    if (pos >= columns.length) {
-                        throw new InvalidRecordException(String.format("Unable to extract type, position %d exceeds getColumns number (%d)", cachedMultipleRecord.getTypePosition(), columns.length), line);
+                    typeString = DelimitedTokenizer.column(line, pos, cachedMultipleRecord.getDelimiter(), null);
+                    if (typeString == null) {
+                        int columns = new DelimitedTokenizer(cachedMultipleRecord.getDelimiter(), null).tokenize(line);
+                        throw new InvalidRecordException(String.format("Unable to extract type, position %d exceeds getColumns number (%d)", pos, columns), line);
                     }
-                    typeString = columns[cachedMultipleRecord.getTypePosition()];
             }
         }
         RecordType recordType = cachedMultipleRecord.getType(typeString);
@@ -327,80 +790,107 @@ public class RecordManager {
     }
 
     private <T> T readMultiple(String line, Class<T> clazz) throws InvalidRecordException {
-        try {
-            T instance = clazz.newInstance();
-            CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(clazz);
-            RecordType recordType = getRecordType(line, cachedMultipleRecord);
-            CachedSubRecord cachedSubRecord = cachedMultipleRecord.getCachedSubRecord(recordType);
-            Object object = readSingle(line, cachedSubRecord.getFieldClass());
-            cachedSubRecord.getField().set(instance, cachedSubRecord.isList() ? Collections.singletonList(object) : object);
-            if (cachedMultipleRecord.isValidator()) {
-                MultipleRecordValidator validator = (MultipleRecordValidator) instance;
-                validator.validate();
+        CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(clazz);
+        T instance = clazz.cast(cachedMultipleRecord.getInstantiator().newInstance());
+        RecordType recordType = getRecordType(line, cachedMultipleRecord);
+        CachedSubRecord cachedSubRecord = cachedMultipleRecord.getCachedSubRecord(recordType);
+        Object object = readSingle(line, cachedSubRecord.getFieldClass());
+        cachedSubRecord.getAccessor().set(instance, cachedSubRecord.isList() ? Collections.singletonList(object) : object);
+        if (cachedMultipleRecord.isValidator()) {
+            MultipleRecordValidator validator = (MultipleRecordValidator) instance;
+            validator.validate();
+        }
+        return instance;
+    }
+
+    /*
+     * The sub record of the line is read into the one already set on the target
+     * when it has the same class, the other sub records are cleared.
+     */
+    private <T> T readMultipleInto(String line, T instance) throws InvalidRecordException {
+        CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(instance.getClass());
+        RecordType recordType = getRecordType(line, cachedMultipleRecord);
+        CachedSubRecord cachedSubRecord = cachedMultipleRecord.getCachedSubRecord(recordType);
+        for (CachedSubRecord other : cachedMultipleRecord.getAllFields()) {
+            if (other != cachedSubRecord && !other.getField().equals(cachedSubRecord.getField())) {
+                other.getAccessor().set(instance, null);
             }
-            return instance;
-        } catch (IllegalAccessException e) {
-            throw new JfpaException(clazz, e);
-        } catch (InstantiationException e) {
-            throw new JfpaException(clazz, e);
         }
+        Class<?> fieldClass = cachedSubRecord.getFieldClass();
+        Object current = cachedSubRecord.getAccessor().get(instance);
+        if (cachedSubRecord.isList()) {
+            List<?> list = (List<?>) current;
+            current = list != null && list.size() == 1 ? list.get(0) : null;
+        }
+        if (current != null && current.getClass() == fieldClass) {
+            readInto(line, current, fieldClass);
+        } else {
+            Object object = readSingle(line, fieldClass);
+            cachedSubRecord.getAccessor().set(instance, cachedSubRecord.isList() ? Collections.singletonList(object) : object);
+        }
+        if (cachedMultipleRecord.isValidator()) {
+            MultipleRecordValidator validator = (MultipleRecordValidator) instance;
+            validator.validate();
+        }
+        return instance;
     }
 
     protected final <T> T readMultiple(Map<RecordType, List<FlatRecord>> records, Class<T> clazz) throws InvalidRecordException {
-        try {
-            CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(clazz);
-            T instance = clazz.newInstance();
-            for (Map.Entry<RecordType, List<FlatRecord>> entry : records.entrySet()) {
-                RecordType recordType = entry.getKey();
-                Class<?> fieldClass = recordClassLoader.getTypeClass(recordType);
-                CachedSubRecord cachedSubRecord = cachedMultipleRecord.getCachedSubRecord(recordType);
-                Field field = cachedSubRecord.getField();
-                List<Object> list = new ArrayList<Object>();
-                for (FlatRecord record : entry.getValue()) {
-                    list.add(createRecord(record, fieldClass));
-                }
-                field.set(instance, cachedSubRecord.isList() ? list : list.get(0));
-            }
-            if (cachedMultipleRecord.isValidator()) {
-                MultipleRecordValidator validator = (MultipleRecordValidator) instance;
-                validator.validate();
+        CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(clazz);
+        T instance = clazz.cast(cachedMultipleRecord.getInstantiator().newInstance());
+        for (Map.Entry<RecordType, List<FlatRecord>> entry : records.entrySet()) {
+            RecordType recordType = entry.getKey();
+            Class<?> fieldClass = recordClassLoader.getTypeClass(recordType);
+            CachedSubRecord cachedSubRecord = cachedMultipleRecord.getCachedSubRecord(recordType);
+            List<Object> list = new ArrayList<Object>();
+            for (FlatRecord record : entry.getValue()) {
+                list.add(createRecord(record, fieldClass));
             }
-            return instance;
-        } catch (IllegalAccessException e) {
-            throw new JfpaException(clazz, e);
-        } catch (InstantiationException e) {
-            throw new JfpaException(clazz, e);
+            cachedSubRecord.getAccessor().set(instance, cachedSubRecord.isList() ? list : list.get(0));
+        }
+        if (cachedMultipleRecord.isValidator()) {
+            MultipleRecordValidator validator = (MultipleRecordValidator) instance;
+            validator.validate();
         }
+        return instance;
     }
 
     public final String writeMultiple(Class<?> clazz, Object instance) throws InvalidRecordException {
-        try {
-            CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(clazz);
-            if (cachedMultipleRecord.isValidator()) {
-                MultipleRecordValidator validator = (MultipleRecordValidator) instance;
-                validator.validate();
-            }
-            List<String> records = new ArrayList<String>();
-            for (CachedSubRecord cachedSubRecord : cachedMultipleRecord.getAllFields()) {
-                Field field = cachedSubRecord.getField();
-                Object value = field.get(instance);
-                if (value != null) {
-                    if (cachedSubRecord.isList()) {
-                        List list = (List) value;
-                        for (Object object : list) {
-                            records.add(writeSingle(cachedSubRecord.getFieldClass(), object));
-                        }
-                    } else {
-                        records.add(writeSingle(cachedSubRecord.getFieldClass(), value));
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        List<Object> values = new ArrayList<Object>();
+        collectSubRecords(clazz, instance, classes, values);
+        List<String> records = new ArrayList<String>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            records.add(writeSingle(classes.get(i), values.get(i)));
+        }
+        return Utility.buildNewLineString(records);
+    }
+
+    /*
+     * Validates a multiple record and collects its sub records in writing order, with the class they are written as.
+     */
+    final void collectSubRecords(Class<?> clazz, Object instance, List<Class<?>> classes, List<Object> values) throws InvalidRecordException {
+        CachedMultipleRecord cachedMultipleRecord = recordClassLoader.getCachedMultipleRecord(clazz);
+        if (cachedMultipleRecord.isValidator()) {
+            MultipleRecordValidator validator = (MultipleRecordValidator) instance;
+            validator.validate();
+        }
+        for (CachedSubRecord cachedSubRecord : cachedMultipleRecord.getAllFields()) {
+            Object value = cachedSubRecord.getAccessor().get(instance);
+            if (value != null) {
+                if (cachedSubRecord.isList()) {
+                    for (Object object : (List<?>) value) {
+                        classes.add(cachedSubRecord.getFieldClass());
+                        values.add(object);
                     }
+                } else {
+                    classes.add(cachedSubRecord.getFieldClass());
+                    values.add(value);
                 }
             }
-            if (records.isEmpty()) {
-                throw new InvalidMultipleRecordException("No sub records found for record " + clazz.getName());
-            }
-            return Utility.buildNewLineString(records);
-        } catch (IllegalAccessException e) {
-            throw new JfpaException(clazz, e);
+        }
+        if (values.isEmpty()) {
+            throw new InvalidMultipleRecordException("No sub records found for record " + clazz.getName());
         }
     }
 
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.utility.LineReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads typed records line by line from a {@link LineReader}.
+ * When the input has a header, its first line is bound with {@link RecordManager#bindHeader(Class, String)}.
+ * Iterator and stream methods wrap IOException in UncheckedIOException and InvalidRecordException in JfpaException,
+ * use {@link #readRecord()} to handle them directly. Not thread-safe.
+ * With {@link #setReuseInstance(boolean)} a single instance is read into for every line.
+ * With {@link #setProjection(String...)} only the given columns are read and with
+ * {@link #where(String, ColumnPredicate)} lines are skipped without being converted.
+ */
+public class RecordReader<T> implements Iterator<T>, Closeable {
+
+    private final RecordManager manager;
+    private final Class<T> clazz;
+    private final LineReader lineReader;
+    private final boolean header;
+    private HeaderBinding<T> binding;
+    private String[] fields;
+    private final List<String> columns = new ArrayList<String>();
+    private final List<ColumnPredicate> predicates = new ArrayList<ColumnPredicate>();
+    private RecordFilter<T> filter;
+    private boolean started;
+    private boolean reuse;
+    private T instance;
+    private T next;
+
+    public RecordReader(final RecordManager manager, final Class<T> clazz, final LineReader lineReader, final boolean header) {
+        this.manager = manager;
+        this.clazz = clazz;
+        this.lineReader = lineReader;
+        this.header = header;
+    }
+
+    /**
+     * @return the next record, or null at the end of the input
+     */
+    public T readRecord() throws IOException, InvalidRecordException {
+        if (next != null) {
+            T record = next;
+            next = null;
+            return record;
+        }
+        if (!started) {
+            started = true;
+            if (header) {
+                String line = lineReader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                binding = manager.bindHeader(clazz, line);
+            }
+            if (fields != null || !predicates.isEmpty()) {
+                filter = binding != null ? binding.filter() : manager.filter(clazz);
+                for (int i = 0; i < predicates.size(); i++) {
+                    filter = filter.where(columns.get(i), predicates.get(i));
+                }
+                if (fields != null) {
+                    filter = filter.project(fields);
+                }
+            }
+        }
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            T record = read(line);
+            if (record != null) {
+                if (reuse) {
+                    instance = record;
+                }
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Returns null if the line is rejected by the filter.
+     */
+    private T read(final String line) throws InvalidRecordException {
+        T target = reuse ? instance : null;
+        if (filter != null) {
+            return filter.readInto(line, target);
+        }
+        if (target == null) {
+            return binding != null ? binding.read(line) : manager.read(line, clazz);
+        }
+        if (binding != null) {
+            return binding.readInto(line, target);
+        }
+        return manager.readInto(line, target);
+    }
+
+    /**
+     * When enabled, every record is read into the same instance, see {@link RecordManager#readInto(String, Object)}.
+     * The returned record is valid only until the next one is read, so it must not be retained.
+     */
+    public void setReuseInstance(final boolean reuse) {
+        this.reuse = reuse;
+    }
+
+    public boolean isReuseInstance() {
+        return reuse;
+    }
+
+    /**
+     * Reads only the given columns, see {@link RecordManager#project(Class, String...)}.
+     * Must be set before the first record is read.
+     */
+    public void setProjection(final String... fields) {
+        if (started) {
+            throw new IllegalStateException("projection must be set before reading");
+        }
+        this.fields = fields;
+    }
+
+    /**
+     * Skips the lines whose column doesn't satisfy predicate, see {@link RecordFilter}.
+     * Must be set before the first record is read.
+     */
+    public RecordReader<T> where(final String column, final ColumnPredicate predicate) {
+        if (started) {
+            throw new IllegalStateException("filter must be set before reading");
+        }
+        columns.add(column);
+        predicates.add(predicate);
+        return this;
+    }
+
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InvalidRecordException e) {
+                throw new JfpaException(clazz, e);
+            }
+        }
+        return next != null;
+    }
+
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T record = next;
+        next = null;
+        return record;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * @return the number of lines read so far, header included
+     */
+    public long getLineNumber() {
+        return lineReader.getLineNumber();
+    }
+
+    /**
+     * @return a sequential stream of the remaining records, closing the stream closes this reader
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+            public void run() {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    public void close() throws IOException {
+        lineReader.close();
+    }
+}
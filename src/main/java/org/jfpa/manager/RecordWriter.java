@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.manager;
+
+import org.jfpa.cache.CachedBinding;
+import org.jfpa.cache.CachedRecord;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.record.AbstractReusableRecord;
+import org.jfpa.record.ReusableDelimitedRecord;
+import org.jfpa.record.ReusablePositionalRecord;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records to a Writer through a reusable char buffer, every record is followed by the line separator.
+ * Records are serialized directly in the buffer, a record failing validation is not written at all.
+ * Not thread-safe.
+ */
+public class RecordWriter implements Closeable, Flushable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final RecordManager manager;
+    private final Writer writer;
+    private final char[] lineSeparator;
+    private final Map<CachedBinding, AbstractReusableRecord> records = new IdentityHashMap<CachedBinding, AbstractReusableRecord>();
+    private final List<Class<?>> subRecordClasses = new ArrayList<Class<?>>();
+    private final List<Object> subRecords = new ArrayList<Object>();
+    private char[] buffer;
+    private int count;
+    private int mark;
+
+    public RecordWriter(final RecordManager manager, final Writer writer, final String lineSeparator) {
+        this(manager, writer, lineSeparator, DEFAULT_BUFFER_SIZE);
+    }
+
+    public RecordWriter(final RecordManager manager, final Writer writer, final String lineSeparator, final int bufferSize) {
+        this.manager = manager;
+        this.writer = writer;
+        this.lineSeparator = lineSeparator.toCharArray();
+        this.buffer = new char[bufferSize];
+    }
+
+    public void write(final Object instance) throws IOException, InvalidRecordException {
+        Class<?> clazz = instance.getClass();
+        Type type = manager.recordClassLoader.loadClass(clazz);
+        mark = count;
+        boolean written = false;
+        try {
+            switch (type) {
+                case SINGLE:
+                    writeSingle(clazz, instance);
+                    break;
+                case MULTIPLE:
+                    manager.collectSubRecords(clazz, instance, subRecordClasses, subRecords);
+                    for (int i = 0; i < subRecords.size(); i++) {
+                        writeSingle(subRecordClasses.get(i), subRecords.get(i));
+                    }
+            }
+            written = true;
+        } finally {
+            subRecordClasses.clear();
+            subRecords.clear();
+            if (!written) {
+                count = mark;
+            }
+            mark = count;
+        }
+    }
+
+    public void writeHeader(final Class<?> clazz) throws IOException, InvalidRecordException {
+        String header = manager.writeHeader(clazz);
+        mark = count;
+        ensure(header.length() + lineSeparator.length);
+        header.getChars(0, header.length(), buffer, count);
+        count += header.length();
+        appendLineSeparator();
+        mark = count;
+    }
+
+    private void writeSingle(final Class<?> clazz, final Object instance) throws IOException, InvalidRecordException {
+        CachedRecord cachedRecord = manager.recordClassLoader.getCachedRecord(clazz);
+        CachedBinding binding = cachedRecord.getBinding();
+        AbstractReusableRecord record = records.get(binding);
+        if (record == null) {
+            record = cachedRecord.getSeparatorType() == SeparatorType.POSITIONAL
+                    ? new ReusablePositionalRecord(binding.getRecordType())
+                    : new ReusableDelimitedRecord(binding.getRecordType());
+            records.put(binding, record);
+        }
+        record.clear();
+        manager.writeSingle(clazz, instance, binding, record);
+        ensure(record.length() + lineSeparator.length);
+        count = record.getChars(buffer, count);
+        appendLineSeparator();
+    }
+
+    private void appendLineSeparator() {
+        System.arraycopy(lineSeparator, 0, buffer, count, lineSeparator.length);
+        count += lineSeparator.length;
+    }
+
+    /*
+     * Makes room for length chars, only records completed before mark are written out.
+     */
+    private void ensure(final int length) throws IOException {
+        if (count + length > buffer.length) {
+            if (mark > 0) {
+                writer.write(buffer, 0, mark);
+                System.arraycopy(buffer, mark, buffer, 0, count - mark);
+                count -= mark;
+                mark = 0;
+            }
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(count + length, buffer.length << 1));
+            }
+        }
+    }
+
+    public void flush() throws IOException {
+        writer.write(buffer, 0, count);
+        count = 0;
+        mark = 0;
+        writer.flush();
+    }
+
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.jfpa.interfaces.RecordValidator;
 import org.jfpa.utility.Utility;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 
 /**
  * Created by IntelliJ IDEA.
@@ -17,7 +18,9 @@ import java.io.UnsupportedEncodingException;
 public abstract class AbstractBinaryRecord implements Record, RecordValidator {
 
     protected byte[] bytes;
+    protected ByteBuffer buffer;
     protected String encoding;
+    protected int patternIndex = -1;
 
     protected AbstractBinaryRecord() { }
 
@@ -36,6 +39,17 @@ public abstract class AbstractBinaryRecord implements Record, RecordValidator {
 
     public final void buildRecord(byte[] bytes) throws InvalidRecordException {
         this.bytes = bytes;
+        this.buffer = null;
+        validate();
+    }
+
+    /**
+     * Builds the record on a view of the bytes instead of a copy, <code>bytes</code> is null.
+     * The view is valid only until the record is built again.
+     */
+    public final void buildRecord(ByteBuffer buffer) throws InvalidRecordException {
+        this.bytes = null;
+        this.buffer = buffer;
         validate();
     }
 
@@ -47,19 +61,74 @@ public abstract class AbstractBinaryRecord implements Record, RecordValidator {
 
     public void setBytes(byte[] bytes) {
         this.bytes = bytes;
+        this.buffer = null;
+    }
+
+    /**
+     * @return the record bytes, copied from the view when the record was built on one
+     */
+    public byte[] getBytes() {
+        if (bytes == null && buffer != null) {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            return copy;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return a read-only view of the record bytes, without copying them
+     */
+    public ByteBuffer getBuffer() {
+        if (buffer != null) {
+            return buffer.asReadOnlyBuffer();
+        }
+        return bytes != null ? ByteBuffer.wrap(bytes).asReadOnlyBuffer() : null;
+    }
+
+    public String getEncoding() {
+        return encoding;
     }
 
     protected void invalidateRecord(String message) throws InvalidRecordException {
         throw new InvalidRecordException("Record didn't pass validation: " + message, toString());
     }
 
+    /**
+     * Patterns identifying the beginning of a record, by default the only one returned by {@link #getPattern()}.
+     * A pattern matches as soon as it ends, so it shouldn't be the prefix of another one.
+     */
+    public byte[][] getPatterns() {
+        return new byte[][] {getPattern()};
+    }
+
+    /**
+     * Pattern ending a record, which is then handled as soon as it ends instead of when the next one starts.
+     * The trailer is part of the record, by default there is none.
+     */
+    public byte[] getTrailer() {
+        return null;
+    }
+
+    /**
+     * @return the index in {@link #getPatterns()} of the pattern the record starts with, -1 if not framed by pattern
+     */
+    public int getPatternIndex() {
+        return patternIndex;
+    }
+
+    public void setPatternIndex(int patternIndex) {
+        this.patternIndex = patternIndex;
+    }
+
     public boolean isComplete() {
-        return bytes != null;
+        return bytes != null || buffer != null;
     }
 
     @Override
     public String toString() {
         try {
+            byte[] bytes = getBytes();
             return Utility.isEmpty(encoding) ? new String(bytes) : new String(bytes, encoding);
         } catch (UnsupportedEncodingException e) {
             throw new JfpaException(e);
@@ -6,9 +6,16 @@ import org.jfpa.exception.InvalidRecordException;
 import org.jfpa.interfaces.FlatRecord;
 import org.jfpa.type.RecordType;
 import org.jfpa.type.RecordTypeDTO;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.CharParser;
+import org.jfpa.utility.DateCodec;
+import org.jfpa.utility.DecimalCodec;
 import org.jfpa.utility.Utility;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 
 /**
@@ -39,7 +46,7 @@ public abstract class AbstractRecord implements FlatRecord {
 
     public Date getDate(int pos, String format) throws InvalidRecordException {
         try {
-            return Utility.stringToDate(getPos(pos), format);
+            return getDate(pos, DateCodec.forPattern(format));
         } catch (IllegalArgumentException e) {
             throw new InvalidRecordException("Invalid Date format: " + e.getMessage(), toString());
         }
@@ -47,12 +54,80 @@ public abstract class AbstractRecord implements FlatRecord {
 
     public void setDate(int pos, Date value, String format) throws InvalidRecordException {
         try {
-            setPos(pos, Utility.dateToString(value, format));
+            setDate(pos, value, DateCodec.forPattern(format));
         } catch (IllegalArgumentException e) {
             throw new InvalidRecordException("Invalid Date format: " + e.getMessage(), toString());
         }
     }
 
+    public Date getDate(int pos, DateCodec codec) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? codec.parseDate(value, 0, value.length()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Date format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setDate(int pos, Date value, DateCodec codec) throws InvalidRecordException {
+        try {
+            setPos(pos, codec.format(value));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Date format: " + e.getMessage(), toString());
+        }
+    }
+
+    public LocalDate getLocalDate(int pos, DateCodec codec) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? codec.parseLocalDate(value, 0, value.length()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDate format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setLocalDate(int pos, LocalDate value, DateCodec codec) throws InvalidRecordException {
+        try {
+            setPos(pos, codec.format(value));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDate format: " + e.getMessage(), toString());
+        }
+    }
+
+    public LocalDateTime getLocalDateTime(int pos, DateCodec codec) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? codec.parseLocalDateTime(value, 0, value.length()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDateTime format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setLocalDateTime(int pos, LocalDateTime value, DateCodec codec) throws InvalidRecordException {
+        try {
+            setPos(pos, codec.format(value));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDateTime format: " + e.getMessage(), toString());
+        }
+    }
+
+    public Instant getInstant(int pos, DateCodec codec) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? codec.parseInstant(value, 0, value.length()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Instant format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setInstant(int pos, Instant value, DateCodec codec) throws InvalidRecordException {
+        try {
+            setPos(pos, codec.format(value));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Instant format: " + e.getMessage(), toString());
+        }
+    }
+
     public Integer getInteger(int pos) throws InvalidRecordException {
         try {
             return Utility.stringToInteger(getPos(pos));
@@ -89,6 +164,45 @@ public abstract class AbstractRecord implements FlatRecord {
         setPos(pos, Utility.doubleToString(value));
     }
 
+    public int getIntValue(int pos) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? CharParser.parseIntValue(value, 0, value.length()) : 0;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Integer format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setIntValue(int pos, int value) throws InvalidRecordException {
+        setPos(pos, Integer.toString(value));
+    }
+
+    public long getLongValue(int pos) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? CharParser.parseLongValue(value, 0, value.length()) : 0;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Long format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setLongValue(int pos, long value) throws InvalidRecordException {
+        setPos(pos, Long.toString(value));
+    }
+
+    public double getDoubleValue(int pos) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? CharParser.parseDoubleValue(value, 0, value.length()) : 0;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Double format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setDoubleValue(int pos, double value) throws InvalidRecordException {
+        setPos(pos, Double.toString(value));
+    }
+
     public BigDecimal getBigDecimal(int pos) throws InvalidRecordException {
         try {
             return Utility.stringToBigDecimal(getPos(pos));
@@ -101,6 +215,55 @@ public abstract class AbstractRecord implements FlatRecord {
         setPos(pos, Utility.bigDecimalToString(value));
     }
 
+    public BigDecimal getBigDecimal(int pos, DecimalCodec codec) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? codec.parseBigDecimal(value, 0, value.length()) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid BigDecimal format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setBigDecimal(int pos, BigDecimal value, DecimalCodec codec) throws InvalidRecordException {
+        try {
+            setPos(pos, codec.format(value));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid BigDecimal format: " + e.getMessage(), toString());
+        }
+    }
+
+    public long getMinorUnits(int pos, DecimalCodec codec) throws InvalidRecordException {
+        try {
+            String value = getPos(pos);
+            return value != null ? codec.parseMinorUnits(value, 0, value.length()) : 0;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid minor units format: " + e.getMessage(), toString());
+        }
+    }
+
+    public void setMinorUnits(int pos, long value, DecimalCodec codec) throws InvalidRecordException {
+        setPos(pos, codec.format(value));
+    }
+
+    public int getBinaryInt(int pos, BinaryCodec codec) throws InvalidRecordException {
+        throw binaryNotSupported(pos);
+    }
+
+    public long getBinaryLong(int pos, BinaryCodec codec) throws InvalidRecordException {
+        throw binaryNotSupported(pos);
+    }
+
+    public BigDecimal getBinaryDecimal(int pos, BinaryCodec codec) throws InvalidRecordException {
+        throw binaryNotSupported(pos);
+    }
+
+    /*
+     * Binary columns can be read only by views over the raw bytes.
+     */
+    private InvalidRecordException binaryNotSupported(int pos) {
+        return new InvalidRecordException("Binary column at pos " + pos + " requires a positional record read from bytes", toString());
+    }
+
     public void setBoolean(int pos, Boolean value, String[] trueFalse) throws InvalidRecordException {
         setPos(pos, Utility.booleanToString(value, trueFalse));
     }
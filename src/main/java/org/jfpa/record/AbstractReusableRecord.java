@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.record;
+
+/**
+ * Record meant to be written many times, its content is copied to a char array instead of being built as a String.
+ */
+public abstract class AbstractReusableRecord extends AbstractRecord {
+
+    /**
+     * Resets all columns to empty.
+     */
+    public abstract void clear();
+
+    /**
+     * @return the number of chars of the record
+     */
+    public abstract int length();
+
+    /**
+     * Copies the record to dst, which must have room for {@link #length()} chars.
+     * @return the offset following the record
+     */
+    public abstract int getChars(char[] dst, int offset);
+}
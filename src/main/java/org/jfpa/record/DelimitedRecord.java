@@ -2,10 +2,9 @@ package org.jfpa.record;
 
 import org.jfpa.exception.InvalidRecordException;
 import org.jfpa.type.RecordType;
+import org.jfpa.utility.DelimitedTokenizer;
 import org.jfpa.utility.Utility;
 
-import java.util.regex.Pattern;
-
 /**
  * Created by IntelliJ IDEA.
  * User: Matteo Trotta
@@ -39,7 +38,11 @@ public class DelimitedRecord extends AbstractRecord {
         delimiter = recordType.getDelimiter();
         stringEnclose = recordType.getStringEnclose();
         lengths = recordType.getLengths();
-        columns = str.split(Pattern.quote(delimiter), -1);
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(delimiter, stringEnclose, recordType.getColumns());
+        columns = new String[tokenizer.tokenize(str)];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = str.substring(tokenizer.getStart(i), tokenizer.getEnd(i));
+        }
         if (columns.length < recordType.getColumns()) {
             throw new InvalidRecordException("Invalid number of getColumns: " + columns.length + " (expected: " + recordType.getColumns() + ")", str);
         }
@@ -65,7 +68,7 @@ public class DelimitedRecord extends AbstractRecord {
     }
 
     private String checkLength(int pos, String value) throws InvalidRecordException {
-        if (lengths != null && lengths[pos] > 0 && value != null && value.length() > lengths[pos]) {
+        if (lengths != null && pos < lengths.length && lengths[pos] > 0 && value != null && value.length() > lengths[pos]) {
             throw new InvalidRecordException("Value too large for pos " + pos + ": '" + value + "' has length " + value.length() + " (max: " + lengths[pos] + ")");
         }
         return value;
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.record;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.CharRecord;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.CharParser;
+import org.jfpa.utility.DateCodec;
+import org.jfpa.utility.DecimalCodec;
+import org.jfpa.utility.DelimitedTokenizer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Read-only delimited record backed by the original line.
+ * The line is tokenized once into column boundaries and columns are parsed
+ * directly from them, so only the final values are allocated.
+ * Any attempt to modify the record throws an UnsupportedOperationException.
+ */
+public class DelimitedRecordView extends AbstractRecord implements CharRecord {
+
+    private final CharSequence chars;
+    private final int start;
+    private final int end;
+    private final DelimitedTokenizer tokenizer;
+    private final String stringEnclose;
+    private final int[] lengths;
+    private int valueStart;
+    private int valueEnd;
+
+    public DelimitedRecordView(final RecordType recordType, final CharSequence chars) throws InvalidRecordException {
+        this(recordType, chars, 0, chars == null ? 0 : chars.length());
+    }
+
+    /**
+     * Builds a view over the first <code>limit</code> columns only, the rest of the line is not tokenized.
+     */
+    public DelimitedRecordView(final RecordType recordType, final CharSequence chars, final int limit) throws InvalidRecordException {
+        this(recordType, chars, 0, chars == null ? 0 : chars.length(),
+                new DelimitedTokenizer(recordType.getDelimiter(), recordType.getStringEnclose(), recordType.getColumns(), limit));
+    }
+
+    public DelimitedRecordView(final RecordType recordType, final CharSequence chars, final int start, final int end) throws InvalidRecordException {
+        this(recordType, chars, start, end, new DelimitedTokenizer(recordType.getDelimiter(), recordType.getStringEnclose(), recordType.getColumns()));
+    }
+
+    /**
+     * Builds a view over the columns found by <code>tokenizer</code>, the view is valid
+     * until the tokenizer is used again.
+     */
+    public DelimitedRecordView(final RecordType recordType, final CharSequence chars, final int start, final int end, final DelimitedTokenizer tokenizer) throws InvalidRecordException {
+        if (chars == null) {
+            throw new InvalidRecordException("Record string is null");
+        }
+        setRecordType(recordType);
+        this.chars = chars;
+        this.start = start;
+        this.end = end;
+        this.tokenizer = tokenizer;
+        this.stringEnclose = tokenizer.getStringEnclose();
+        this.lengths = recordType.getLengths();
+        int columns = tokenizer.tokenize(chars, start, end);
+        int expected = Math.min(recordType.getColumns(), tokenizer.getLimit());
+        if (columns < expected) {
+            throw new InvalidRecordException("Invalid number of getColumns: " + columns + " (expected: " + expected + ")", toString());
+        }
+    }
+
+    /*
+     * Sets valueStart and valueEnd to the column range, without enclosing strings.
+     */
+    private void locate(final int pos) throws InvalidRecordException {
+        valueStart = tokenizer.getStart(pos);
+        valueEnd = tokenizer.getEnd(pos);
+        if (stringEnclose != null) {
+            int begin = -1;
+            for (int i = valueStart; i <= valueEnd - stringEnclose.length() && begin < 0; i++) {
+                if (CharParser.equals(chars, i, i + stringEnclose.length(), stringEnclose)) {
+                    begin = i;
+                }
+            }
+            int last = -1;
+            for (int i = valueEnd - stringEnclose.length(); i >= valueStart && last < 0; i--) {
+                if (CharParser.equals(chars, i, i + stringEnclose.length(), stringEnclose)) {
+                    last = i;
+                }
+            }
+            if (begin < 0 || begin == last) {
+                throw new IllegalArgumentException("string not properly enclosed: " + chars.subSequence(valueStart, valueEnd));
+            }
+            valueStart = begin + stringEnclose.length();
+            valueEnd = last;
+        }
+        int length = valueEnd - valueStart;
+        if (lengths != null && pos < lengths.length && lengths[pos] > 0 && length > lengths[pos]) {
+            String value = chars.subSequence(valueStart, valueEnd).toString();
+            throw new InvalidRecordException("Value too large for pos " + pos + ": '" + value + "' has length " + length + " (max: " + lengths[pos] + ")");
+        }
+    }
+
+    public CharSequence getChars() {
+        return chars;
+    }
+
+    public int getValueStart(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.trimStart(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid String: " + e.getMessage(), toString());
+        }
+    }
+
+    public int getValueEnd(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.trimEnd(chars, CharParser.trimStart(chars, valueStart, valueEnd), valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid String: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public String getString(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseString(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid String: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Date getDate(final int pos, final DateCodec codec) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return codec.parseDate(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Date format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public LocalDate getLocalDate(final int pos, final DateCodec codec) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return codec.parseLocalDate(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDate format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public LocalDateTime getLocalDateTime(final int pos, final DateCodec codec) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return codec.parseLocalDateTime(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDateTime format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Instant getInstant(final int pos, final DateCodec codec) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return codec.parseInstant(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Instant format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Integer getInteger(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseInteger(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Integer format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Long getLong(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseLong(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Long format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public int getIntValue(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseIntValue(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Integer format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public long getLongValue(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseLongValue(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Long format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public double getDoubleValue(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseDoubleValue(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Double format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Double getDouble(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseDouble(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Double format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int pos) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseBigDecimal(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid BigDecimal format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int pos, final DecimalCodec codec) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return codec.parseBigDecimal(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid BigDecimal format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public long getMinorUnits(final int pos, final DecimalCodec codec) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return codec.parseMinorUnits(chars, valueStart, valueEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid minor units format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Boolean getBoolean(final int pos, final String[] trueFalse) throws InvalidRecordException {
+        try {
+            locate(pos);
+            return CharParser.parseBoolean(chars, valueStart, valueEnd, trueFalse);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Boolean format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    protected final String getPos(final int pos) throws InvalidRecordException {
+        locate(pos);
+        return chars.subSequence(valueStart, valueEnd).toString();
+    }
+
+    @Override
+    protected final void setPos(final int pos, final String value) {
+        throw new UnsupportedOperationException("DelimitedRecordView is read-only");
+    }
+
+    public final int getColumns() {
+        return tokenizer.getColumns();
+    }
+
+    @Override
+    public String toString() {
+        return chars.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.record;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.CharRecord;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.ByteChars;
+import org.jfpa.utility.CharParser;
+import org.jfpa.utility.DateCodec;
+import org.jfpa.utility.DecimalCodec;
+
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Read-only positional record backed by the original line.
+ * Columns are parsed directly from their offsets in the underlying
+ * CharSequence, so only the final values are allocated.
+ * Any attempt to modify the record throws an UnsupportedOperationException.
+ */
+public class PositionalRecordView extends AbstractRecord implements CharRecord {
+
+    private final CharSequence chars;
+    private final int start;
+    private final int end;
+    private final int[] positions;
+
+    public PositionalRecordView(final RecordType recordType, final String str) throws InvalidRecordException {
+        this(recordType, (CharSequence) str);
+    }
+
+    public PositionalRecordView(final RecordType recordType, final CharSequence chars) throws InvalidRecordException {
+        this(recordType, chars, 0, chars == null ? 0 : chars.length());
+    }
+
+    public PositionalRecordView(final RecordType recordType, final char[] chars, final int offset, final int length) throws InvalidRecordException {
+        this(recordType, CharBuffer.wrap(chars), offset, offset + length);
+    }
+
+    public PositionalRecordView(final RecordType recordType, final CharSequence chars, final int start, final int end) throws InvalidRecordException {
+        if (chars == null) {
+            throw new InvalidRecordException("Record string is null");
+        }
+        setRecordType(recordType);
+        this.chars = chars;
+        this.start = start;
+        this.end = end;
+        this.positions = recordType.getPositions();
+        int length = positions[positions.length - 1];
+        if (end - start < length) {
+            throw new InvalidRecordException(String.format("Record has an invalid length: %d (expected %d)", end - start, length), toString());
+        }
+    }
+
+    private int begin(final int pos) throws InvalidRecordException {
+        if (pos > positions.length - 2) {
+            throw new InvalidRecordException("Invalid position: " + pos + " (max = " + (positions.length - 2) + ")");
+        }
+        return start + positions[pos];
+    }
+
+    public CharSequence getChars() {
+        return chars;
+    }
+
+    public int getValueStart(final int pos) throws InvalidRecordException {
+        return CharParser.trimStart(chars, begin(pos), start + positions[pos + 1]);
+    }
+
+    public int getValueEnd(final int pos) throws InvalidRecordException {
+        int end = start + positions[pos + 1];
+        return CharParser.trimEnd(chars, CharParser.trimStart(chars, begin(pos), end), end);
+    }
+
+    @Override
+    public String getString(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        return CharParser.parseString(chars, begin, start + positions[pos + 1]);
+    }
+
+    @Override
+    public Date getDate(final int pos, final DateCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.parseDate(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Date format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public LocalDate getLocalDate(final int pos, final DateCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.parseLocalDate(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDate format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public LocalDateTime getLocalDateTime(final int pos, final DateCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.parseLocalDateTime(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid LocalDateTime format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Instant getInstant(final int pos, final DateCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.parseInstant(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Instant format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Integer getInteger(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseInteger(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Integer format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Long getLong(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseLong(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Long format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public int getIntValue(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseIntValue(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Integer format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public long getLongValue(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseLongValue(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Long format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public double getDoubleValue(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseDoubleValue(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Double format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public Double getDouble(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseDouble(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Double format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseBigDecimal(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid BigDecimal format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(final int pos, final DecimalCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.parseBigDecimal(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid BigDecimal format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public long getMinorUnits(final int pos, final DecimalCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.parseMinorUnits(chars, begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid minor units format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public int getBinaryInt(final int pos, final BinaryCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.decodeInt(bytes(pos), begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid binary Integer: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public long getBinaryLong(final int pos, final BinaryCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.decodeLong(bytes(pos), begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid binary Long: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    public BigDecimal getBinaryDecimal(final int pos, final BinaryCodec codec) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return codec.decodeBigDecimal(bytes(pos), begin, start + positions[pos + 1]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid binary BigDecimal: " + e.getMessage(), toString());
+        }
+    }
+
+    /*
+     * Binary columns are decoded from the raw bytes, available only when the view wraps ByteChars.
+     */
+    private ByteChars bytes(final int pos) throws InvalidRecordException {
+        if (!(chars instanceof ByteChars)) {
+            throw new InvalidRecordException("Binary column at pos " + pos + " requires a record read from bytes", toString());
+        }
+        return (ByteChars) chars;
+    }
+
+    @Override
+    public Boolean getBoolean(final int pos, final String[] trueFalse) throws InvalidRecordException {
+        int begin = begin(pos);
+        try {
+            return CharParser.parseBoolean(chars, begin, start + positions[pos + 1], trueFalse);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("Invalid Boolean format: " + e.getMessage(), toString());
+        }
+    }
+
+    @Override
+    protected final String getPos(final int pos) throws InvalidRecordException {
+        int begin = begin(pos);
+        return chars.subSequence(begin, start + positions[pos + 1]).toString();
+    }
+
+    @Override
+    protected final void setPos(final int pos, final String value) {
+        throw new UnsupportedOperationException("PositionalRecordView is read-only");
+    }
+
+    public final int getColumns() {
+        return positions.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return chars.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.record;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.Utility;
+
+import java.util.Arrays;
+
+/**
+ * Delimited record reusing its column array, values are enclosed only when the record is copied.
+ */
+public class ReusableDelimitedRecord extends AbstractReusableRecord {
+
+    private final String[] columns;
+    private final boolean[] set;
+    private final String delimiter;
+    private final String stringEnclose;
+    private final int[] lengths;
+
+    public ReusableDelimitedRecord(final RecordType recordType) {
+        setRecordType(recordType);
+        this.columns = new String[recordType.getColumns()];
+        this.set = new boolean[columns.length];
+        this.delimiter = recordType.getDelimiter();
+        this.stringEnclose = recordType.getStringEnclose();
+        this.lengths = recordType.getLengths();
+    }
+
+    @Override
+    public final void clear() {
+        Arrays.fill(columns, null);
+        Arrays.fill(set, false);
+    }
+
+    @Override
+    public final int length() {
+        int length = delimiter.length() * (columns.length - 1);
+        for (int i = 0; i < columns.length; i++) {
+            length += columnLength(i);
+        }
+        return length;
+    }
+
+    private int columnLength(final int pos) {
+        int length = columns[pos] != null ? columns[pos].length() : 0;
+        return set[pos] && stringEnclose != null ? length + 2 * stringEnclose.length() : length;
+    }
+
+    @Override
+    public final int getChars(final char[] dst, int offset) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                offset = copy(delimiter, dst, offset);
+            }
+            boolean enclose = set[i] && stringEnclose != null;
+            if (enclose) {
+                offset = copy(stringEnclose, dst, offset);
+            }
+            if (columns[i] != null) {
+                offset = copy(columns[i], dst, offset);
+            }
+            if (enclose) {
+                offset = copy(stringEnclose, dst, offset);
+            }
+        }
+        return offset;
+    }
+
+    private static int copy(final String value, final char[] dst, final int offset) {
+        value.getChars(0, value.length(), dst, offset);
+        return offset + value.length();
+    }
+
+    @Override
+    protected final String getPos(final int pos) {
+        return columns[pos];
+    }
+
+    @Override
+    protected final void setPos(final int pos, final String value) throws InvalidRecordException {
+        if (lengths != null && pos < lengths.length && lengths[pos] > 0) {
+            int length = (value != null ? value.length() : 0) + (stringEnclose != null ? 2 * stringEnclose.length() : 0);
+            if ((value != null || stringEnclose != null) && length > lengths[pos]) {
+                String column = stringEnclose != null ? Utility.encloseString(value, stringEnclose) : value;
+                throw new InvalidRecordException("Value too large for pos " + pos + ": '" + column + "' has length " + length + " (max: " + lengths[pos] + ")");
+            }
+        }
+        columns[pos] = value;
+        set[pos] = true;
+    }
+
+    public final int getColumns() {
+        return columns.length;
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length()];
+        getChars(chars, 0);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.record;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.DecimalCodec;
+
+import java.util.Arrays;
+
+/**
+ * Positional record backed by a reusable char array, numbers are written without building Strings.
+ */
+public class ReusablePositionalRecord extends AbstractReusableRecord {
+
+    private final int[] positions;
+    private final char[] line;
+
+    public ReusablePositionalRecord(final RecordType recordType) {
+        setRecordType(recordType);
+        this.positions = recordType.getPositions();
+        this.line = new char[positions[positions.length - 1]];
+        clear();
+    }
+
+    @Override
+    public final void clear() {
+        Arrays.fill(line, ' ');
+    }
+
+    @Override
+    public final int length() {
+        return line.length;
+    }
+
+    @Override
+    public final int getChars(final char[] dst, final int offset) {
+        System.arraycopy(line, 0, dst, offset, line.length);
+        return offset + line.length;
+    }
+
+    @Override
+    public void setInteger(final int pos, final Integer value) throws InvalidRecordException {
+        if (value == null) {
+            setPos(pos, null);
+        } else {
+            setLong(pos, value.intValue());
+        }
+    }
+
+    @Override
+    public void setLong(final int pos, final Long value) throws InvalidRecordException {
+        if (value == null) {
+            setPos(pos, null);
+        } else {
+            setLong(pos, value.longValue());
+        }
+    }
+
+    @Override
+    public void setIntValue(final int pos, final int value) throws InvalidRecordException {
+        setLong(pos, value);
+    }
+
+    @Override
+    public void setLongValue(final int pos, final long value) throws InvalidRecordException {
+        setLong(pos, value);
+    }
+
+    @Override
+    public void setMinorUnits(final int pos, final long value, final DecimalCodec codec) throws InvalidRecordException {
+        int start = positions[pos];
+        int end = positions[pos + 1];
+        if (codec.length(value) > end - start) {
+            setPos(pos, codec.format(value));
+            return;
+        }
+        Arrays.fill(line, start, end, ' ');
+        codec.getChars(value, line, start);
+    }
+
+    private void setLong(final int pos, final long value) throws InvalidRecordException {
+        if (value == Long.MIN_VALUE) {
+            setPos(pos, Long.toString(value));
+            return;
+        }
+        long abs = value < 0 ? -value : value;
+        int digits = 1;
+        for (long i = abs; i >= 10; i /= 10) {
+            digits++;
+        }
+        int length = value < 0 ? digits + 1 : digits;
+        int start = positions[pos];
+        int end = positions[pos + 1];
+        if (length > end - start) {
+            setPos(pos, Long.toString(value));
+            return;
+        }
+        Arrays.fill(line, start, end, ' ');
+        if (value < 0) {
+            line[start] = '-';
+        }
+        for (int i = start + length - 1; i >= start + length - digits; i--) {
+            line[i] = (char) ('0' + abs % 10);
+            abs /= 10;
+        }
+    }
+
+    @Override
+    protected final String getPos(final int pos) throws InvalidRecordException {
+        if (pos > positions.length - 2) {
+            throw new InvalidRecordException("Invalid position: " + pos + " (max = " + (positions.length - 2) + ")");
+        }
+        return new String(line, positions[pos], positions[pos + 1] - positions[pos]);
+    }
+
+    @Override
+    protected final void setPos(final int pos, final String value) throws InvalidRecordException {
+        int start = positions[pos];
+        int end = positions[pos + 1];
+        int maxLength = end - start;
+        Arrays.fill(line, start, end, ' ');
+        if (value != null) {
+            if (value.length() > maxLength) {
+                throw new InvalidRecordException("Value too large for pos " + pos + ": '" + value + "' has length " + value.length() + " (max: " + maxLength + ")");
+            }
+            value.getChars(0, value.length(), line, start);
+        }
+    }
+
+    public final int getColumns() {
+        return positions.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return new String(line);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.type;
+
+/**
+ * Encoding of a numeric column inside a record read from bytes.
+ */
+public enum BinaryFormat {
+    /**
+     * Digits as characters of the record charset.
+     */
+    TEXT,
+    /**
+     * Packed decimal (COBOL COMP-3): two digits per byte, the low nibble of the last byte is the sign
+     * (0xD or 0xB negative, 0xC, 0xF, 0xA or 0xE positive).
+     */
+    PACKED,
+    /**
+     * Zoned decimal (COBOL DISPLAY): one digit per byte in the low nibble, the high nibble of the last
+     * byte is the sign (0xD or 0xB negative, 0xC, 0xF, 0xA or 0xE positive). ASCII digits are accepted
+     * too, with 0x3 positive and 0x7 negative.
+     */
+    ZONED,
+    /**
+     * Two's complement binary integer of 1 to 8 bytes, most significant byte first (COBOL COMP).
+     */
+    BIG_ENDIAN,
+    /**
+     * Two's complement binary integer of 1 to 8 bytes, least significant byte first.
+     */
+    LITTLE_ENDIAN
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.type;
+
+/**
+ * How records are delimited in a binary stream.
+ */
+public enum FramingType {
+    /**
+     * Each record starts with a byte pattern, which is part of the record.
+     */
+    PATTERN,
+    /**
+     * Each record starts with a header holding its unsigned binary length, as RDW records.
+     */
+    LENGTH_PREFIX,
+    /**
+     * All records have the same size.
+     */
+    FIXED_LENGTH,
+    /**
+     * Records are grouped in blocks, each starting with a header holding the block length, as BDW blocks.
+     */
+    BLOCK
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import org.jfpa.type.BinaryFormat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Decodes and encodes numeric columns stored in a {@link BinaryFormat} on the raw bytes of a record.
+ * Values are unscaled numbers: <code>scale</code> is the number of implied decimals used for BigDecimal values.
+ * Codecs are immutable and thread-safe. Invalid values throw an IllegalArgumentException.
+ */
+public final class BinaryCodec {
+
+    private static final long MAX_DIV_10 = Long.MAX_VALUE / 10;
+
+    private final BinaryFormat format;
+    private final int scale;
+
+    public BinaryCodec(final BinaryFormat format, final int scale) {
+        if (format == BinaryFormat.TEXT) {
+            throw new IllegalArgumentException("TEXT is not a binary format");
+        }
+        if (scale < 0) {
+            throw new IllegalArgumentException("Invalid scale: " + scale);
+        }
+        this.format = format;
+        this.scale = scale;
+    }
+
+    public BinaryFormat getFormat() {
+        return format;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * @return the maximum number of bytes of a column, or -1 if not limited
+     */
+    public int getMaxLength() {
+        return format == BinaryFormat.BIG_ENDIAN || format == BinaryFormat.LITTLE_ENDIAN ? 8 : -1;
+    }
+
+    public int decodeInt(final ByteChars bytes, final int start, final int end) {
+        long value = decodeLong(bytes, start, end);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * @return the unscaled value
+     */
+    public long decodeLong(final ByteChars bytes, final int start, final int end) {
+        checkLength(start, end);
+        switch (format) {
+            case BIG_ENDIAN:
+                return decodeBigEndian(bytes, start, end);
+            case LITTLE_ENDIAN:
+                return decodeLittleEndian(bytes, start, end);
+            default:
+                long result = 0;
+                for (int i = 0, digits = digits(end - start); i < digits; i++) {
+                    if (result > MAX_DIV_10) {
+                        throw new IllegalArgumentException("Value out of long range: " + toHex(bytes, start, end));
+                    }
+                    result = result * 10 + digit(bytes, start, end, i);
+                    if (result < 0) {
+                        throw new IllegalArgumentException("Value out of long range: " + toHex(bytes, start, end));
+                    }
+                }
+                return negative(bytes, start, end) ? -result : result;
+        }
+    }
+
+    /**
+     * Decimal formats longer than a long are decoded exactly.
+     */
+    public BigDecimal decodeBigDecimal(final ByteChars bytes, final int start, final int end) {
+        checkLength(start, end);
+        if (format == BinaryFormat.BIG_ENDIAN || format == BinaryFormat.LITTLE_ENDIAN || digits(end - start) < 19) {
+            return BigDecimal.valueOf(decodeLong(bytes, start, end), scale);
+        }
+        char[] digits = new char[digits(end - start)];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = (char) ('0' + digit(bytes, start, end, i));
+        }
+        BigInteger unscaled = new BigInteger(new String(digits));
+        return new BigDecimal(negative(bytes, start, end) ? unscaled.negate() : unscaled, scale);
+    }
+
+    /**
+     * Encodes an unscaled value in <code>length</code> bytes, zoned digits use the EBCDIC zone 0xF.
+     */
+    public void encode(final long value, final byte[] bytes, final int offset, final int length) {
+        checkLength(offset, offset + length);
+        switch (format) {
+            case BIG_ENDIAN:
+            case LITTLE_ENDIAN:
+                if (length < 8 && (value >> (length * 8 - 1)) != 0 && (value >> (length * 8 - 1)) != -1) {
+                    throw new IllegalArgumentException("Value " + value + " doesn't fit in " + length + " bytes");
+                }
+                for (int i = 0; i < length; i++) {
+                    int index = format == BinaryFormat.BIG_ENDIAN ? offset + length - 1 - i : offset + i;
+                    bytes[index] = (byte) (value >> (i * 8));
+                }
+                break;
+            default:
+                int digits = digits(length);
+                long remaining = value;
+                for (int i = digits - 1; i >= 0; i--) {
+                    int digit = (int) Math.abs(remaining % 10);
+                    remaining /= 10;
+                    setDigit(bytes, offset, length, i, digit);
+                }
+                if (remaining != 0) {
+                    throw new IllegalArgumentException("Value " + value + " doesn't fit in " + digits + " digits");
+                }
+                int sign = value < 0 ? 0xD : (format == BinaryFormat.PACKED ? 0xC : 0xF);
+                int last = offset + length - 1;
+                bytes[last] = (byte) (format == BinaryFormat.PACKED ? (bytes[last] & 0xF0) | sign : (bytes[last] & 0x0F) | sign << 4);
+        }
+    }
+
+    private void checkLength(final int start, final int end) {
+        int length = end - start;
+        if (length <= 0 || getMaxLength() > 0 && length > getMaxLength()) {
+            throw new IllegalArgumentException("Invalid length for " + format + ": " + length);
+        }
+    }
+
+    private int digits(final int length) {
+        return format == BinaryFormat.PACKED ? length * 2 - 1 : length;
+    }
+
+    /*
+     * Returns the digit at index, from the most significant one.
+     */
+    private int digit(final ByteChars bytes, final int start, final int end, final int index) {
+        int digit;
+        if (format == BinaryFormat.PACKED) {
+            int b = bytes.getByte(start + index / 2);
+            digit = index % 2 == 0 ? (b >> 4) & 0x0F : b & 0x0F;
+        } else {
+            digit = bytes.getByte(start + index) & 0x0F;
+        }
+        if (digit > 9) {
+            throw new IllegalArgumentException("Invalid " + format + " digit: " + toHex(bytes, start, end));
+        }
+        return digit;
+    }
+
+    private void setDigit(final byte[] bytes, final int offset, final int length, final int index, final int digit) {
+        if (format == BinaryFormat.PACKED) {
+            int i = offset + index / 2;
+            bytes[i] = (byte) (index % 2 == 0 ? (bytes[i] & 0x0F) | digit << 4 : (bytes[i] & 0xF0) | digit);
+        } else {
+            bytes[offset + index] = (byte) (0xF0 | digit);
+        }
+    }
+
+    private boolean negative(final ByteChars bytes, final int start, final int end) {
+        int last = bytes.getByte(end - 1);
+        int sign = format == BinaryFormat.PACKED ? last & 0x0F : (last >> 4) & 0x0F;
+        if (sign == 0xD || sign == 0xB || format == BinaryFormat.ZONED && sign == 0x7) {
+            return true;
+        }
+        if (sign >= 0xA || format == BinaryFormat.ZONED && sign == 0x3) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid " + format + " sign: " + toHex(bytes, start, end));
+    }
+
+    private static long decodeBigEndian(final ByteChars bytes, final int start, final int end) {
+        long result = bytes.getByte(start);
+        for (int i = start + 1; i < end; i++) {
+            result = result << 8 | (bytes.getByte(i) & 0xFF);
+        }
+        return result;
+    }
+
+    private static long decodeLittleEndian(final ByteChars bytes, final int start, final int end) {
+        long result = bytes.getByte(end - 1);
+        for (int i = end - 2; i >= start; i--) {
+            result = result << 8 | (bytes.getByte(i) & 0xFF);
+        }
+        return result;
+    }
+
+    private static String toHex(final ByteChars bytes, final int start, final int end) {
+        StringBuilder builder = new StringBuilder("0x");
+        for (int i = start; i < end; i++) {
+            builder.append(String.format("%02X", bytes.getByte(i) & 0xFF));
+        }
+        return builder.toString();
+    }
+}
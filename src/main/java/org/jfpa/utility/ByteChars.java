@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CharSequence over bytes encoded with a single-byte charset, such as US-ASCII, ISO-8859-1 or EBCDIC code pages.
+ * Every byte is mapped to its character through a table built once per charset, so the bytes are never decoded
+ * as a whole and Strings are created only by {@link #toString()}. Offsets in the sequence are byte offsets.
+ * The underlying bytes are not copied and must not change while the sequence is used.
+ */
+public final class ByteChars implements CharSequence {
+
+    private static final ConcurrentMap<Charset, char[]> TABLES = new ConcurrentHashMap<Charset, char[]>();
+
+    private final byte[] array;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+    private final char[] table;
+
+    public ByteChars(final byte[] bytes, final Charset charset) {
+        this(bytes, 0, bytes.length, charset);
+    }
+
+    public ByteChars(final byte[] bytes, final int offset, final int length, final Charset charset) {
+        this(bytes, null, offset, length, getTable(charset));
+    }
+
+    /**
+     * Wraps the remaining bytes of buffer, the buffer position is not changed.
+     */
+    public ByteChars(final ByteBuffer buffer, final Charset charset) {
+        this(buffer.hasArray() ? buffer.array() : null, buffer.hasArray() ? null : buffer,
+                buffer.hasArray() ? buffer.arrayOffset() + buffer.position() : buffer.position(), buffer.remaining(), getTable(charset));
+    }
+
+    private ByteChars(final byte[] array, final ByteBuffer buffer, final int offset, final int length, final char[] table) {
+        if (offset < 0 || length < 0 || offset + length > (array != null ? array.length : buffer.limit())) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+        }
+        this.array = array;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.table = table;
+    }
+
+    /**
+     * @return true if every character of charset is encoded in exactly one byte
+     */
+    public static boolean isSingleByte(final Charset charset) {
+        return table(charset).length > 0;
+    }
+
+    private static char[] getTable(final Charset charset) {
+        char[] table = table(charset);
+        if (table.length == 0) {
+            throw new IllegalArgumentException("Charset must be single byte: " + charset);
+        }
+        return table;
+    }
+
+    /*
+     * Tables are cached, an empty table marks a charset that is not single byte.
+     */
+    private static char[] table(final Charset charset) {
+        char[] table = TABLES.get(charset);
+        if (table == null) {
+            table = buildTable(charset);
+            TABLES.putIfAbsent(charset, table);
+        }
+        return table;
+    }
+
+    private static char[] buildTable(final Charset charset) {
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1 || charset.newDecoder().maxCharsPerByte() != 1) {
+            return new char[0];
+        }
+        char[] table = new char[256];
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        for (int i = 0; i < table.length; i++) {
+            try {
+                CharBuffer decoded = decoder.reset().decode(ByteBuffer.wrap(new byte[] {(byte) i}));
+                table[i] = decoded.length() == 1 ? decoded.get(0) : '\uFFFD';
+            } catch (CharacterCodingException e) {
+                table[i] = '\uFFFD';
+            }
+        }
+        return table;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return table[(array != null ? array[offset + index] : buffer.get(offset + index)) & 0xFF];
+    }
+
+    /**
+     * @return the raw byte at index, for columns that are not characters
+     */
+    public byte getByte(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return array != null ? array[offset + index] : buffer.get(offset + index);
+    }
+
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new ByteChars(array, buffer, offset + start, end - start, table);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = table[(array != null ? array[offset + i] : buffer.get(offset + i)) & 0xFF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reader decoding a channel through a direct byte buffer.
+ * Malformed or unmappable input is reported as an exception instead of being replaced.
+ * Reads of a single char decode through a two chars buffer, so a surrogate pair is
+ * returned one half at a time.
+ */
+public class ChannelReader extends Reader {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer pending;
+    private boolean eof;
+    private boolean flushed;
+
+    public ChannelReader(final ReadableByteChannel channel, final Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ChannelReader(final ReadableByteChannel channel, final Charset charset, final int bufferSize) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        this.bytes.flip();
+        this.pending = CharBuffer.allocate(2);
+        this.pending.flip();
+    }
+
+    @Override
+    public int read(final char[] chars, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (pending.hasRemaining()) {
+            int read = Math.min(length, pending.remaining());
+            pending.get(chars, offset, read);
+            return read;
+        }
+        if (length >= pending.capacity()) {
+            return decode(CharBuffer.wrap(chars, offset, length));
+        }
+        pending.clear();
+        int read = decode(pending);
+        pending.flip();
+        if (read < 0) {
+            return -1;
+        }
+        chars[offset] = pending.get();
+        return 1;
+    }
+
+    /*
+     * Decodes at least one char into out, which must have room for a surrogate pair.
+     */
+    private int decode(final CharBuffer out) throws IOException {
+        int offset = out.position();
+        while (true) {
+            if (!flushed) {
+                CoderResult result = decoder.decode(bytes, out, eof);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (eof && result.isUnderflow()) {
+                    flushed = decoder.flush(out).isUnderflow();
+                }
+            }
+            int read = out.position() - offset;
+            if (read > 0) {
+                return read;
+            }
+            if (flushed) {
+                return -1;
+            }
+            if (eof) {
+                continue;
+            }
+            bytes.compact();
+            try {
+                eof = channel.read(bytes) < 0;
+            } finally {
+                bytes.flip();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
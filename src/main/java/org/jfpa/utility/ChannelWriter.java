@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Writer encoding to a channel through a direct byte buffer.
+ * Malformed or unmappable characters are reported as an exception instead of being replaced.
+ */
+public class ChannelWriter extends Writer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes;
+    private char leftover;
+    private boolean hasLeftover;
+    private boolean closed;
+
+    public ChannelWriter(final WritableByteChannel channel, final Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ChannelWriter(final WritableByteChannel channel, final Charset charset, final int bufferSize) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public void write(final char[] chars, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed");
+        }
+        if (length == 0) {
+            return;
+        }
+        if (hasLeftover) {
+            // complete the surrogate pair split by the previous write
+            hasLeftover = false;
+            encode(CharBuffer.wrap(new char[]{leftover, chars[offset]}), false);
+            offset++;
+            length--;
+        }
+        encode(CharBuffer.wrap(chars, offset, length), false);
+    }
+
+    private void encode(final CharBuffer chars, final boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        if (chars.hasRemaining()) {
+            leftover = chars.get();
+            hasLeftover = true;
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!closed) {
+            drain();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            encode(CharBuffer.wrap(hasLeftover ? new char[]{leftover} : new char[0]), true);
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+}
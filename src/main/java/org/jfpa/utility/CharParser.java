@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Parses column values directly from a range of a CharSequence, without
+ * copying the range into an intermediate String. Ranges are trimmed like
+ * {@link String#trim()} and a blank range is always converted to null.
+ * Invalid values throw an IllegalArgumentException, as {@link Utility} does.
+ */
+public final class CharParser {
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private CharParser() { }
+
+    public static int trimStart(final CharSequence chars, int start, final int end) {
+        while (start < end && chars.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    public static int trimEnd(final CharSequence chars, final int start, int end) {
+        while (end > start && chars.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    public static String parseString(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        return start < end ? chars.subSequence(start, end).toString() : null;
+    }
+
+    public static Integer parseInteger(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        if (start == end) {
+            return null;
+        }
+        return (int) parseLong(chars, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #parseInteger(CharSequence, int, int)} without boxing, a blank range is 0.
+     */
+    public static int parseIntValue(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        return start == end ? 0 : (int) parseLong(chars, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static Long parseLong(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        if (start == end) {
+            return null;
+        }
+        return parseLong(chars, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #parseLong(CharSequence, int, int)} without boxing, a blank range is 0.
+     */
+    public static long parseLongValue(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        return start == end ? 0 : parseLong(chars, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /*
+     * Skips the sign and the padding following it, returns the index of the first digit.
+     */
+    static int skipSign(final CharSequence chars, final int start, final int end) {
+        int i = start;
+        char first = chars.charAt(i);
+        if (first == '-' || first == '+') {
+            i++;
+            while (i < end && chars.charAt(i) == ' ') {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /*
+     * Same algorithm of Long.parseLong: accumulates negatively to handle MIN_VALUE.
+     */
+    private static long parseLong(final CharSequence chars, final int start, final int end, final long min, final long max) {
+        boolean negative = chars.charAt(start) == '-';
+        int i = skipSign(chars, start, end);
+        if (i == end) {
+            throw invalidNumber(chars, start, end);
+        }
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(chars.charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                throw invalidNumber(chars, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidNumber(chars, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    public static Double parseDouble(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        if (start == end) {
+            return null;
+        }
+        return parseDoubleTrimmed(chars, start, end);
+    }
+
+    /**
+     * Same as {@link #parseDouble(CharSequence, int, int)} without boxing, a blank range is 0.
+     */
+    public static double parseDoubleValue(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        return start == end ? 0 : parseDoubleTrimmed(chars, start, end);
+    }
+
+    private static double parseDoubleTrimmed(final CharSequence chars, final int start, final int end) {
+        boolean negative = chars.charAt(start) == '-';
+        int digitsStart = skipSign(chars, start, end);
+        int i = digitsStart;
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    break;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == end && digits > 0 && decimals < POWERS_OF_TEN.length) {
+            // both operands are exact, so a single division is correctly rounded
+            double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+            return negative ? -value : value;
+        }
+        String value = chars.subSequence(digitsStart, end).toString();
+        if (value.startsWith("-") || value.startsWith("+")) {
+            throw invalidNumber(chars, start, end);
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            return negative ? -parsed : parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Both '.' and ',' are accepted as decimal separator.
+     */
+    public static BigDecimal parseBigDecimal(final CharSequence chars, int start, int end) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        if (start == end) {
+            return null;
+        }
+        boolean negative = chars.charAt(start) == '-';
+        int digitsStart = skipSign(chars, start, end);
+        int i = digitsStart;
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end && digits <= MAX_LONG_DIGITS; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if ((c == '.' || c == ',') && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == end && digits > 0 && digits <= MAX_LONG_DIGITS) {
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale < 0 ? 0 : scale);
+        }
+        String value = chars.subSequence(digitsStart, end).toString().replace(',', '.');
+        if (value.startsWith("-") || value.startsWith("+")) {
+            throw invalidNumber(chars, start, end);
+        }
+        try {
+            BigDecimal parsed = new BigDecimal(value);
+            return negative ? parsed.negate() : parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static Boolean parseBoolean(final CharSequence chars, int start, int end, final String[] trueFalse) {
+        start = trimStart(chars, start, end);
+        end = trimEnd(chars, start, end);
+        if (start == end) {
+            return null;
+        }
+        if (equals(chars, start, end, trueFalse[0])) {
+            return Boolean.TRUE;
+        }
+        if (equals(chars, start, end, trueFalse[1])) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Value '" + chars.subSequence(start, end) + "' is not in " + Arrays.toString(trueFalse));
+    }
+
+    public static Date parseDate(final CharSequence chars, final int start, final int end, final String format) {
+        return DateCodec.forPattern(format).parseDate(chars, start, end);
+    }
+
+    public static boolean equals(final CharSequence chars, final int start, final int end, final String value) {
+        int length = end - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static NumberFormatException invalidNumber(final CharSequence chars, final int start, final int end) {
+        return new NumberFormatException("For input string: \"" + chars.subSequence(start, end) + "\"");
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe parser and formatter for a SimpleDateFormat pattern, compiled once and
+ * shared, with the results of a non lenient SimpleDateFormat. Fixed width numeric
+ * patterns like {@link Formats#DATE_FORMAT_CLEAN_INVERTED} are handled by a hand-written
+ * codec when the value matches the pattern exactly, anything else by a SimpleDateFormat
+ * kept per thread. Date and Instant values are resolved in the default time zone as
+ * GregorianCalendar does: times skipped by a daylight saving change are invalid and
+ * repeated times are taken in standard time. Fields missing from the pattern default
+ * to 1970-01-01 00:00.
+ * Ranges are trimmed and a blank range is converted to null, invalid values
+ * throw an IllegalArgumentException. An invalid pattern yields a codec that
+ * throws an IllegalArgumentException whenever a value is parsed or formatted.
+ */
+public abstract class DateCodec {
+
+    private static final ConcurrentMap<String, DateCodec> CODECS = new ConcurrentHashMap<String, DateCodec>();
+
+    private final String pattern;
+
+    protected DateCodec(final String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Returns the shared codec for the pattern, compiling it on first use.
+     *
+     * @param pattern a SimpleDateFormat pattern
+     * @return the codec
+     */
+    public static DateCodec forPattern(final String pattern) {
+        DateCodec codec = CODECS.get(pattern);
+        if (codec == null) {
+            codec = compile(pattern);
+            DateCodec previous = CODECS.putIfAbsent(pattern, codec);
+            if (previous != null) {
+                codec = previous;
+            }
+        }
+        return codec;
+    }
+
+    private static DateCodec compile(final String pattern) {
+        SimpleDateCodec simple;
+        try {
+            simple = new SimpleDateCodec(pattern);
+        } catch (IllegalArgumentException e) {
+            return new InvalidDateCodec(pattern, e.getMessage());
+        }
+        DateCodec codec = FixedDateCodec.compile(pattern, simple);
+        return codec != null ? codec : simple;
+    }
+
+    public final String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Parses a trimmed, non empty range.
+     */
+    protected abstract LocalDateTime parse(CharSequence chars, int start, int end);
+
+    /**
+     * Parses a trimmed, non empty range as a time of the default time zone.
+     */
+    protected abstract long parseEpochMilli(CharSequence chars, int start, int end);
+
+    protected abstract String print(LocalDateTime value);
+
+    protected abstract String print(Date value);
+
+    public final LocalDateTime parseLocalDateTime(final CharSequence chars, int start, int end) {
+        start = CharParser.trimStart(chars, start, end);
+        end = CharParser.trimEnd(chars, start, end);
+        return start < end ? parse(chars, start, end) : null;
+    }
+
+    public final LocalDate parseLocalDate(final CharSequence chars, final int start, final int end) {
+        LocalDateTime value = parseLocalDateTime(chars, start, end);
+        return value != null ? value.toLocalDate() : null;
+    }
+
+    public final Instant parseInstant(final CharSequence chars, int start, int end) {
+        start = CharParser.trimStart(chars, start, end);
+        end = CharParser.trimEnd(chars, start, end);
+        return start < end ? Instant.ofEpochMilli(parseEpochMilli(chars, start, end)) : null;
+    }
+
+    public final Date parseDate(final CharSequence chars, int start, int end) {
+        start = CharParser.trimStart(chars, start, end);
+        end = CharParser.trimEnd(chars, start, end);
+        return start < end ? new Date(parseEpochMilli(chars, start, end)) : null;
+    }
+
+    public final String format(final LocalDateTime value) {
+        return value != null ? print(value) : null;
+    }
+
+    public final String format(final LocalDate value) {
+        return value != null ? print(value.atStartOfDay()) : null;
+    }
+
+    public final String format(final Instant value) {
+        return value != null ? print(new Date(value.toEpochMilli())) : null;
+    }
+
+    public final String format(final Date value) {
+        return value != null ? print(value) : null;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /*
+     * Numeric fields of fixed width (yyyy, MM, dd, HH, mm, ss, SSS) separated by optional
+     * literal characters. Values not matching the layout exactly, such as unpadded numbers
+     * or trailing characters, years SimpleDateFormat would not treat as Gregorian and
+     * times made invalid or ambiguous by a daylight saving change are left to the SimpleDateFormat.
+     */
+    private static final class FixedDateCodec extends DateCodec {
+
+        private static final String FIELDS = "yMdHmsS";
+        private static final int[] WIDTHS = {4, 2, 2, 2, 2, 2, 3};
+        private static final int FIRST_GREGORIAN_YEAR = 1583;
+
+        private final char[] layout;
+        private final SimpleDateCodec fallback;
+
+        private FixedDateCodec(final String pattern, final SimpleDateCodec fallback) {
+            super(pattern);
+            this.layout = pattern.toCharArray();
+            this.fallback = fallback;
+        }
+
+        static FixedDateCodec compile(final String pattern, final SimpleDateCodec fallback) {
+            int seen = 0;
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\'') {
+                    return null;
+                }
+                int j = i + 1;
+                if (Character.isLetter(c)) {
+                    int field = FIELDS.indexOf(c);
+                    if (field < 0 || (seen & (1 << field)) != 0) {
+                        return null;
+                    }
+                    seen |= 1 << field;
+                    while (j < pattern.length() && pattern.charAt(j) == c) {
+                        j++;
+                    }
+                    if (j - i != WIDTHS[field]) {
+                        return null;
+                    }
+                }
+                i = j;
+            }
+            return seen != 0 ? new FixedDateCodec(pattern, fallback) : null;
+        }
+
+        @Override
+        protected LocalDateTime parse(final CharSequence chars, final int start, final int end) {
+            LocalDateTime value = parseExact(chars, start, end);
+            return value != null ? value : fallback.parse(chars, start, end);
+        }
+
+        @Override
+        protected long parseEpochMilli(final CharSequence chars, final int start, final int end) {
+            LocalDateTime value = parseExact(chars, start, end);
+            if (value != null) {
+                List<ZoneOffset> offsets = ZoneId.systemDefault().getRules().getValidOffsets(value);
+                if (offsets.size() == 1) {
+                    return value.toInstant(offsets.get(0)).toEpochMilli();
+                }
+            }
+            return fallback.parseEpochMilli(chars, start, end);
+        }
+
+        private LocalDateTime parseExact(final CharSequence chars, final int start, final int end) {
+            if (end - start != layout.length) {
+                return null;
+            }
+            int year = 1970;
+            int month = 1;
+            int day = 1;
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            int millis = 0;
+            int i = 0;
+            while (i < layout.length) {
+                char field = layout[i];
+                if (FIELDS.indexOf(field) < 0) {
+                    if (chars.charAt(start + i) != field) {
+                        return null;
+                    }
+                    i++;
+                    continue;
+                }
+                int value = 0;
+                do {
+                    char c = chars.charAt(start + i);
+                    if (c < '0' || c > '9') {
+                        return null;
+                    }
+                    value = value * 10 + (c - '0');
+                    i++;
+                } while (i < layout.length && layout[i] == field);
+                switch (field) {
+                    case 'y': year = value; break;
+                    case 'M': month = value; break;
+                    case 'd': day = value; break;
+                    case 'H': hour = value; break;
+                    case 'm': minute = value; break;
+                    case 's': second = value; break;
+                    default: millis = value;
+                }
+            }
+            if (year < FIRST_GREGORIAN_YEAR) {
+                return null;
+            }
+            try {
+                return LocalDateTime.of(year, month, day, hour, minute, second, millis * 1000000);
+            } catch (DateTimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        protected String print(final LocalDateTime value) {
+            if (value.getYear() < FIRST_GREGORIAN_YEAR || value.getYear() > 9999) {
+                return fallback.print(value);
+            }
+            StringBuilder sb = new StringBuilder(layout.length + 2);
+            int i = 0;
+            while (i < layout.length) {
+                char field = layout[i];
+                int index = FIELDS.indexOf(field);
+                if (index < 0) {
+                    sb.append(field);
+                    i++;
+                    continue;
+                }
+                int number;
+                switch (field) {
+                    case 'y': number = value.getYear(); break;
+                    case 'M': number = value.getMonthValue(); break;
+                    case 'd': number = value.getDayOfMonth(); break;
+                    case 'H': number = value.getHour(); break;
+                    case 'm': number = value.getMinute(); break;
+                    case 's': number = value.getSecond(); break;
+                    default: number = value.getNano() / 1000000;
+                }
+                appendPadded(sb, number, WIDTHS[index]);
+                i += WIDTHS[index];
+            }
+            return sb.toString();
+        }
+
+        @Override
+        protected String print(final Date value) {
+            return print(LocalDateTime.ofInstant(value.toInstant(), ZoneId.systemDefault()));
+        }
+
+        private static void appendPadded(final StringBuilder sb, final int value, final int width) {
+            for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+                if (value < limit) {
+                    sb.append('0');
+                }
+            }
+            sb.append(value);
+        }
+    }
+
+    private static final class InvalidDateCodec extends DateCodec {
+
+        private final String message;
+
+        private InvalidDateCodec(final String pattern, final String message) {
+            super(pattern);
+            this.message = message;
+        }
+
+        @Override
+        protected LocalDateTime parse(final CharSequence chars, final int start, final int end) {
+            throw new IllegalArgumentException(message);
+        }
+
+        @Override
+        protected long parseEpochMilli(final CharSequence chars, final int start, final int end) {
+            throw new IllegalArgumentException(message);
+        }
+
+        @Override
+        protected String print(final LocalDateTime value) {
+            throw new IllegalArgumentException(message);
+        }
+
+        @Override
+        protected String print(final Date value) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /*
+     * SimpleDateFormat is not thread-safe, so each thread gets its own,
+     * following changes of the default time zone.
+     */
+    private static final class SimpleDateCodec extends DateCodec {
+
+        private final ThreadLocal<SimpleDateFormat> formats;
+
+        private SimpleDateCodec(final String pattern) {
+            super(pattern);
+            new SimpleDateFormat(pattern);
+            this.formats = new ThreadLocal<SimpleDateFormat>() {
+                @Override
+                protected SimpleDateFormat initialValue() {
+                    SimpleDateFormat format = new SimpleDateFormat(pattern);
+                    format.setLenient(false);
+                    return format;
+                }
+            };
+        }
+
+        private SimpleDateFormat getFormat() {
+            SimpleDateFormat format = formats.get();
+            TimeZone zone = TimeZone.getDefault();
+            if (!zone.equals(format.getTimeZone())) {
+                format.setTimeZone(zone);
+            }
+            return format;
+        }
+
+        @Override
+        protected LocalDateTime parse(final CharSequence chars, final int start, final int end) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(parseEpochMilli(chars, start, end)), ZoneId.systemDefault());
+        }
+
+        @Override
+        protected long parseEpochMilli(final CharSequence chars, final int start, final int end) {
+            try {
+                return getFormat().parse(chars.subSequence(start, end).toString()).getTime();
+            } catch (ParseException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        @Override
+        protected String print(final LocalDateTime value) {
+            return print(Date.from(value.atZone(ZoneId.systemDefault()).toInstant()));
+        }
+
+        @Override
+        protected String print(final Date value) {
+            return getFormat().format(value);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Parses and formats fixed-scale decimal values, like monetary amounts.
+ * Values are read into a long unscaled value whenever the digits fit, so
+ * the BigDecimal is built with {@link BigDecimal#valueOf(long, int)}, and are
+ * written digit by digit without going through {@link BigDecimal#toPlainString()}.
+ * Amounts can also be read and written as a long number of minor units
+ * (for example cents with scale 2).
+ * Ranges are trimmed, invalid values throw an IllegalArgumentException.
+ */
+public final class DecimalCodec {
+
+    /**
+     * Keeps the scale of the value, both '.' and ',' are accepted as decimal separator.
+     * Values are parsed by {@link CharParser#parseBigDecimal}, so exponent notation is accepted too.
+     */
+    public static final DecimalCodec DEFAULT = new DecimalCodec(-1, false, (char) 0);
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int scale;
+    private final boolean implied;
+    private final char separator;
+
+    /**
+     * @param scale the scale of values, or a negative value to keep the scale of each value
+     * @param implied whether the decimal point is implied, so only digits are written
+     * @param separator the decimal separator, or zero to accept both '.' and ','
+     */
+    public DecimalCodec(final int scale, final boolean implied, final char separator) {
+        if (scale > MAX_LONG_DIGITS) {
+            throw new IllegalArgumentException("Scale " + scale + " is greater than " + MAX_LONG_DIGITS);
+        }
+        if (implied && scale < 0) {
+            throw new IllegalArgumentException("Implied decimal point requires a scale");
+        }
+        if ((separator >= '0' && separator <= '9') || separator == '-' || separator == '+') {
+            throw new IllegalArgumentException("Invalid decimal separator '" + separator + "'");
+        }
+        this.scale = scale;
+        this.implied = implied;
+        this.separator = separator;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public boolean isImplied() {
+        return implied;
+    }
+
+    public char getSeparator() {
+        return separator;
+    }
+
+    /**
+     * A blank range is converted to null.
+     */
+    public BigDecimal parseBigDecimal(final CharSequence chars, int start, int end) {
+        if (scale < 0 && separator == 0) {
+            return CharParser.parseBigDecimal(chars, start, end);
+        }
+        start = CharParser.trimStart(chars, start, end);
+        end = CharParser.trimEnd(chars, start, end);
+        if (start == end) {
+            return null;
+        }
+        boolean negative = chars.charAt(start) == '-';
+        int digitsStart = CharParser.skipSign(chars, start, end);
+        int sep = findSeparator(chars, start, digitsStart, end);
+        int written = implied ? scale : sep < 0 ? 0 : end - sep - 1;
+        int target = scale >= 0 ? scale : written;
+        try {
+            return BigDecimal.valueOf(unscaled(chars, digitsStart, end, negative, written, target), target);
+        } catch (ArithmeticException e) {
+            String digits = chars.subSequence(digitsStart, end).toString();
+            BigDecimal value = implied ? new BigDecimal(new BigInteger(digits), scale)
+                    : new BigDecimal(sep < 0 ? digits : digits.replace(chars.charAt(sep), '.'));
+            return negative ? rescale(value, target).negate() : rescale(value, target);
+        }
+    }
+
+    /**
+     * Reads the amount as a number of minor units, a blank range is converted to 0.
+     */
+    public long parseMinorUnits(final CharSequence chars, int start, int end) {
+        start = CharParser.trimStart(chars, start, end);
+        end = CharParser.trimEnd(chars, start, end);
+        if (start == end) {
+            return 0;
+        }
+        boolean negative = chars.charAt(start) == '-';
+        int digitsStart = CharParser.skipSign(chars, start, end);
+        int sep = findSeparator(chars, start, digitsStart, end);
+        int target = Math.max(scale, 0);
+        try {
+            return unscaled(chars, digitsStart, end, negative, implied ? target : sep < 0 ? 0 : end - sep - 1, target);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value '" + chars.subSequence(start, end) + "' doesn't fit in minor units with scale " + Math.max(scale, 0));
+        }
+    }
+
+    /*
+     * Validates the digits and returns the position of the decimal separator, or -1.
+     */
+    private int findSeparator(final CharSequence chars, final int start, final int digitsStart, final int end) {
+        int sep = -1;
+        boolean digits = false;
+        for (int i = digitsStart; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (sep < 0 && !implied && (separator == 0 ? c == '.' || c == ',' : c == separator)) {
+                sep = i;
+            } else {
+                throw new IllegalArgumentException(CharParser.invalidNumber(chars, start, end));
+            }
+        }
+        if (!digits) {
+            throw new IllegalArgumentException(CharParser.invalidNumber(chars, start, end));
+        }
+        return sep;
+    }
+
+    /*
+     * Accumulates the digits negatively, to handle Long.MIN_VALUE, and rescales
+     * them from the written scale to the target one. Throws an ArithmeticException
+     * if the result doesn't fit or decimals would be lost.
+     */
+    private static long unscaled(final CharSequence chars, final int start, final int end, final boolean negative,
+                                 final int written, final int target) {
+        long unscaled = 0;
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = Math.subtractExact(Math.multiplyExact(unscaled, 10), c - '0');
+            }
+        }
+        if (target != written) {
+            if (Math.abs(target - written) > MAX_LONG_DIGITS) {
+                throw new ArithmeticException("Scale out of range");
+            }
+            if (target > written) {
+                unscaled = Math.multiplyExact(unscaled, POWERS_OF_TEN[target - written]);
+            } else {
+                long power = POWERS_OF_TEN[written - target];
+                if (unscaled % power != 0) {
+                    throw new ArithmeticException("Rounding necessary");
+                }
+                unscaled /= power;
+            }
+        }
+        return negative ? unscaled : Math.negateExact(unscaled);
+    }
+
+    private static BigDecimal rescale(final BigDecimal value, final int target) {
+        try {
+            return value.setScale(target, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value " + value + " has more than " + target + " decimals", e);
+        }
+    }
+
+    public String format(final BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        int target = scale >= 0 ? scale : Math.max(value.scale(), 0);
+        BigDecimal scaled = rescale(value, target);
+        if (scaled.precision() <= MAX_LONG_DIGITS) {
+            long unscaled = scaled.scaleByPowerOfTen(target).longValueExact();
+            char[] chars = new char[length(unscaled, target)];
+            getChars(unscaled, target, chars, 0);
+            return new String(chars);
+        }
+        if (implied) {
+            return scaled.unscaledValue().toString();
+        }
+        String plain = scaled.toPlainString();
+        return separator != 0 ? plain.replace('.', separator) : plain;
+    }
+
+    public String format(final long minorUnits) {
+        char[] chars = new char[length(minorUnits)];
+        getChars(minorUnits, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * @return the number of chars needed to write the minor units
+     */
+    public int length(final long minorUnits) {
+        return length(minorUnits, Math.max(scale, 0));
+    }
+
+    /**
+     * Writes the minor units into the array.
+     *
+     * @return the offset after the last char written
+     */
+    public int getChars(final long minorUnits, final char[] dst, final int offset) {
+        return getChars(minorUnits, Math.max(scale, 0), dst, offset);
+    }
+
+    private int length(final long unscaled, final int valueScale) {
+        int decimals = implied ? 0 : valueScale;
+        int digits = Math.max(digits(unscaled), decimals + 1);
+        return (unscaled < 0 ? 1 : 0) + digits + (decimals > 0 ? 1 : 0);
+    }
+
+    /*
+     * Works on the negative value to handle Long.MIN_VALUE.
+     */
+    private int getChars(final long unscaled, final int valueScale, final char[] dst, final int offset) {
+        int decimals = implied ? 0 : valueScale;
+        int end = offset + length(unscaled, valueScale);
+        long value = unscaled < 0 ? unscaled : -unscaled;
+        int i = end - 1;
+        for (int written = 0; i >= offset && (value != 0 || written <= decimals); written++) {
+            if (written == decimals && decimals > 0) {
+                dst[i--] = separator != 0 ? separator : '.';
+            }
+            dst[i--] = (char) ('0' - value % 10);
+            value /= 10;
+        }
+        if (unscaled < 0) {
+            dst[offset] = '-';
+        }
+        return end;
+    }
+
+    private static int digits(final long unscaled) {
+        long value = unscaled < 0 ? unscaled : -unscaled;
+        int digits = 1;
+        while (value <= -10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    @Override
+    public String toString() {
+        return "DecimalCodec[scale=" + scale + ", implied=" + implied + ", separator=" + (separator != 0 ? String.valueOf(separator) : "'.' or ','") + "]";
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+/**
+ * Single pass scanner for delimited lines.
+ * Column boundaries are recorded into an int array reused across calls to
+ * {@link #tokenize(CharSequence, int, int)}, so a tokenizer instance must not be
+ * shared between threads. When a string enclose is specified, delimiters found
+ * inside an enclosed column are not considered column separators.
+ * Static methods don't keep any state and can be freely shared.
+ */
+public class DelimitedTokenizer {
+
+    private static final int DEFAULT_COLUMNS = 16;
+
+    private final String delimiter;
+    private final String stringEnclose;
+    private final int limit;
+    private int[] bounds;
+    private int columns;
+
+    public DelimitedTokenizer(final String delimiter, final String stringEnclose) {
+        this(delimiter, stringEnclose, DEFAULT_COLUMNS);
+    }
+
+    public DelimitedTokenizer(final String delimiter, final String stringEnclose, final int expectedColumns) {
+        this(delimiter, stringEnclose, expectedColumns, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Tokenizes at most <code>limit</code> columns, the rest of the line after them is not scanned.
+     */
+    public DelimitedTokenizer(final String delimiter, final String stringEnclose, final int expectedColumns, final int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        if (Utility.isEmpty(delimiter)) {
+            throw new IllegalArgumentException("delimiter can't be empty");
+        }
+        this.delimiter = delimiter;
+        this.stringEnclose = Utility.isEmpty(stringEnclose) ? null : stringEnclose;
+        this.limit = limit;
+        this.bounds = new int[Math.max(Math.min(expectedColumns, limit), 1) * 2];
+    }
+
+    public final int tokenize(final CharSequence chars) {
+        return tokenize(chars, 0, chars.length());
+    }
+
+    /**
+     * Splits the range in columns, an empty range or a trailing delimiter
+     * produce an empty column, as <code>String.split(regex, -1)</code> does.
+     * When a limit is set, scanning stops after that many columns.
+     * @return the number of columns found
+     */
+    public final int tokenize(final CharSequence chars, final int start, final int end) {
+        columns = 0;
+        int begin = start;
+        while (true) {
+            int columnEnd = columnEnd(chars, begin, end, delimiter, stringEnclose);
+            if (columns * 2 == bounds.length) {
+                int[] oldBounds = bounds;
+                bounds = new int[oldBounds.length * 2];
+                System.arraycopy(oldBounds, 0, bounds, 0, oldBounds.length);
+            }
+            bounds[columns * 2] = begin;
+            bounds[columns * 2 + 1] = columnEnd;
+            columns++;
+            if (columnEnd == end || columns == limit) {
+                return columns;
+            }
+            begin = columnEnd + delimiter.length();
+        }
+    }
+
+    public final int getColumns() {
+        return columns;
+    }
+
+    public final int getStart(final int column) {
+        return bounds[column * 2];
+    }
+
+    public final int getEnd(final int column) {
+        return bounds[column * 2 + 1];
+    }
+
+    public final int getLimit() {
+        return limit;
+    }
+
+    public final String getDelimiter() {
+        return delimiter;
+    }
+
+    public final String getStringEnclose() {
+        return stringEnclose;
+    }
+
+    /**
+     * Extracts a single column, scanning the line only up to the end of that column.
+     * @return the column value, or null if line contains fewer columns
+     */
+    public static String column(final CharSequence chars, final int index, final String delimiter, final String stringEnclose) {
+        int end = chars.length();
+        int begin = 0;
+        for (int i = 0; i < index; i++) {
+            int columnEnd = columnEnd(chars, begin, end, delimiter, stringEnclose);
+            if (columnEnd == end) {
+                return null;
+            }
+            begin = columnEnd + delimiter.length();
+        }
+        return chars.subSequence(begin, columnEnd(chars, begin, end, delimiter, stringEnclose)).toString();
+    }
+
+    /**
+     * @return the index of the delimiter that closes the column starting at <code>begin</code>,
+     * or <code>end</code> if it's the last column
+     */
+    public static int columnEnd(final CharSequence chars, final int begin, final int end, final String delimiter, final String stringEnclose) {
+        if (stringEnclose != null && startsWith(chars, begin, end, stringEnclose)) {
+            int close = begin + stringEnclose.length();
+            while ((close = indexOf(chars, close, end, stringEnclose)) >= 0) {
+                int after = close + stringEnclose.length();
+                if (after == end || startsWith(chars, after, end, delimiter)) {
+                    return after;
+                }
+                close++;
+            }
+            // not properly enclosed, column ends at the first delimiter
+        }
+        int index = indexOf(chars, begin, end, delimiter);
+        return index < 0 ? end : index;
+    }
+
+    private static int indexOf(final CharSequence chars, final int from, final int end, final String value) {
+        int length = value.length();
+        if (chars instanceof String) {
+            int index = length == 1 ? ((String) chars).indexOf(value.charAt(0), from) : ((String) chars).indexOf(value, from);
+            return index >= 0 && index + length <= end ? index : -1;
+        }
+        char first = value.charAt(0);
+        for (int i = from; i <= end - length; i++) {
+            if (chars.charAt(i) == first && (length == 1 || startsWith(chars, i, end, value))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(final CharSequence chars, final int begin, final int end, final String value) {
+        int length = value.length();
+        if (end - begin < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars.charAt(begin + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
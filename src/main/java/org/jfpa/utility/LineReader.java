@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012 Matteo Trotta
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jfpa.utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits the content of a reader in lines terminated by '\n', '\r' or "\r\n".
+ * Memory is bounded by the buffer size, the buffer grows only to hold lines longer than itself.
+ * Not thread-safe.
+ */
+public class LineReader implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private boolean eof;
+    private long lineNumber;
+
+    public LineReader(final Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public LineReader(final Reader reader, final int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * @return the next line without terminator, or null at the end of the input
+     */
+    public String readLine() throws IOException {
+        int start = position;
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                char c = buffer[scan];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        start = ++scan;
+                        if (scan == limit) {
+                            break;
+                        }
+                        c = buffer[scan];
+                    }
+                }
+                if (c == '\n' || c == '\r') {
+                    String line = new String(buffer, start, scan - start);
+                    skipLineFeed = c == '\r';
+                    position = scan + 1;
+                    lineNumber++;
+                    return line;
+                }
+            }
+            if (eof) {
+                position = limit;
+                if (scan > start) {
+                    lineNumber++;
+                    return new String(buffer, start, scan - start);
+                }
+                return null;
+            }
+            int length = scan - start;
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, length);
+            } else if (length == buffer.length) {
+                char[] grown = new char[buffer.length << 1];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+            }
+            start = 0;
+            scan = length;
+            limit = length;
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    /**
+     * @return the number of lines read so far
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public void close() throws IOException {
+        reader.close();
+    }
+}
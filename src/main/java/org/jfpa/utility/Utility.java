@@ -1,8 +1,6 @@
 package org.jfpa.utility;
 
 import java.math.BigDecimal;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class Utility {
@@ -129,34 +127,15 @@ public class Utility {
     }
 
     public static Date stringToDate(final String date, final String format) {
-        if (!isEmpty(date)) {
-            try {
-                SimpleDateFormat sdf = new SimpleDateFormat(format);
-                sdf.setLenient(false);
-                return sdf.parse(date.trim());
-             } catch (ParseException e) {
-                throw new IllegalArgumentException(e);
-             }
-        }
-        return null;
+        return !isEmpty(date) ? DateCodec.forPattern(format).parseDate(date, 0, date.length()) : null;
     }
 
     public static String dateToString(final Date date, final String format) {
-        return date != null ? new SimpleDateFormat(format).format(date) : null;
+        return date != null ? DateCodec.forPattern(format).format(date) : null;
     }
 
-    public static Integer stringToInteger(String value) {
-        if (!isEmpty(value)) {
-            try {
-                if (value.startsWith("+")) {
-                    value = value.substring(1);
-                }
-                return Integer.parseInt(value.trim());
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException(e);
-            }
-        }
-        return null;
+    public static Integer stringToInteger(final String value) {
+        return value != null ? CharParser.parseInteger(value, 0, value.length()) : null;
     }
 
     public static String integerToString(final Integer value) {
@@ -167,32 +146,12 @@ public class Utility {
         return value != null ? value.toString() : null;
     }
 
-    public static Long stringToLong(String value) {
-        if (!isEmpty(value)) {
-            try {
-                if (value.startsWith("+")) {
-                    value = value.substring(1);
-                }
-                return Long.parseLong(value.trim());
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException(e);
-            }
-        }
-        return null;
+    public static Long stringToLong(final String value) {
+        return value != null ? CharParser.parseLong(value, 0, value.length()) : null;
     }
 
-    public static Double stringToDouble(String value) {
-        if (!isEmpty(value)) {
-            try {
-                if (value.startsWith("+")) {
-                    value = value.substring(1);
-                }
-                return Double.parseDouble(value.trim());
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException(e);
-            }
-        }
-        return null;
+    public static Double stringToDouble(final String value) {
+        return value != null ? CharParser.parseDouble(value, 0, value.length()) : null;
     }
 
     public static String doubleToString(final Double value) {
@@ -200,19 +159,11 @@ public class Utility {
     }
 
     public static BigDecimal stringToBigDecimal(final String bigDecimal) {
-        if (!isEmpty(bigDecimal)) {
-            try {
-                String bigDecimalSep = bigDecimal.replace(',', '.');
-                return new BigDecimal(bigDecimalSep.trim());
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException(e);
-            }
-        }
-        return null;
+        return bigDecimal != null ? CharParser.parseBigDecimal(bigDecimal, 0, bigDecimal.length()) : null;
     }
 
     public static String bigDecimalToString(final BigDecimal bigDecimal) {
-        return bigDecimal != null ? bigDecimal.toPlainString() : null;
+        return DecimalCodec.DEFAULT.format(bigDecimal);
     }
 
     public static String booleanToString(final Boolean value, final String[] trueFalse) {
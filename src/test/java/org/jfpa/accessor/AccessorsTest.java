@@ -0,0 +1,109 @@
+package org.jfpa.accessor;
+
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.FieldAccessor;
+import org.jfpa.interfaces.Instantiator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+public class AccessorsTest {
+
+    public static class Bean {
+        private String value;
+        private static String staticValue;
+        private int intValue;
+        private Long boxedLong;
+    }
+
+    public static class PrivateBean {
+        private PrivateBean() { }
+    }
+
+    public abstract static class AbstractBean {
+    }
+
+    public static class FailingBean {
+        public FailingBean() {
+            throw new IllegalStateException("Simulated Exception");
+        }
+    }
+
+    private static Field field(String name) throws Exception {
+        Field field = Bean.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Test
+    public void testFieldAccessor() throws Exception {
+        FieldAccessor accessor = Accessors.forField(field("value"));
+        Assert.assertTrue(accessor instanceof MethodHandleFieldAccessor);
+        Bean bean = new Bean();
+        accessor.set(bean, "A");
+        Assert.assertEquals("A", bean.value);
+        Assert.assertEquals("A", accessor.get(bean));
+    }
+
+    @Test
+    public void testPrimitiveFieldAccessor() throws Exception {
+        Bean bean = new Bean();
+        FieldAccessor accessor = Accessors.forField(field("intValue"));
+        accessor.setInt(bean, 5);
+        Assert.assertEquals(5, accessor.getInt(bean));
+        Assert.assertEquals(5L, accessor.getLong(bean));
+        accessor = Accessors.forField(field("boxedLong"));
+        accessor.setLong(bean, 6L);
+        Assert.assertEquals(Long.valueOf(6), bean.boxedLong);
+        accessor = new ReflectionFieldAccessor(field("intValue"));
+        accessor.setInt(bean, 7);
+        Assert.assertEquals(7.0, accessor.getDouble(bean), 0);
+    }
+
+    @Test
+    public void testStaticFieldAccessor() throws Exception {
+        FieldAccessor accessor = Accessors.forField(field("staticValue"));
+        accessor.set(new Bean(), "S");
+        Assert.assertEquals("S", Bean.staticValue);
+        Assert.assertEquals("S", accessor.get(null));
+    }
+
+    @Test
+    public void testReflectionFieldAccessor() throws Exception {
+        FieldAccessor accessor = new ReflectionFieldAccessor(field("value"));
+        Bean bean = new Bean();
+        accessor.set(bean, "B");
+        Assert.assertEquals("B", accessor.get(bean));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testFieldAccessorWrongType() throws Exception {
+        Accessors.forField(field("value")).set(new Bean(), 1);
+    }
+
+    @Test
+    public void testInstantiator() throws Exception {
+        Instantiator<Bean> instantiator = Accessors.forClass(Bean.class);
+        Assert.assertTrue(instantiator instanceof LambdaInstantiator);
+        Assert.assertNotNull(instantiator.newInstance());
+        Assert.assertNotNull(new MethodHandleInstantiator<Bean>(Bean.class).newInstance());
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testPrivateConstructor() throws Exception {
+        Instantiator<PrivateBean> instantiator = Accessors.forClass(PrivateBean.class);
+        Assert.assertTrue(instantiator instanceof ReflectionInstantiator);
+        instantiator.newInstance();
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testAbstract() throws Exception {
+        Accessors.forClass(AbstractBean.class).newInstance();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testConstructorException() throws Exception {
+        Accessors.forClass(FailingBean.class).newInstance();
+    }
+}
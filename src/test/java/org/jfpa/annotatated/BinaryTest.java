@@ -4,14 +4,34 @@ import org.jfpa.annotation.Binary;
 import org.jfpa.annotation.TextColumn;
 import org.jfpa.annotation.Delimited;
 import org.jfpa.annotation.MultipleDelimited;
+import org.jfpa.annotation.Positional;
 import org.jfpa.exception.InvalidRecordException;
 import org.jfpa.exception.JfpaException;
 import org.jfpa.interfaces.RecordHandler;
 import org.jfpa.manager.BinaryRecordManager;
+import org.jfpa.manager.RecordManager;
+import org.jfpa.type.BinaryFormat;
+import org.jfpa.type.FramingType;
+import org.jfpa.utility.BinaryCodec;
+import org.jfpa.utility.LatencyHistogram;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created by IntelliJ IDEA.
  * User: Matteo Trotta
@@ -119,6 +139,20 @@ public class BinaryTest {
         Assert.assertEquals(1, complete);
     }
 
+    @Test
+    public void testChannel() throws Exception {
+        StringBuilder stream = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            stream.append(line);
+        }
+        BinaryRecordManager manager = new BinaryRecordManager(FakeBinaryRecordBytes.class, handler);
+        manager.consume(Channels.newChannel(new ByteArrayInputStream(stream.toString().getBytes())));
+        Assert.assertEquals(100, complete);
+        manager.process(ByteBuffer.wrap(stream.toString().getBytes()));
+        manager.flush();
+        Assert.assertEquals(200, complete);
+    }
+
     @Binary(pattern = {0x30, 0x31, 0x32})
     @Delimited(delimiter = ":")
     public static class FakeBinaryRecordBytes {
@@ -244,6 +278,283 @@ public class BinaryTest {
     public static class BadBinaryRecord {
     }
 
+    @Binary(patternString = "H", encoding = "Cp1047")
+    @Positional
+    public static class MainframeRecord {
+        @TextColumn(length = 1)
+        private String type;
+        @TextColumn(length = 5)
+        private String name;
+        @TextColumn(length = 4, binaryFormat = BinaryFormat.PACKED, scale = 2)
+        private BigDecimal amount;
+        @TextColumn(length = 2, binaryFormat = BinaryFormat.BIG_ENDIAN)
+        private int count;
+        @TextColumn(length = 3, binaryFormat = BinaryFormat.ZONED, scale = 1)
+        private long tenths;
+        @TextColumn(length = 4, binaryFormat = BinaryFormat.LITTLE_ENDIAN)
+        private Integer code;
+    }
+
+    private byte[] mainframeRecord(String name, long amount, int count, long tenths, int code) throws Exception {
+        byte[] bytes = new byte[19];
+        System.arraycopy(("H" + name).getBytes("Cp1047"), 0, bytes, 0, 6);
+        new BinaryCodec(BinaryFormat.PACKED, 2).encode(amount, bytes, 6, 4);
+        new BinaryCodec(BinaryFormat.BIG_ENDIAN, 0).encode(count, bytes, 10, 2);
+        new BinaryCodec(BinaryFormat.ZONED, 1).encode(tenths, bytes, 12, 3);
+        new BinaryCodec(BinaryFormat.LITTLE_ENDIAN, 0).encode(code, bytes, 15, 4);
+        return bytes;
+    }
+
+    @Test
+    public void testMainframe() throws Exception {
+        final List<MainframeRecord> records = new ArrayList<MainframeRecord>();
+        BinaryRecordManager manager = new BinaryRecordManager(MainframeRecord.class, new RecordHandler<MainframeRecord>() {
+            public void handle(MainframeRecord record) {
+                records.add(record);
+            }
+        });
+        manager.process(mainframeRecord("ROSSI", 1234567, 300, -125, 70000));
+        manager.process(mainframeRecord("VERDI", -5, -2, 999, -1));
+        manager.flush();
+        Assert.assertEquals(2, records.size());
+        MainframeRecord record = records.get(0);
+        Assert.assertEquals("ROSSI", record.name);
+        Assert.assertEquals(new BigDecimal("12345.67"), record.amount);
+        Assert.assertEquals(300, record.count);
+        Assert.assertEquals(-125L, record.tenths);
+        Assert.assertEquals(Integer.valueOf(70000), record.code);
+        record = records.get(1);
+        Assert.assertEquals(new BigDecimal("-0.05"), record.amount);
+        Assert.assertEquals(-2, record.count);
+        Assert.assertEquals(999L, record.tenths);
+        Assert.assertEquals(Integer.valueOf(-1), record.code);
+    }
+
+    @Binary(framing = FramingType.BLOCK, lengthSize = 2, headerSize = 4, lengthInclusive = true, encoding = "Cp1047")
+    @Positional
+    public static class VariableBlockedRecord {
+        @TextColumn(length = 5)
+        private String name;
+        @TextColumn(length = 4, binaryFormat = BinaryFormat.PACKED, scale = 2)
+        private BigDecimal amount;
+    }
+
+    private byte[] variableBlock(String... names) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        int length = 4 + names.length * 13;
+        stream.write(new byte[] {(byte) (length >> 8), (byte) length, 0, 0});
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = new byte[13];
+            bytes[1] = 13;
+            System.arraycopy(names[i].getBytes("Cp1047"), 0, bytes, 4, 5);
+            new BinaryCodec(BinaryFormat.PACKED, 2).encode(i * 100 + 1, bytes, 9, 4);
+            stream.write(bytes);
+        }
+        return stream.toByteArray();
+    }
+
+    @Test
+    public void testVariableBlocked() throws Exception {
+        final List<VariableBlockedRecord> records = new ArrayList<VariableBlockedRecord>();
+        BinaryRecordManager manager = new BinaryRecordManager(VariableBlockedRecord.class, new RecordHandler<VariableBlockedRecord>() {
+            public void handle(VariableBlockedRecord record) {
+                records.add(record);
+            }
+        });
+        manager.process(variableBlock("ROSSI", "VERDI"));
+        manager.process(variableBlock("BIANC"));
+        manager.flush();
+        Assert.assertEquals(3, records.size());
+        Assert.assertEquals("VERDI", records.get(1).name);
+        Assert.assertEquals(new BigDecimal("1.01"), records.get(1).amount);
+        Assert.assertEquals("BIANC", records.get(2).name);
+        Assert.assertEquals(new BigDecimal("0.01"), records.get(2).amount);
+    }
+
+    @Binary(patternStrings = {"ORD", "CXL"})
+    @Delimited(delimiter = ":")
+    public static class OrderRecord {
+        @TextColumn
+        private String type;
+        @TextColumn
+        private String id;
+    }
+
+    @Binary(patternString = "TRD")
+    @Delimited(delimiter = ":")
+    public static class TradeRecord {
+        @TextColumn
+        private String type;
+        @TextColumn
+        private String id;
+        @TextColumn
+        private int quantity;
+    }
+
+    @Test
+    public void testMultiplePatterns() throws Exception {
+        final List<Object> records = new ArrayList<Object>();
+        BinaryRecordManager manager = new BinaryRecordManager(new RecordHandler<Object>() {
+            public void handle(Object record) {
+                records.add(record);
+            }
+        }, OrderRecord.class, TradeRecord.class);
+        manager.process("ORD:1:TRD:2:10:CX".getBytes());
+        manager.process("L:3:".getBytes());
+        manager.flush();
+        Assert.assertEquals(3, records.size());
+        Assert.assertEquals("1", ((OrderRecord) records.get(0)).id);
+        Assert.assertEquals(10, ((TradeRecord) records.get(1)).quantity);
+        Assert.assertEquals("CXL", ((OrderRecord) records.get(2)).type);
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testMultiplePatternsEncoding() throws Exception {
+        new BinaryRecordManager(null, OrderRecord.class, FakeBinaryRecordBytesEncoding.class);
+    }
+
+    @Binary(patternString = "CXLALL")
+    @Delimited(delimiter = ":")
+    public static class CancelAllRecord {
+        @TextColumn
+        private String type;
+    }
+
+    @Test
+    public void testMultiplePatternsOverlap() throws Exception {
+        try {
+            new BinaryRecordManager(null, OrderRecord.class, TradeRecord.class, CancelAllRecord.class);
+            Assert.fail("Overlapping patterns accepted");
+        } catch (JfpaException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(CancelAllRecord.class.getName()));
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(OrderRecord.class.getName()));
+        }
+    }
+
+    @Binary(patternStrings = {"ORD", "TRD"})
+    @Delimited(delimiter = ":")
+    public static class AnyRecord {
+        @TextColumn
+        private String type;
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testMultiplePatternsDuplicate() throws Exception {
+        new BinaryRecordManager(null, TradeRecord.class, AnyRecord.class);
+    }
+
+    @Binary(patternString = "ORD", trailerString = ";")
+    @Delimited(delimiter = ":")
+    public static class TrailerRecord {
+        @TextColumn
+        private String type;
+        @TextColumn
+        private String id;
+    }
+
+    @Test
+    public void testTrailer() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordManager manager = new BinaryRecordManager(new RecordHandler<String>() {
+            public void handle(String record) {
+                records.add(record);
+            }
+        }, TrailerRecord.class);
+        LatencyHistogram histogram = new LatencyHistogram();
+        manager.setLatencyHistogram(histogram);
+        manager.process("ORD:1;ORD:2".getBytes());
+        Assert.assertEquals(Arrays.asList("ORD:1;"), records);
+        manager.process(";".getBytes());
+        Assert.assertEquals(Arrays.asList("ORD:1;", "ORD:2;"), records);
+        Assert.assertEquals(2, histogram.getCount());
+    }
+
+    @Test
+    public void testIdleFlush() throws Exception {
+        final BlockingQueue<Object> records = new LinkedBlockingQueue<Object>();
+        BinaryRecordManager manager = new BinaryRecordManager(FakeBinaryRecordBytes.class, new RecordHandler<FakeBinaryRecordBytes>() {
+            public void handle(FakeBinaryRecordBytes record) {
+                records.add(record);
+            }
+        });
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            manager.scheduleIdleFlush(scheduler, 10, TimeUnit.MILLISECONDS);
+            manager.process(line.getBytes());
+            FakeBinaryRecordBytes record = (FakeBinaryRecordBytes) records.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(record);
+            Assert.assertEquals(val2, record.getVal2());
+            manager.process(line.getBytes());
+            Assert.assertNotNull(records.poll(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdownNow();
+        }
+        manager.flush();
+        Assert.assertTrue(records.isEmpty());
+    }
+
+    @Binary(patternString = "ORD", lengthOffset = 0, framing = FramingType.FIXED_LENGTH, recordLength = 5)
+    @Delimited
+    public static class BadLengthOffsetRecord {
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testBadLengthOffset() throws Exception {
+        new BinaryRecordManager(BadLengthOffsetRecord.class, null);
+    }
+
+    @Binary(framing = FramingType.FIXED_LENGTH, recordLength = 11)
+    @Delimited(delimiter = ":")
+    public static class FixedBinaryRecord {
+        @TextColumn
+        private String val1;
+        @TextColumn
+        private String val2;
+    }
+
+    @Test
+    public void testFixedLength() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordManager manager = new BinaryRecordManager(new RecordHandler<String>() {
+            public void handle(String record) {
+                records.add(record);
+            }
+        }, FixedBinaryRecord.class);
+        manager.process((line + line).getBytes());
+        manager.flush();
+        Assert.assertEquals(Arrays.asList(line, line), records);
+    }
+
+    @Binary(framing = FramingType.LENGTH_PREFIX, lengthSize = 3, headerSize = 2)
+    @Delimited
+    public static class BadFramingRecord {
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testBadFraming() throws Exception {
+        new BinaryRecordManager(BadFramingRecord.class, null);
+    }
+
+    @Binary(framing = FramingType.FIXED_LENGTH, recordLength = 1, patternString = "A")
+    @Delimited
+    public static class BadFramingPatternRecord {
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testBadFramingPattern() throws Exception {
+        new BinaryRecordManager(BadFramingPatternRecord.class, null);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testMainframeText() throws Exception {
+        new RecordManager().read("HROSSI0000000000000", MainframeRecord.class);
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testMainframeWrite() throws Exception {
+        new RecordManager().write(new MainframeRecord());
+    }
+
     @Test(expected = JfpaException.class)
     public void testBad() throws Exception {
         new BinaryRecordManager(BadBinaryRecord.class, null);
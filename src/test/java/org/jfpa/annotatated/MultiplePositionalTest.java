@@ -41,6 +41,18 @@ public class MultiplePositionalTest {
         Common.testRead(record.getRecordB());
     }
 
+    @Test
+    public void testReadInto() throws Exception {
+        FakeMultiplePositionalRecord record = manager.read(Common.posLineA, FakeMultiplePositionalRecord.class);
+        FakePositionalRecordA recordA = record.getRecordA();
+        Assert.assertSame(record, manager.readInto(Common.posLineA, record));
+        Assert.assertSame(recordA, record.getRecordA());
+        Common.testRead(record.getRecordA());
+        manager.readInto(Common.posLineB, record);
+        Assert.assertNull(record.getRecordA());
+        Common.testRead(record.getRecordB());
+    }
+
     @Test(expected = InvalidRecordException.class)
     public void testReadC() throws Exception {
         manager.read(Common.posLineC, FakeMultiplePositionalRecord.class);
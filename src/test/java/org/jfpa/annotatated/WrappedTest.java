@@ -35,6 +35,17 @@ public class WrappedTest {
         Assert.assertEquals("C",record.after);
     }
 
+    @Test
+    public void testWrappedReadInto() throws Exception {
+        FakeDelimited record = manager.read("A;B;C", FakeDelimited.class);
+        FakeWrapped wrapped = record.wrapped;
+        manager.readInto("D;;F", record);
+        Assert.assertEquals("D", record.before);
+        Assert.assertSame(wrapped, record.wrapped);
+        Assert.assertNull(record.wrapped.innerColumn);
+        Assert.assertEquals("F", record.after);
+    }
+
     @Test
     public void testWrappedWrite() throws Exception {
         FakeDelimited record = new FakeDelimited();
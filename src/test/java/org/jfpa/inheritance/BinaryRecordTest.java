@@ -4,12 +4,23 @@ import org.jfpa.exception.JfpaException;
 import org.jfpa.interfaces.RecordHandler;
 import org.jfpa.record.AbstractBinaryRecord;
 import org.jfpa.builder.BinaryRecordBuilder;
+import org.jfpa.builder.RecordFraming;
 import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.utility.LatencyHistogram;
 import org.jfpa.utility.Utility;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created by IntelliJ IDEA.
  * User: Matteo Trotta
@@ -154,6 +165,319 @@ public class BinaryRecordTest {
         builder.flush();
     }
 
+    @Test
+    public void testChunked() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<FakeBinaryRecord> builder = new BinaryRecordBuilder<FakeBinaryRecord>(new FakeBinaryRecord(), new RecordHandler<FakeBinaryRecord>() {
+            public void handle(FakeBinaryRecord record) {
+                records.add(record.toString());
+            }
+        });
+        List<String> expected = new ArrayList<String>();
+        StringBuilder stream = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            StringBuilder value = new StringBuilder("{1:");
+            for (int j = 0; j < i * 97; j++) {
+                value.append((char) ('A' + (i + j) % 26));
+            }
+            expected.add(value.toString());
+            stream.append(value);
+        }
+        byte[] bytes = stream.toString().getBytes();
+        for (int chunk : new int[] {1, 2, 7, 300, 4096}) {
+            records.clear();
+            for (int offset = 0; offset < bytes.length; offset += chunk) {
+                builder.process(bytes, offset, Math.min(chunk, bytes.length - offset));
+            }
+            builder.flush();
+            Assert.assertTrue(builder.isEmpty());
+            Assert.assertEquals(expected, records);
+        }
+    }
+
+    @Test
+    public void testSlice() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<FakeBinaryRecord> builder = new BinaryRecordBuilder<FakeBinaryRecord>(new FakeBinaryRecord(), new RecordHandler<FakeBinaryRecord>() {
+            public void handle(FakeBinaryRecord record) {
+                Assert.assertTrue(record.getBuffer().isReadOnly());
+                records.add(record.toString());
+            }
+        });
+        builder.setSliceRecords(true);
+        List<String> expected = new ArrayList<String>();
+        StringBuilder stream = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            StringBuilder value = new StringBuilder("{1:");
+            for (int j = 0; j < i * 53; j++) {
+                value.append((char) ('A' + (i + j) % 26));
+            }
+            expected.add(value.toString());
+            stream.append(value);
+        }
+        byte[] bytes = stream.toString().getBytes();
+        builder.consume(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        Assert.assertTrue(builder.isEmpty());
+        Assert.assertEquals(expected, records);
+        for (int chunk : new int[] {1, 5, 300}) {
+            records.clear();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            while (buffer.hasRemaining()) {
+                ByteBuffer slice = buffer.duplicate();
+                slice.limit(Math.min(buffer.position() + chunk, buffer.limit()));
+                builder.process(slice);
+                buffer.position(slice.position());
+            }
+            builder.flush();
+            Assert.assertEquals(expected, records);
+        }
+    }
+
+    private List<String> frame(RecordFraming framing, byte[] bytes, int chunk) throws InvalidRecordException {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<FakeBinaryRecord> builder = new BinaryRecordBuilder<FakeBinaryRecord>(new FakeBinaryRecord(), new RecordHandler<FakeBinaryRecord>() {
+            public void handle(FakeBinaryRecord record) {
+                records.add(record.toString());
+            }
+        }, framing);
+        for (int offset = 0; offset < bytes.length; offset += chunk) {
+            builder.process(bytes, offset, Math.min(chunk, bytes.length - offset));
+        }
+        builder.flush();
+        Assert.assertTrue(builder.isEmpty());
+        return records;
+    }
+
+    @Test
+    public void testLengthPrefix() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            String value = Utility.rightPad("R" + i, i * 31 + 3);
+            expected.add(value);
+            int length = value.length() + 4;
+            stream.write(new byte[] {(byte) (length >> 8), (byte) length, 0, 0});
+            stream.write(value.getBytes());
+        }
+        for (int chunk : new int[] {1, 3, 300}) {
+            Assert.assertEquals(expected, frame(RecordFraming.lengthPrefix(2, 4, false, true), stream.toByteArray(), chunk));
+        }
+        stream.reset();
+        stream.write(new byte[] {3, 0, 'a', 'b', 'c', 0, 0});
+        Assert.assertEquals(Arrays.asList("abc", ""), frame(RecordFraming.lengthPrefix(2, 2, true, false), stream.toByteArray(), 1));
+    }
+
+    @Test
+    public void testFixedLength() throws Exception {
+        byte[] bytes = "AAABBBCCC".getBytes();
+        for (int chunk : new int[] {1, 2, 9}) {
+            Assert.assertEquals(Arrays.asList("AAA", "BBB", "CCC"), frame(RecordFraming.fixedLength(3), bytes, chunk));
+        }
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        RecordFraming header = RecordFraming.lengthPrefix(2, 4, false, true);
+        byte[] blocks = {0, 15, 0, 0, 0, 5, 0, 0, 'A', 0, 6, 0, 0, 'B', 'C', 0, 4, 0, 0, 0, 9, 0, 0, 0, 5, 0, 0, 'D'};
+        for (int chunk : new int[] {1, 5, 100}) {
+            Assert.assertEquals(Arrays.asList("A", "BC", "D"), frame(RecordFraming.block(header, header), blocks, chunk));
+        }
+        byte[] fixed = {0, 8, 0, 0, 'A', 'B', 'C', 'D', 0, 6, 0, 0, 'E', 'F'};
+        Assert.assertEquals(Arrays.asList("AB", "CD", "EF"), frame(RecordFraming.block(header, RecordFraming.fixedLength(2)), fixed, 3));
+    }
+
+    @Test
+    public void testFramingInvalid() throws Exception {
+        RecordFraming header = RecordFraming.lengthPrefix(2, 4, false, true);
+        try {
+            frame(header, new byte[] {0, 2, 0, 0, 'A'}, 10);
+            Assert.fail();
+        } catch (InvalidRecordException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Invalid record length 2"));
+        }
+        try {
+            frame(header, new byte[] {0, 6, 0, 0, 'A'}, 10);
+            Assert.fail();
+        } catch (InvalidRecordException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Truncated record"));
+        }
+        try {
+            frame(RecordFraming.block(header, header), new byte[] {0, 8, 0, 0, 0, 6, 0, 0, 'A', 'B'}, 10);
+            Assert.fail();
+        } catch (InvalidRecordException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Invalid record length 6"));
+        }
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testFramingBadLength() throws Exception {
+        RecordFraming.lengthPrefix(8, 8, false, false);
+    }
+
+    public static class MultiBinaryRecord extends AbstractBinaryRecord {
+
+        public static final byte[][] PATTERNS = {"{1:".getBytes(), "{22:".getBytes(), "2:A".getBytes(), "ABAB".getBytes()};
+
+        @Override
+        public byte[] getPattern() {
+            return PATTERNS[0];
+        }
+
+        @Override
+        public byte[][] getPatterns() {
+            return PATTERNS;
+        }
+    }
+
+    @Test
+    public void testMultiplePatterns() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<MultiBinaryRecord> builder = new BinaryRecordBuilder<MultiBinaryRecord>(new MultiBinaryRecord(), new RecordHandler<MultiBinaryRecord>() {
+            public void handle(MultiBinaryRecord record) {
+                records.add(record.getPatternIndex() + record.toString());
+            }
+        });
+        byte[] bytes = "{1:X{2{22:B{12:AABABA{1:".getBytes();
+        List<String> expected = Arrays.asList("0{1:X{2", "1{22:B{1", "22:A", "3ABABA", "0{1:");
+        for (int chunk : new int[] {1, 2, 5, 100}) {
+            records.clear();
+            for (int offset = 0; offset < bytes.length; offset += chunk) {
+                builder.process(bytes, offset, Math.min(chunk, bytes.length - offset));
+            }
+            builder.flush();
+            Assert.assertEquals(expected, records);
+        }
+    }
+
+    public static class TrailerBinaryRecord extends FakeBinaryRecord {
+
+        @Override
+        public byte[] getTrailer() {
+            return "}".getBytes();
+        }
+    }
+
+    @Test
+    public void testTrailer() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<TrailerBinaryRecord> builder = new BinaryRecordBuilder<TrailerBinaryRecord>(new TrailerBinaryRecord(), new RecordHandler<TrailerBinaryRecord>() {
+            public void handle(TrailerBinaryRecord record) {
+                records.add(record.toString());
+            }
+        });
+        builder.process("{1:AB".getBytes());
+        Assert.assertTrue(records.isEmpty());
+        builder.process("C}".getBytes());
+        Assert.assertEquals(Arrays.asList("{1:ABC}"), records);
+        Assert.assertTrue(builder.isEmpty());
+        builder.process("{1:D}{1:E".getBytes());
+        Assert.assertEquals(Arrays.asList("{1:ABC}", "{1:D}"), records);
+        builder.flush();
+        Assert.assertEquals(Arrays.asList("{1:ABC}", "{1:D}", "{1:E"), records);
+        try {
+            builder.process("X}{1:F}".getBytes());
+            Assert.fail();
+        } catch (InvalidRecordException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Out of sync"));
+        }
+    }
+
+    @Test
+    public void testLengthField() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<FakeBinaryRecord> builder = new BinaryRecordBuilder<FakeBinaryRecord>(new FakeBinaryRecord(), new RecordHandler<FakeBinaryRecord>() {
+            public void handle(FakeBinaryRecord record) {
+                records.add(record.toString());
+            }
+        });
+        builder.setLengthField(RecordFraming.lengthField(3, 1, false, false));
+        builder.process("{1:".getBytes());
+        builder.process(new byte[] {4});
+        builder.process("{1:{".getBytes());
+        Assert.assertEquals(Arrays.asList("{1:\u0004{1:{"), records);
+        builder.process(new byte[] {'{', '1', ':', 0, '{', '1', ':', 5, 'A'});
+        Assert.assertEquals(Arrays.asList("{1:\u0004{1:{", "{1:\u0000"), records);
+        try {
+            builder.flush();
+            Assert.fail();
+        } catch (InvalidRecordException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Truncated record"));
+        }
+        Assert.assertTrue(builder.isEmpty());
+    }
+
+    @Test
+    public void testFlushIdle() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<FakeBinaryRecord> builder = new BinaryRecordBuilder<FakeBinaryRecord>(new FakeBinaryRecord(), new RecordHandler<FakeBinaryRecord>() {
+            public void handle(FakeBinaryRecord record) {
+                records.add(record.toString());
+            }
+        });
+        LatencyHistogram histogram = new LatencyHistogram();
+        builder.setLatencyHistogram(histogram);
+        builder.process("{1:A".getBytes());
+        Assert.assertFalse(builder.flushIdle());
+        builder.setIdleTimeout(1, TimeUnit.NANOSECONDS);
+        builder.process("B".getBytes());
+        Thread.sleep(1);
+        Assert.assertTrue(builder.flushIdle());
+        Assert.assertFalse(builder.flushIdle());
+        Assert.assertEquals(Arrays.asList("{1:AB"), records);
+        builder.process("{1:C".getBytes());
+        builder.flush();
+        Assert.assertEquals(Arrays.asList("{1:AB", "{1:C"), records);
+        Assert.assertEquals(2, histogram.getCount());
+        Assert.assertTrue(histogram.getMax() > 0);
+    }
+
+    @Test
+    public void testLatencyHistogramMidStream() throws Exception {
+        BinaryRecordBuilder<FakeBinaryRecord> builder = new BinaryRecordBuilder<FakeBinaryRecord>(new FakeBinaryRecord(), new RecordHandler<FakeBinaryRecord>() {
+            public void handle(FakeBinaryRecord record) {
+            }
+        });
+        builder.process("{1:A".getBytes());
+        Thread.sleep(5);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long enabled = System.nanoTime();
+        builder.setLatencyHistogram(histogram);
+        builder.process("{1:B".getBytes());
+        long elapsed = System.nanoTime() - enabled;
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertTrue(histogram.getMax() <= elapsed);
+    }
+
+    public static class PriceBinaryRecord extends AbstractBinaryRecord {
+
+        public static final byte[] PATTERN = "AB".getBytes();
+
+        @Override
+        public byte[] getPattern() {
+            return PATTERN;
+        }
+    }
+
+    @Test
+    public void testFlushIdlePartialPattern() throws Exception {
+        final List<String> records = new ArrayList<String>();
+        BinaryRecordBuilder<PriceBinaryRecord> builder = new BinaryRecordBuilder<PriceBinaryRecord>(new PriceBinaryRecord(), new RecordHandler<PriceBinaryRecord>() {
+            public void handle(PriceBinaryRecord record) {
+                records.add(record.toString());
+            }
+        });
+        builder.setIdleTimeout(1, TimeUnit.NANOSECONDS);
+        builder.process("ABprice=1A".getBytes());
+        Thread.sleep(1);
+        Assert.assertTrue(builder.flushIdle());
+        Assert.assertEquals(Arrays.asList("ABprice=1A"), records);
+        builder.process("ABprice=2".getBytes());
+        Thread.sleep(1);
+        Assert.assertTrue(builder.flushIdle());
+        Assert.assertEquals(Arrays.asList("ABprice=1A", "ABprice=2"), records);
+    }
+
     public static class FakeBinary extends AbstractBinaryRecord {
 
         public static final byte[] PATTERN = "111:".getBytes();
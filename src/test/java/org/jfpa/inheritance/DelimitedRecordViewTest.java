@@ -0,0 +1,74 @@
+package org.jfpa.inheritance;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.FlatRecord;
+import org.jfpa.record.DelimitedRecordView;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.Formats;
+import org.jfpa.utility.Utility;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class DelimitedRecordViewTest {
+
+    private static final RecordType TYPE = new RecordType(";", 4);
+    private static final RecordType ENCLOSED = new RecordType(";", 2, "\"", new int[]{5, 0});
+    private static final String LINE = "A ;+12;30/12/1982;Y";
+
+    @Test
+    public void testView() throws Exception {
+        FlatRecord record = new DelimitedRecordView(TYPE, LINE);
+        Assert.assertEquals(4, record.getColumns());
+        Assert.assertEquals("A", record.getString(0));
+        Assert.assertEquals(Integer.valueOf(12), record.getInteger(1));
+        Assert.assertEquals(Long.valueOf(12), record.getLong(1));
+        Assert.assertEquals(Double.valueOf(12), record.getDouble(1));
+        Assert.assertEquals(new BigDecimal(12), record.getBigDecimal(1));
+        Assert.assertEquals(Utility.stringToDate("30/12/1982", Formats.DATE_FORMAT), record.getDate(2, Formats.DATE_FORMAT));
+        Assert.assertEquals(Boolean.TRUE, record.getBoolean(3, Formats.BOOLEAN_Y_N));
+        Assert.assertEquals(LINE, record.toString());
+    }
+
+    @Test
+    public void testEnclosed() throws Exception {
+        FlatRecord record = new DelimitedRecordView(ENCLOSED, "\"A;B\";\"12\"");
+        Assert.assertEquals(2, record.getColumns());
+        Assert.assertEquals("A;B", record.getString(0));
+        Assert.assertEquals(Integer.valueOf(12), record.getInteger(1));
+    }
+
+    @Test
+    public void testRange() throws Exception {
+        String line = "##" + LINE + "##";
+        FlatRecord record = new DelimitedRecordView(TYPE, line, 2, line.length() - 2);
+        Assert.assertEquals(Boolean.TRUE, record.getBoolean(3, Formats.BOOLEAN_Y_N));
+        Assert.assertEquals(LINE, record.toString());
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testNotEnclosed() throws Exception {
+        new DelimitedRecordView(ENCLOSED, "A;\"12\"").getString(0);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testTooLong() throws Exception {
+        new DelimitedRecordView(ENCLOSED, "\"ABCDEF\";\"12\"").getString(0);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testTooFewColumns() throws Exception {
+        new DelimitedRecordView(TYPE, "A;1");
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testNull() throws Exception {
+        new DelimitedRecordView(TYPE, null);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() throws Exception {
+        new DelimitedRecordView(TYPE, LINE).setString(0, "B");
+    }
+}
@@ -0,0 +1,66 @@
+package org.jfpa.inheritance;
+
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.FlatRecord;
+import org.jfpa.record.PositionalRecordView;
+import org.jfpa.type.RecordType;
+import org.jfpa.utility.Formats;
+import org.jfpa.utility.Utility;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class PositionalRecordViewTest {
+
+    private static final RecordType TYPE = new RecordType(new int[]{5, 5, 10, 1});
+    private static final String LINE = "A    +12  30/12/1982Y";
+
+    @Test
+    public void testView() throws Exception {
+        FlatRecord record = new PositionalRecordView(TYPE, LINE);
+        Assert.assertEquals(4, record.getColumns());
+        Assert.assertEquals("A", record.getString(0));
+        Assert.assertEquals(Integer.valueOf(12), record.getInteger(1));
+        Assert.assertEquals(Long.valueOf(12), record.getLong(1));
+        Assert.assertEquals(Double.valueOf(12), record.getDouble(1));
+        Assert.assertEquals(new BigDecimal(12), record.getBigDecimal(1));
+        Assert.assertEquals(Utility.stringToDate("30/12/1982", Formats.DATE_FORMAT), record.getDate(2, Formats.DATE_FORMAT));
+        Assert.assertEquals(Boolean.TRUE, record.getBoolean(3, Formats.BOOLEAN_Y_N));
+        Assert.assertEquals(LINE, record.toString());
+    }
+
+    @Test
+    public void testCharArray() throws Exception {
+        char[] chars = ("##" + LINE + "##").toCharArray();
+        FlatRecord record = new PositionalRecordView(TYPE, chars, 2, LINE.length());
+        Assert.assertEquals("A", record.getString(0));
+        Assert.assertEquals(Boolean.TRUE, record.getBoolean(3, Formats.BOOLEAN_Y_N));
+        Assert.assertEquals(LINE, record.toString());
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testTooShort() throws Exception {
+        new PositionalRecordView(TYPE, "A");
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testNull() throws Exception {
+        new PositionalRecordView(TYPE, (String) null);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalidInteger() throws Exception {
+        new PositionalRecordView(TYPE, LINE).getInteger(0);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalidPosition() throws Exception {
+        new PositionalRecordView(TYPE, LINE).getString(4);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() throws Exception {
+        new PositionalRecordView(TYPE, LINE).setString(0, "B");
+    }
+}
@@ -0,0 +1,97 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.utility.Formats;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ColumnBatchReaderTest {
+
+    private RecordManager manager = new RecordManager();
+
+    @Delimited
+    public static class Trade {
+        @TextColumn(name = "ID")
+        private int id;
+        @TextColumn(name = "SYMBOL")
+        private String symbol;
+        @TextColumn(name = "QTY")
+        private Long quantity;
+        @TextColumn(name = "PRICE")
+        private double price;
+        @TextColumn(name = "AMOUNT", scale = 2)
+        private BigDecimal amount;
+        @TextColumn(name = "DAY", dateFormat = Formats.DATE_FORMAT_CLEAN_INVERTED)
+        private LocalDate day;
+    }
+
+    @Test
+    public void testBatches() throws Exception {
+        String input = "DAY;PRICE;QTY;SYMBOL;ID;AMOUNT\n"
+                + "20110322;1.5;100;ABC;1;150\n"
+                + "20110323;2.25;;XY Z;2;4.5\n"
+                + "20110324;3;300;;3;\n";
+        ColumnBatchReader<Trade> reader = manager.batchReader(new StringReader(input), Trade.class, true, 2);
+        ColumnBatch batch = reader.newBatch();
+        Assert.assertEquals(2, reader.read(batch));
+        ColumnVector ids = batch.getVector("id");
+        ColumnVector symbols = batch.getVector("SYMBOL");
+        ColumnVector quantities = batch.getVector("quantity");
+        Assert.assertEquals(ColumnVector.Kind.INT, ids.getKind());
+        Assert.assertArrayEquals(new int[] {1, 2}, ids.getInts());
+        Assert.assertEquals("ABC", symbols.getString(0));
+        Assert.assertEquals("XY Z", symbols.getString(1));
+        Assert.assertEquals(100L, quantities.getLong(0));
+        Assert.assertTrue(quantities.isNull(1));
+        Assert.assertFalse(quantities.isNull(0));
+        Assert.assertEquals(2.25, batch.getVector("price").getDouble(1), 0);
+        Assert.assertEquals(new BigDecimal("4.50"), batch.getVector("amount").getObject(1));
+        Assert.assertEquals(LocalDate.of(2011, 3, 23), batch.getVector("day").getObject(1));
+        Assert.assertEquals(1, reader.read(batch));
+        Assert.assertEquals(1, batch.getSize());
+        Assert.assertEquals(3, batch.getVector("id").getInt(0));
+        Assert.assertTrue(batch.getVector("symbol").isNull(0));
+        Assert.assertTrue(batch.getVector("amount").isNull(0));
+        Assert.assertEquals(0, reader.read(batch));
+        reader.close();
+    }
+
+    @Positional
+    public static class Fixed {
+        @TextColumn(length = 4)
+        private String code;
+        @TextColumn(length = 6, invalidateOnError = false)
+        private Integer value;
+    }
+
+    @Test
+    public void testPositional() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            input.append(String.format("C%03d%6s%n", i, i % 10 == 0 ? "X" : String.valueOf(i * 1000)));
+        }
+        ColumnBatchReader<Fixed> reader = manager.batchReader(new StringReader(input.toString()), Fixed.class, false, 70);
+        ColumnBatch batch = reader.newBatch();
+        Assert.assertEquals(70, reader.read(batch));
+        ColumnVector codes = batch.getVector(0);
+        ColumnVector values = batch.getVector(1);
+        Assert.assertEquals("C069", codes.getString(69));
+        Assert.assertEquals(69000, values.getInt(69));
+        Assert.assertTrue(values.isNull(10));
+        Assert.assertEquals(30, reader.read(batch));
+        Assert.assertEquals("C099", codes.getString(29));
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalid() throws Exception {
+        ColumnBatchReader<Trade> reader = manager.batchReader(new StringReader("X;ABC;1;1.5;1;20110322"), Trade.class, false, 10);
+        reader.read(reader.newBatch());
+    }
+}
@@ -0,0 +1,104 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class LazyRecordTest {
+
+    private RecordManager manager = new RecordManager();
+
+    @Delimited
+    public static class Account {
+        @TextColumn(name = "ID")
+        private int id;
+        @TextColumn(name = "NAME")
+        private String name;
+        @TextColumn(name = "BALANCE", scale = 2)
+        private BigDecimal balance;
+        @TextColumn(name = "ACTIVE", booleanFormat = {"Y", "N"})
+        private Boolean active;
+        @TextColumn(name = "LIMIT", invalidateOnError = false)
+        private long limit;
+    }
+
+    public interface AccountView {
+        int getId();
+        String name();
+        BigDecimal getBalance() throws InvalidRecordException;
+        boolean isActive();
+        long getLimit();
+    }
+
+    @Test
+    public void testLazy() throws Exception {
+        LazyRecord<Account> record = manager.readLazy("7;ROSSI;NaN;Y;X", Account.class);
+        Assert.assertFalse(record.isDecoded(1));
+        Assert.assertEquals("ROSSI", record.get("NAME"));
+        Assert.assertTrue(record.isDecoded(1));
+        Assert.assertFalse(record.isDecoded(0));
+        Assert.assertSame(record.get("NAME"), record.get("name"));
+        Assert.assertNull(record.get("limit"));
+        try {
+            record.get("balance");
+            Assert.fail();
+        } catch (InvalidRecordException e) {
+            // invalid column is reported only when read
+        }
+        Assert.assertEquals(7, record.get("id"));
+    }
+
+    @Test
+    public void testView() throws Exception {
+        AccountView view = manager.readLazy("7;ROSSI;12.5;Y;X", Account.class).as(AccountView.class);
+        Assert.assertEquals(7, view.getId());
+        Assert.assertEquals("ROSSI", view.name());
+        Assert.assertEquals(new BigDecimal("12.50"), view.getBalance());
+        Assert.assertTrue(view.isActive());
+        Assert.assertEquals(0, view.getLimit());
+        Assert.assertEquals("7;ROSSI;12.5;Y;X", view.toString());
+    }
+
+    @Test
+    public void testViewInvalid() throws Exception {
+        AccountView view = manager.readLazy("X;ROSSI;12.5;Y;1", Account.class).as(AccountView.class);
+        Assert.assertEquals(1, view.getLimit());
+        try {
+            view.getId();
+            Assert.fail();
+        } catch (JfpaException e) {
+            Assert.assertTrue(e.getCause() instanceof InvalidRecordException);
+        }
+    }
+
+    @Test
+    public void testHeader() throws Exception {
+        LazyRecord<Account> record = manager.bindHeader(Account.class, "LIMIT;ACTIVE;BALANCE;NAME;ID").readLazy("5;N;1;BIANCHI;3");
+        Assert.assertEquals(3, record.get("id"));
+        Account account = record.toInstance();
+        Assert.assertEquals("BIANCHI", account.name);
+        Assert.assertEquals(5L, account.limit);
+        Assert.assertFalse(account.active);
+    }
+
+    @Positional
+    public static class Fixed {
+        @TextColumn(length = 2)
+        private Integer first;
+        @TextColumn(length = 3)
+        private String second;
+    }
+
+    @Test
+    public void testPositional() throws Exception {
+        LazyRecord<Fixed> record = manager.readLazy("XXABC", Fixed.class);
+        Assert.assertEquals("ABC", record.get(1));
+        Assert.assertEquals(2, record.getColumns());
+    }
+}
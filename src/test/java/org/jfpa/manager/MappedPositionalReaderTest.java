@@ -0,0 +1,116 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.RecordHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class MappedPositionalReaderTest {
+
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RecordManager manager = new RecordManager();
+    private ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Positional
+    public static class Row {
+        @TextColumn(length = 3)
+        private String code;
+        @TextColumn(length = 5)
+        private Integer value;
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private File write(String content) throws Exception {
+        File file = folder.newFile();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(ISO_8859_1));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static String lines(int count, String separator, boolean last) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(String.format("%-3s%5d", "R", i));
+            if (last || i < count - 1) {
+                builder.append(separator);
+            }
+        }
+        return builder.toString();
+    }
+
+    private List<Integer> read(File file, int separatorLength, boolean ordered) throws Exception {
+        final List<Integer> values = Collections.synchronizedList(new ArrayList<Integer>());
+        new MappedPositionalReader<Row>(manager, Row.class, ISO_8859_1, separatorLength, pool, 40).read(file.toPath(), new RecordHandler<Row>() {
+            public void handle(Row record) {
+                values.add(record.value);
+            }
+        }, ordered);
+        return values;
+    }
+
+    private static List<Integer> range(int count) {
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    @Test
+    public void testOrdered() throws Exception {
+        Assert.assertEquals(range(1000), read(write(lines(1000, "\r\n", true)), 2, true));
+    }
+
+    @Test
+    public void testUnordered() throws Exception {
+        List<Integer> values = read(write(lines(1000, "", false)), 0, false);
+        Collections.sort(values);
+        Assert.assertEquals(range(1000), values);
+    }
+
+    @Test
+    public void testLastSeparator() throws Exception {
+        Assert.assertEquals(range(7), read(write(lines(7, "\n", false)), 1, true));
+        Assert.assertEquals(range(0), read(write(""), 1, true));
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalidSize() throws Exception {
+        read(write(lines(3, "\n", true) + "R"), 1, true);
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalidRecord() throws Exception {
+        read(write(lines(100, "\n", true).replace("   50", "  ABC")), 1, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiByteCharset() throws Exception {
+        new MappedPositionalReader<Row>(manager, Row.class, Charset.forName("UTF-16"), 0);
+    }
+}
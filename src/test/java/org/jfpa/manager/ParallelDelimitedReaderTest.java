@@ -0,0 +1,175 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.interfaces.RecordHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelDelimitedReaderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RecordManager manager = new RecordManager();
+    private ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Delimited(stringEnclose = "\"")
+    public static class Row {
+        @TextColumn(name = "ID")
+        private Integer id;
+        @TextColumn(name = "TEXT")
+        private String text;
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private File write(String content) throws Exception {
+        File file = folder.newFile();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(UTF_8));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static String text(int i) {
+        return i % 3 == 0 ? "multi\nline;\u20ac" + i : "row" + i;
+    }
+
+    private static String lines(int count, boolean header) {
+        StringBuilder builder = new StringBuilder(header ? "\"TEXT\";\"ID\"\r\n" : "");
+        for (int i = 0; i < count; i++) {
+            if (header) {
+                builder.append('"').append(text(i)).append("\";\"").append(i).append("\"\r\n");
+            } else {
+                builder.append('"').append(i).append("\";\"").append(text(i)).append("\"\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private List<Row> read(File file, boolean header, boolean ordered) throws Exception {
+        final List<Row> rows = Collections.synchronizedList(new ArrayList<Row>());
+        new ParallelDelimitedReader<Row>(manager, Row.class, UTF_8, pool, 64).read(file.toPath(), new RecordHandler<Row>() {
+            public void handle(Row record) {
+                rows.add(record);
+            }
+        }, header, ordered);
+        return rows;
+    }
+
+    private static void check(List<Row> rows, int count, boolean ordered) {
+        Assert.assertEquals(count, rows.size());
+        boolean[] found = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Row row = rows.get(i);
+            if (ordered) {
+                Assert.assertEquals(Integer.valueOf(i), row.id);
+            }
+            Assert.assertEquals(text(row.id), row.text);
+            found[row.id] = true;
+        }
+        for (boolean b : found) {
+            Assert.assertTrue(b);
+        }
+    }
+
+    @Test
+    public void testOrdered() throws Exception {
+        check(read(write(lines(500, false)), false, true), 500, true);
+    }
+
+    @Test
+    public void testUnordered() throws Exception {
+        check(read(write(lines(500, false)), false, false), 500, false);
+    }
+
+    @Test
+    public void testHeader() throws Exception {
+        check(read(write(lines(200, true)), true, true), 200, true);
+        check(read(write("\"TEXT\";\"ID\""), true, true), 0, true);
+    }
+
+    @Test
+    public void testLastLine() throws Exception {
+        check(read(write("\"0\";\"" + text(0) + "\"\n\"1\";\"" + text(1) + "\""), false, true), 2, true);
+    }
+
+    @Test
+    public void testStrayEnclose() throws Exception {
+        String content = "\"1\";\"5\" pipe\"\n\"2\";\"abc\"\n\"3\";\"a\"b\"c\"\r\n\"4\";\"x\"\"\n\"5\";\"a\";b\"\n";
+        List<Row> expected = new ArrayList<Row>();
+        RecordReader<Row> reader = manager.reader(new StringReader(content), Row.class, false);
+        Row row;
+        while ((row = reader.readRecord()) != null) {
+            expected.add(row);
+        }
+        List<Row> rows = read(write(content), false, true);
+        Assert.assertEquals(5, expected.size());
+        Assert.assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Assert.assertEquals(expected.get(i).id, rows.get(i).id);
+            Assert.assertEquals(expected.get(i).text, rows.get(i).text);
+        }
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalidRecord() throws Exception {
+        read(write(lines(100, false).replace("\"50\"", "\"X\"")), false, false);
+    }
+
+    @Test
+    public void testNoRecordAfterFailure() throws Exception {
+        File file = write(lines(500, false).replace("\"50\"", "\"X\""));
+        final AtomicInteger handled = new AtomicInteger();
+        try {
+            new ParallelDelimitedReader<Row>(manager, Row.class, UTF_8, pool, 64).read(file.toPath(), new RecordHandler<Row>() {
+                public void handle(Row record) {
+                    handled.incrementAndGet();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, false, false);
+            Assert.fail("Invalid record not reported");
+        } catch (InvalidRecordException e) {
+            int count = handled.get();
+            Thread.sleep(50);
+            Assert.assertEquals(count, handled.get());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharset() throws Exception {
+        new ParallelDelimitedReader<Row>(manager, Row.class, Charset.forName("UTF-16"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeOnlyCharset() throws Exception {
+        new ParallelDelimitedReader<Row>(manager, Row.class, Charset.forName("ISO-2022-CN"));
+    }
+}
@@ -0,0 +1,131 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.PostRead;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.jfpa.interfaces.RecordValidator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+public class ProjectionTest {
+
+    private RecordManager manager = new RecordManager();
+
+    @Delimited
+    public static class Wide {
+        @TextColumn(name = "A")
+        private String a;
+        @TextColumn(name = "B")
+        private Integer b;
+        @TextColumn(name = "C")
+        private int c;
+        @TextColumn(name = "D")
+        private Long d;
+    }
+
+    public static class WideView {
+        private static final String IGNORED = "";
+        private Integer b;
+        private String a;
+    }
+
+    @Test
+    public void testDelimited() throws Exception {
+        Projection<Wide> projection = manager.project(Wide.class, "a", "B");
+        Wide wide = projection.read("X;1;NaN");
+        Assert.assertEquals("X", wide.a);
+        Assert.assertEquals(Integer.valueOf(1), wide.b);
+        Assert.assertEquals(0, wide.c);
+        Assert.assertNull(wide.d);
+        wide.c = 5;
+        projection.readInto("Y;2;NaN;NaN", wide);
+        Assert.assertEquals("Y", wide.a);
+        Assert.assertEquals(Integer.valueOf(2), wide.b);
+        Assert.assertEquals(5, wide.c);
+    }
+
+    @Test
+    public void testView() throws Exception {
+        Wide wide = manager.project(Wide.class, WideView.class).read("X;1");
+        Assert.assertEquals("X", wide.a);
+        Assert.assertEquals(Integer.valueOf(1), wide.b);
+    }
+
+    @Test
+    public void testHeader() throws Exception {
+        Projection<Wide> projection = manager.bindHeader(Wide.class, "D;C;B;A").project("c", "d");
+        Wide wide = projection.read("3;4");
+        Assert.assertEquals(4, wide.c);
+        Assert.assertEquals(Long.valueOf(3), wide.d);
+        Assert.assertNull(wide.a);
+    }
+
+    @Test
+    public void testReader() throws Exception {
+        RecordReader<Wide> reader = manager.reader(new StringReader("B;D;A;C\n1;2;X;Y\n3;4;Z;W\n"), Wide.class, true);
+        reader.setProjection("D");
+        reader.setReuseInstance(true);
+        Assert.assertEquals(Long.valueOf(2), reader.readRecord().d);
+        Wide wide = reader.readRecord();
+        Assert.assertEquals(Long.valueOf(4), wide.d);
+        Assert.assertNull(wide.b);
+        Assert.assertNull(reader.readRecord());
+    }
+
+    @Delimited
+    public static class Validated implements RecordValidator {
+        @TextColumn(name = "A")
+        private String a;
+        @TextColumn(name = "B")
+        private String b;
+        private boolean postRead;
+
+        public void validate() throws InvalidRecordException {
+            if (b == null) {
+                throw new InvalidRecordException("B is required");
+            }
+        }
+
+        @PostRead
+        public void afterRead() {
+            postRead = true;
+        }
+    }
+
+    @Test
+    public void testNoValidation() throws Exception {
+        Validated validated = manager.project(Validated.class, "a").read("X;Y");
+        Assert.assertEquals("X", validated.a);
+        Assert.assertNull(validated.b);
+        Assert.assertFalse(validated.postRead);
+        Assert.assertTrue(manager.read("X;Y", Validated.class).postRead);
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testUnknown() throws Exception {
+        manager.project(Wide.class, "a", "e");
+    }
+
+    @Positional
+    public static class Fixed {
+        @TextColumn(length = 3)
+        private Integer first;
+        @TextColumn(length = 5)
+        private Integer second;
+        @TextColumn(length = 2)
+        private String third;
+    }
+
+    @Test
+    public void testPositional() throws Exception {
+        Fixed fixed = manager.project(Fixed.class, "third", "first").read("001ABCDEZZ");
+        Assert.assertEquals(Integer.valueOf(1), fixed.first);
+        Assert.assertNull(fixed.second);
+        Assert.assertEquals("ZZ", fixed.third);
+    }
+}
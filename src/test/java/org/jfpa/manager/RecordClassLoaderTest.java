@@ -24,7 +24,13 @@ import org.jfpa.interfaces.TypeExtractor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class RecordClassLoaderTest {
 
@@ -414,4 +420,30 @@ public class RecordClassLoaderTest {
         recordClassLoader.loadClass(FakeDelimitedBad.class);
     }
 
+    @Test
+    public void testConcurrentLoad() throws Exception {
+        final RecordClassLoader loader = new RecordClassLoader(RecordManager.DEFAULT_DATE_FORMAT, RecordManager.DEFAULT_BOOLEAN_FORMAT);
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() throws Exception {
+                        start.await();
+                        Type type = loader.loadClass(MultiplePositionalTest.FakeMultiplePositionalRecord.class);
+                        return type == Type.MULTIPLE && loader.getCachedMultipleRecord(MultiplePositionalTest.FakeMultiplePositionalRecord.class) != null
+                                && loader.getCachedRecord(FakePositionalRecordA.class) != null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
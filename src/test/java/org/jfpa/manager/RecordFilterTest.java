@@ -0,0 +1,107 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.JfpaException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import static org.jfpa.manager.ColumnPredicate.*;
+
+public class RecordFilterTest {
+
+    private RecordManager manager = new RecordManager();
+
+    @Delimited
+    public static class Order {
+        @TextColumn(name = "STATUS")
+        private String status;
+        @TextColumn(name = "CODE")
+        private String code;
+        @TextColumn(name = "QTY")
+        private int quantity;
+        @TextColumn(name = "DAY")
+        private String day;
+    }
+
+    @Test
+    public void testPredicates() {
+        Assert.assertTrue(equalTo("A").test("xAx", 1, 2));
+        Assert.assertFalse(equalTo("A").test("xAx", 1, 3));
+        Assert.assertTrue(in("B", "C", "A").test("A", 0, 1));
+        Assert.assertFalse(in("B", "C").test("A", 0, 1));
+        Assert.assertTrue(startsWith("IT").test("IT01", 0, 4));
+        Assert.assertFalse(startsWith("IT01").test("IT", 0, 2));
+        Assert.assertTrue(between(10, 20).test("-15", 1, 3));
+        Assert.assertFalse(between(10, 20).test("-15", 0, 3));
+        Assert.assertFalse(between(0, 20).test("X", 0, 1));
+        Assert.assertFalse(between(0, 20).test("", 0, 0));
+        Assert.assertTrue(between("20110101", "20111231").test("20110322", 0, 8));
+        Assert.assertTrue(between("20110101", "20111231").test("20111231", 0, 8));
+        Assert.assertFalse(between("20110101", "20111231").test("2012", 0, 4));
+        Assert.assertFalse(between("20110101", "20111231").test("2011", 0, 4));
+        Assert.assertTrue(not(equalTo("A")).test("B", 0, 1));
+    }
+
+    @Test
+    public void testDelimited() throws Exception {
+        RecordFilter<Order> filter = manager.filter(Order.class).where("STATUS", equalTo("A")).where("quantity", between(1, 10));
+        Assert.assertTrue(filter.accept(" A ;X;5;20110322"));
+        Assert.assertFalse(filter.accept("B;X;5;20110322"));
+        // rejected before the invalid quantity is converted
+        Assert.assertNull(filter.read("B;X;NaN;20110322"));
+        Assert.assertNull(filter.read("A;X;50;20110322"));
+        Order order = filter.read("A;X;5;20110322");
+        Assert.assertEquals("X", order.code);
+        Assert.assertEquals(5, order.quantity);
+        Assert.assertEquals("20110322", order.day);
+        // only the filtered column is tokenized
+        Assert.assertFalse(manager.filter(Order.class).where("status", equalTo("A")).accept("B"));
+    }
+
+    @Test
+    public void testProject() throws Exception {
+        RecordFilter<Order> filter = manager.bindHeader(Order.class, "DAY;QTY;CODE;STATUS").filter()
+                .where("status", in("A", "C")).project("code");
+        Order order = new Order();
+        Assert.assertNull(filter.readInto("20110322;1;X;B", order));
+        Assert.assertNull(order.code);
+        Assert.assertSame(order, filter.readInto("20110322;NaN;X;C", order));
+        Assert.assertEquals("X", order.code);
+        Assert.assertEquals(0, order.quantity);
+        Assert.assertNull(order.day);
+    }
+
+    @Test
+    public void testReader() throws Exception {
+        String input = "STATUS;CODE;QTY;DAY\nA;X;1;20110322\nB;Y;2;20110323\nA;Z;3;20110324\nB;W;4;20110325\n";
+        RecordReader<Order> reader = manager.reader(new StringReader(input), Order.class, true)
+                .where("STATUS", equalTo("A")).where("DAY", between("20110323", "20111231"));
+        Order order = reader.readRecord();
+        Assert.assertEquals("Z", order.code);
+        Assert.assertNull(reader.readRecord());
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testUnknown() {
+        manager.filter(Order.class).where("TYPE", equalTo("A"));
+    }
+
+    @Positional
+    public static class Fixed {
+        @TextColumn(length = 1)
+        private String type;
+        @TextColumn(length = 5)
+        private Integer value;
+    }
+
+    @Test
+    public void testPositional() throws Exception {
+        RecordFilter<Fixed> filter = manager.filter(Fixed.class).where("type", equalTo("H"));
+        Assert.assertNull(filter.read("DXXXXX"));
+        Assert.assertEquals(Integer.valueOf(12), filter.read("H00012").value);
+    }
+}
@@ -12,6 +12,13 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 
 /**
@@ -109,6 +116,93 @@ public class RecordManagerTest {
         manager.write(simpleDateBad);
     }
 
+    @Positional
+    public static class TemporalPositional {
+        @TextColumn(length = 8, dateFormat = Formats.DATE_FORMAT_CLEAN_INVERTED)
+        private LocalDate localDate;
+        @TextColumn(length = 14, dateFormat = Formats.DATE_FORMAT_TIMESTAMP)
+        private LocalDateTime localDateTime;
+        @TextColumn(length = 14, dateFormat = Formats.DATE_FORMAT_TIMESTAMP)
+        private Instant instant;
+    }
+
+    @Test
+    public void testTemporal() throws Exception {
+        String line = "198212302011032208050920110322080509";
+        TemporalPositional record = manager.read(line, TemporalPositional.class);
+        Assert.assertEquals(LocalDate.of(1982, 12, 30), record.localDate);
+        Assert.assertEquals(LocalDateTime.of(2011, 3, 22, 8, 5, 9), record.localDateTime);
+        Assert.assertEquals(record.localDateTime.atZone(ZoneId.systemDefault()).toInstant(), record.instant);
+        Assert.assertEquals(line, manager.write(record));
+        record = manager.read("                                    ", TemporalPositional.class);
+        Assert.assertNull(record.localDate);
+        Assert.assertNull(record.instant);
+    }
+
+    @Test
+    public void testReadBytes() throws Exception {
+        Charset charset = Charset.forName("IBM1047");
+        byte[] bytes = "XX198212302011032208050920110322080509".getBytes(charset);
+        TemporalPositional record = manager.read(bytes, 2, bytes.length - 2, charset, TemporalPositional.class);
+        Assert.assertEquals(LocalDate.of(1982, 12, 30), record.localDate);
+        Assert.assertEquals(LocalDateTime.of(2011, 3, 22, 8, 5, 9), record.localDateTime);
+        Amounts amounts = manager.read(ByteBuffer.wrap("000001234567-12,5     1.5     ".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, Amounts.class);
+        Assert.assertEquals(-1250L, amounts.cents);
+    }
+
+    @Positional
+    public static class Amounts {
+        @TextColumn(length = 12, scale = 2, impliedDecimal = true)
+        private BigDecimal implied;
+        @TextColumn(length = 10, scale = 2, decimalSeparator = ",")
+        private long cents;
+        @TextColumn(length = 8, scale = 3)
+        private BigDecimal scaled;
+    }
+
+    @Test
+    public void testAmounts() throws Exception {
+        Amounts record = manager.read("000001234567-12,5     1.5     ", Amounts.class);
+        Assert.assertEquals(new BigDecimal("12345.67"), record.implied);
+        Assert.assertEquals(-1250L, record.cents);
+        Assert.assertEquals(new BigDecimal("1.500"), record.scaled);
+        Assert.assertEquals("1234567     -12,50    1.500   ", manager.write(record));
+        try {
+            manager.read("000001234567-12,555    1.5     ", Amounts.class);
+            Assert.fail();
+        } catch (InvalidRecordException ignore) {}
+    }
+
+    @Positional
+    public static class BadAmount {
+        @TextColumn(length = 12, impliedDecimal = true)
+        private BigDecimal implied;
+    }
+
+    @Test(expected = JfpaException.class)
+    public void testBadAmount() throws Exception {
+        manager.read("000001234567", BadAmount.class);
+    }
+
+    @Positional
+    public static class Lenient {
+        @TextColumn(length = 2, invalidateOnError = false)
+        private Integer boxed;
+        @TextColumn(length = 2, invalidateOnError = false)
+        private int primitive;
+    }
+
+    @Test
+    public void testReadInto() throws Exception {
+        Lenient record = manager.read("1 2 ", Lenient.class);
+        Assert.assertSame(record, manager.readInto("XXYY", record));
+        Assert.assertNull(record.boxed);
+        Assert.assertEquals(0, record.primitive);
+        manager.readInto("3 4 ", record);
+        Assert.assertEquals(Integer.valueOf(3), record.boxed);
+        Assert.assertEquals(4, record.primitive);
+    }
+
     @Positional
     public static class SimpleInteger {
         @TextColumn(length = 2)
@@ -457,6 +551,47 @@ public class RecordManagerTest {
         Assert.assertEquals("B", record.col2);
     }
 
+    @Test
+    public void testBindHeader() throws Exception {
+        HeaderBinding<HeaderDelimited> straight = manager.bindHeader(HeaderDelimited.class, "COL1;COL2");
+        HeaderBinding<HeaderDelimited> reversed = manager.bindHeader(HeaderDelimited.class, "X;COL2;COL1");
+        HeaderDelimited record = reversed.read("-;B;A");
+        Assert.assertEquals("A", record.col1);
+        Assert.assertEquals("B", record.col2);
+        Assert.assertEquals(";B;A", reversed.write(record));
+        Assert.assertEquals("A;B", straight.write(straight.read("A;B")));
+        Assert.assertEquals("A;B", manager.write(record));
+        Assert.assertSame(straight.getBinding(), manager.bindHeader(HeaderDelimited.class, "COL1;COL2").getBinding());
+        Assert.assertNotSame(straight.getBinding(), reversed.getBinding());
+        Assert.assertNotSame(straight.getBinding(), manager.bindHeader(HeaderDelimited.class, "COL2;COL1").getBinding());
+    }
+
+    @Positional
+    public static class PrimitivePositional {
+        @TextColumn(length = 5)
+        private int intValue;
+        @TextColumn(length = 10)
+        private long longValue;
+        @TextColumn(length = 6)
+        private double doubleValue;
+    }
+
+    @Test
+    public void testPrimitiveFields() throws Exception {
+        PrimitivePositional record = manager.read("-  12      1234  -1.5", PrimitivePositional.class);
+        Assert.assertEquals(-12, record.intValue);
+        Assert.assertEquals(1234L, record.longValue);
+        Assert.assertEquals(-1.5, record.doubleValue, 0);
+        record = manager.read("                     ", PrimitivePositional.class);
+        Assert.assertEquals(0, record.intValue);
+        Assert.assertEquals(0L, record.longValue);
+        Assert.assertEquals(0.0, record.doubleValue, 0);
+        record.intValue = 7;
+        record.longValue = -99;
+        record.doubleValue = 2.5;
+        Assert.assertEquals("7    -99       2.5   ", manager.write(record));
+    }
+
     @Delimited
     public static class BadHeaderDelimited {
         @TextColumn(length = -1, name = "COL1")
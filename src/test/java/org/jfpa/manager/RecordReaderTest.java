@@ -0,0 +1,106 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.jfpa.exception.JfpaException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class RecordReaderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RecordManager manager = new RecordManager();
+
+    @Delimited
+    public static class Row {
+        @TextColumn(name = "NAME")
+        private String name;
+        @TextColumn(name = "AMOUNT")
+        private Integer amount;
+    }
+
+    @Test
+    public void testIterator() throws Exception {
+        Iterator<Row> iterator = manager.reader(new StringReader("A;1\nB;2\n"), Row.class, false);
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals("A", iterator.next().name);
+        Assert.assertEquals(Integer.valueOf(2), iterator.next().amount);
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testHeader() throws Exception {
+        RecordReader<Row> reader = manager.reader(new StringReader("AMOUNT;NAME\r\n1;A\r\n2;B"), Row.class, true);
+        Row row = reader.readRecord();
+        Assert.assertEquals("A", row.name);
+        Assert.assertEquals(Integer.valueOf(1), row.amount);
+        Assert.assertEquals("B", reader.readRecord().name);
+        Assert.assertNull(reader.readRecord());
+        Assert.assertEquals(3, reader.getLineNumber());
+    }
+
+    @Test
+    public void testPath() throws Exception {
+        File file = folder.newFile();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write("NAME;AMOUNT\n\u00e0;1\n\u00e8;2\n".getBytes(UTF_8));
+        } finally {
+            out.close();
+        }
+        Stream<Row> stream = manager.stream(file.toPath(), UTF_8, Row.class, true);
+        try {
+            List<Row> rows = stream.collect(Collectors.<Row>toList());
+            Assert.assertEquals(2, rows.size());
+            Assert.assertEquals("\u00e0", rows.get(0).name);
+            Assert.assertEquals("\u00e8", rows.get(1).name);
+        } finally {
+            stream.close();
+        }
+    }
+
+    @Test
+    public void testReuseInstance() throws Exception {
+        RecordReader<Row> reader = manager.reader(new StringReader("AMOUNT;NAME\n1;A\n;B\n"), Row.class, true);
+        reader.setReuseInstance(true);
+        Row first = reader.readRecord();
+        Assert.assertEquals("A", first.name);
+        Assert.assertEquals(Integer.valueOf(1), first.amount);
+        Row second = reader.readRecord();
+        Assert.assertSame(first, second);
+        Assert.assertEquals("B", second.name);
+        Assert.assertNull(second.amount);
+        Assert.assertNull(reader.readRecord());
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testInvalidRecord() throws Exception {
+        manager.reader(new StringReader("A;X"), Row.class, false).readRecord();
+    }
+
+    @Test
+    public void testInvalidStream() throws Exception {
+        try {
+            manager.stream(new StringReader("A;1\nB;X"), Row.class, false).count();
+            Assert.fail();
+        } catch (JfpaException e) {
+            Assert.assertTrue(e.getCause() instanceof InvalidRecordException);
+        }
+    }
+}
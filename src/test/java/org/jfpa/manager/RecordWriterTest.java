@@ -0,0 +1,118 @@
+package org.jfpa.manager;
+
+import org.jfpa.annotatated.Common;
+import org.jfpa.annotatated.FakeDelimitedRecordA;
+import org.jfpa.annotatated.FakePositionalRecordA;
+import org.jfpa.annotatated.FakePositionalRecordB;
+import org.jfpa.annotatated.MultiplePositionalTest;
+import org.jfpa.annotation.Delimited;
+import org.jfpa.annotation.Positional;
+import org.jfpa.annotation.TextColumn;
+import org.jfpa.exception.InvalidRecordException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+
+public class RecordWriterTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private RecordManager manager = new RecordManager();
+
+    @Positional
+    public static class Numbers {
+        @TextColumn(length = 4)
+        private Integer integer;
+        @TextColumn(length = 6)
+        private Long value;
+    }
+
+    @Delimited(stringEnclose = "'")
+    public static class Enclosed {
+        @TextColumn(length = 6, name = "TEXT")
+        private String text;
+        @TextColumn(name = "VALUE")
+        private String value;
+    }
+
+    private static Numbers numbers(Integer integer, Long value) {
+        Numbers numbers = new Numbers();
+        numbers.integer = integer;
+        numbers.value = value;
+        return numbers;
+    }
+
+    @Test
+    public void testSameAsWrite() throws Exception {
+        FakePositionalRecordA positional = manager.read(Common.posLineA, FakePositionalRecordA.class);
+        FakeDelimitedRecordA delimited = manager.read(Common.delLineA, FakeDelimitedRecordA.class);
+        StringWriter out = new StringWriter();
+        RecordWriter writer = manager.writer(out, "\n");
+        writer.write(positional);
+        writer.write(delimited);
+        writer.close();
+        Assert.assertEquals(Common.posLineA + "\n" + Common.delLineA + "\n", out.toString());
+    }
+
+    @Test
+    public void testMultiple() throws Exception {
+        MultiplePositionalTest.FakeMultiplePositionalRecord record = new MultiplePositionalTest.FakeMultiplePositionalRecord();
+        record.setRecordA(manager.read(Common.posLineA, FakePositionalRecordA.class));
+        record.setRecordB(manager.read(Common.posLineB, FakePositionalRecordB.class));
+        StringWriter out = new StringWriter();
+        RecordWriter writer = manager.writer(out, "\r\n");
+        writer.write(record);
+        writer.flush();
+        Assert.assertEquals(Common.posLineA + "\r\n" + Common.posLineB + "\r\n", out.toString());
+    }
+
+    @Test
+    public void testNumbers() throws Exception {
+        StringWriter out = new StringWriter();
+        RecordWriter writer = new RecordWriter(manager, out, "|", 4);
+        writer.write(numbers(-123, 0L));
+        writer.write(numbers(null, 999999L));
+        writer.write(numbers(7, -99999L));
+        writer.close();
+        Assert.assertEquals("-1230     |    999999|7   -99999|", out.toString());
+        Assert.assertEquals(manager.write(numbers(-123, 0L)), "-1230     ");
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        StringWriter out = new StringWriter();
+        RecordWriter writer = manager.writer(out, "\n");
+        writer.write(numbers(1, 1L));
+        try {
+            writer.write(numbers(12345, 1L));
+            Assert.fail();
+        } catch (InvalidRecordException ignore) {}
+        writer.write(numbers(2, 2L));
+        writer.close();
+        Assert.assertEquals("1   1     \n2   2     \n", out.toString());
+    }
+
+    @Test
+    public void testEnclosedChannel() throws Exception {
+        Enclosed enclosed = new Enclosed();
+        enclosed.text = "\u20ac";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RecordWriter writer = manager.writer(Channels.newChannel(bytes), UTF_8, "\n");
+        writer.writeHeader(Enclosed.class);
+        writer.write(enclosed);
+        writer.close();
+        Assert.assertEquals("'TEXT';'VALUE'\n'\u20ac';''\n", new String(bytes.toByteArray(), UTF_8));
+        Assert.assertEquals("'\u20ac';''", manager.write(enclosed));
+    }
+
+    @Test(expected = InvalidRecordException.class)
+    public void testEnclosedTooLarge() throws Exception {
+        Enclosed enclosed = new Enclosed();
+        enclosed.text = "ABCDE";
+        manager.writer(new StringWriter(), "\n").write(enclosed);
+    }
+}
@@ -0,0 +1,104 @@
+package org.jfpa.utility;
+
+import org.jfpa.type.BinaryFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+public class BinaryCodecTest {
+
+    private static ByteChars bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return new ByteChars(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long decode(BinaryCodec codec, ByteChars bytes) {
+        return codec.decodeLong(bytes, 0, bytes.length());
+    }
+
+    private static ByteChars encode(BinaryCodec codec, long value, int length) {
+        byte[] bytes = new byte[length];
+        codec.encode(value, bytes, 0, length);
+        return new ByteChars(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void testPacked() throws Exception {
+        BinaryCodec codec = new BinaryCodec(BinaryFormat.PACKED, 2);
+        Assert.assertEquals(12345L, decode(codec, bytes(0x12, 0x34, 0x5C)));
+        Assert.assertEquals(-12345L, decode(codec, bytes(0x12, 0x34, 0x5D)));
+        Assert.assertEquals(7L, decode(codec, bytes(0x7F)));
+        Assert.assertEquals(new BigDecimal("123.45"), codec.decodeBigDecimal(bytes(0x12, 0x34, 0x5C), 0, 3));
+        ByteChars big = bytes(0x12, 0x34, 0x56, 0x78, 0x90, 0x12, 0x34, 0x56, 0x78, 0x90, 0x1D);
+        Assert.assertEquals(new BigDecimal("-1234567890123456789.01"), codec.decodeBigDecimal(big, 0, big.length()));
+        for (long value : new long[] {0, 1, -1, 99999, -99999, Long.MAX_VALUE, Long.MIN_VALUE + 1}) {
+            Assert.assertEquals(value, decode(codec, encode(codec, value, 10)));
+        }
+        Assert.assertArrayEquals(new byte[] {0x01, 0x23, 0x4C}, toArray(encode(codec, 1234, 3)));
+    }
+
+    @Test
+    public void testZoned() throws Exception {
+        BinaryCodec codec = new BinaryCodec(BinaryFormat.ZONED, 0);
+        Assert.assertEquals(123L, decode(codec, bytes(0xF1, 0xF2, 0xC3)));
+        Assert.assertEquals(-123L, decode(codec, bytes(0xF1, 0xF2, 0xD3)));
+        Assert.assertEquals(123L, decode(codec, bytes(0xF1, 0xF2, 0xF3)));
+        Assert.assertEquals(123L, decode(codec, bytes('1', '2', '3')));
+        Assert.assertEquals(-123L, decode(codec, bytes('1', '2', 's')));
+        Assert.assertArrayEquals(new byte[] {(byte) 0xF0, (byte) 0xF4, (byte) 0xD2}, toArray(encode(codec, -42, 3)));
+    }
+
+    @Test
+    public void testEndian() throws Exception {
+        BinaryCodec big = new BinaryCodec(BinaryFormat.BIG_ENDIAN, 0);
+        BinaryCodec little = new BinaryCodec(BinaryFormat.LITTLE_ENDIAN, 0);
+        Assert.assertEquals(0x0102L, decode(big, bytes(0x01, 0x02)));
+        Assert.assertEquals(0x0201L, decode(little, bytes(0x01, 0x02)));
+        Assert.assertEquals(-2L, decode(big, bytes(0xFF, 0xFE)));
+        Assert.assertEquals(-2L, decode(little, bytes(0xFE, 0xFF)));
+        Assert.assertEquals(-1, big.decodeInt(bytes(0xFF, 0xFF, 0xFF, 0xFF), 0, 4));
+        for (long value : new long[] {0, 127, -128, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Assert.assertEquals(value, decode(big, encode(big, value, 8)));
+            Assert.assertEquals(value, decode(little, encode(little, value, 8)));
+        }
+        Assert.assertEquals(-128L, decode(big, encode(big, -128, 1)));
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        String[] invalid = {"packed digit", "packed sign", "int range", "too long", "encode overflow", "encode digits"};
+        for (String message : invalid) {
+            try {
+                if (message.equals("packed digit")) {
+                    decode(new BinaryCodec(BinaryFormat.PACKED, 0), bytes(0x1A, 0x2C));
+                } else if (message.equals("packed sign")) {
+                    decode(new BinaryCodec(BinaryFormat.PACKED, 0), bytes(0x12, 0x34));
+                } else if (message.equals("int range")) {
+                    new BinaryCodec(BinaryFormat.BIG_ENDIAN, 0).decodeInt(bytes(0x01, 0, 0, 0, 0), 0, 5);
+                } else if (message.equals("too long")) {
+                    decode(new BinaryCodec(BinaryFormat.BIG_ENDIAN, 0), bytes(0, 0, 0, 0, 0, 0, 0, 0, 1));
+                } else if (message.equals("encode overflow")) {
+                    encode(new BinaryCodec(BinaryFormat.BIG_ENDIAN, 0), 128, 1);
+                } else {
+                    encode(new BinaryCodec(BinaryFormat.PACKED, 0), 1000, 2);
+                }
+                Assert.fail(message);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    private static byte[] toArray(ByteChars chars) {
+        byte[] bytes = new byte[chars.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = chars.getByte(i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,61 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public class ByteCharsTest {
+
+    @Test
+    public void testLatin() throws Exception {
+        String value = "xx CAF\u00C9 -123 ";
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        ByteChars chars = new ByteChars(bytes, 2, bytes.length - 2, StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(value.substring(2), chars.toString());
+        Assert.assertEquals('\u00C9', chars.charAt(4));
+        Assert.assertEquals("CAF\u00C9", CharParser.parseString(chars, 0, 6));
+        Assert.assertEquals(-123, CharParser.parseIntValue(chars, 6, chars.length()));
+        Assert.assertEquals("123", chars.subSequence(6, 11).subSequence(1, 4).toString());
+    }
+
+    @Test
+    public void testEbcdic() throws Exception {
+        Charset charset = Charset.forName("IBM1047");
+        Assert.assertTrue(ByteChars.isSingleByte(charset));
+        String value = "ABC 12345";
+        ByteChars chars = new ByteChars(ByteBuffer.wrap(value.getBytes(charset)), charset);
+        Assert.assertEquals(value, chars.toString());
+        Assert.assertEquals(12345L, CharParser.parseLongValue(chars, 3, chars.length()));
+    }
+
+    @Test
+    public void testBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("HEAD1234".getBytes(StandardCharsets.US_ASCII));
+        buffer.flip();
+        buffer.position(4);
+        ByteChars chars = new ByteChars(buffer, StandardCharsets.US_ASCII);
+        Assert.assertEquals("1234", chars.toString());
+        Assert.assertEquals(4, buffer.position());
+    }
+
+    @Test
+    public void testMultiByte() throws Exception {
+        Assert.assertFalse(ByteChars.isSingleByte(StandardCharsets.UTF_8));
+        Assert.assertFalse(ByteChars.isSingleByte(StandardCharsets.UTF_16));
+        try {
+            new ByteChars(new byte[0], StandardCharsets.UTF_8);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBounds() throws Exception {
+        new ByteChars(new byte[4], 2, 2, StandardCharsets.US_ASCII).charAt(2);
+    }
+}
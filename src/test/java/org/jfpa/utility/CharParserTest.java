@@ -0,0 +1,120 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class CharParserTest {
+
+    private static final String[] Y_N = Formats.BOOLEAN_Y_N;
+
+    private static String parseString(String value) {
+        return CharParser.parseString(value, 0, value.length());
+    }
+
+    @Test
+    public void testString() throws Exception {
+        Assert.assertEquals("A B", parseString("  A B "));
+        Assert.assertNull(parseString("   "));
+        Assert.assertNull(parseString(""));
+        Assert.assertEquals("BC", CharParser.parseString("ABCD", 1, 3));
+    }
+
+    @Test
+    public void testInteger() throws Exception {
+        Assert.assertEquals(Integer.valueOf(12345), CharParser.parseInteger("000012345", 0, 9));
+        Assert.assertEquals(Integer.valueOf(2), CharParser.parseInteger(" +2 ", 0, 4));
+        Assert.assertEquals(Integer.valueOf(-2), CharParser.parseInteger("-2", 0, 2));
+        Assert.assertEquals(Integer.valueOf(Integer.MIN_VALUE), CharParser.parseInteger("-2147483648", 0, 11));
+        Assert.assertNull(CharParser.parseInteger("  ", 0, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntegerOverflow() throws Exception {
+        CharParser.parseInteger("2147483648", 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntegerSignOnly() throws Exception {
+        CharParser.parseInteger(" - ", 0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntegerInvalid() throws Exception {
+        CharParser.parseInteger("1 2", 0, 3);
+    }
+
+    @Test
+    public void testPrimitive() throws Exception {
+        Assert.assertEquals(-42, CharParser.parseIntValue(" -  42", 0, 6));
+        Assert.assertEquals(0, CharParser.parseIntValue("   ", 0, 3));
+        Assert.assertEquals(Long.MIN_VALUE, CharParser.parseLongValue("-9223372036854775808", 0, 20));
+        Assert.assertEquals(0L, CharParser.parseLongValue("", 0, 0));
+        Assert.assertEquals(-1.5, CharParser.parseDoubleValue("- 1.5", 0, 5), 0);
+        Assert.assertEquals(0.0, CharParser.parseDoubleValue("  ", 0, 2), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrimitiveDoubleSign() throws Exception {
+        CharParser.parseDoubleValue("--1e3", 0, 5);
+    }
+
+    @Test
+    public void testLong() throws Exception {
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), CharParser.parseLong("9223372036854775807", 0, 19));
+        Assert.assertEquals(Long.valueOf(Long.MIN_VALUE), CharParser.parseLong("-9223372036854775808", 0, 20));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLongOverflow() throws Exception {
+        CharParser.parseLong("9223372036854775808", 0, 19);
+    }
+
+    @Test
+    public void testDouble() throws Exception {
+        String[] values = {"00001234.567", "0.1", "-0", "+3.", ".5", "123456789012345678", "1e3", "NaN", "0.30000000000000004"};
+        for (String value : values) {
+            Assert.assertEquals(value, Double.valueOf(value), CharParser.parseDouble(value, 0, value.length()));
+        }
+        Assert.assertNull(CharParser.parseDouble(" ", 0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleInvalid() throws Exception {
+        CharParser.parseDouble("1.2.3", 0, 5);
+    }
+
+    @Test
+    public void testBigDecimal() throws Exception {
+        String[] values = {"000000012345.67", "-1.50", "67", "1.", "12345678901234567890.123", "1E+3"};
+        for (String value : values) {
+            Assert.assertEquals(value, new BigDecimal(value), CharParser.parseBigDecimal(value, 0, value.length()));
+        }
+        Assert.assertEquals(new BigDecimal("1.5"), CharParser.parseBigDecimal(" 1,5 ", 0, 5));
+        Assert.assertNull(CharParser.parseBigDecimal("", 0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBigDecimalInvalid() throws Exception {
+        CharParser.parseBigDecimal("1,234.56", 0, 8);
+    }
+
+    @Test
+    public void testBoolean() throws Exception {
+        Assert.assertEquals(Boolean.TRUE, CharParser.parseBoolean(" Y", 0, 2, Y_N));
+        Assert.assertEquals(Boolean.FALSE, CharParser.parseBoolean("N ", 0, 2, Y_N));
+        Assert.assertNull(CharParser.parseBoolean(" ", 0, 1, Y_N));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBooleanInvalid() throws Exception {
+        CharParser.parseBoolean("X", 0, 1, Y_N);
+    }
+
+    @Test
+    public void testDate() throws Exception {
+        Assert.assertEquals(Utility.stringToDate("30/12/1982", Formats.DATE_FORMAT), CharParser.parseDate(" 30/12/1982 ", 0, 12, Formats.DATE_FORMAT));
+        Assert.assertNull(CharParser.parseDate("  ", 0, 2, Formats.DATE_FORMAT));
+    }
+}
@@ -0,0 +1,115 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.TimeZone;
+
+public class DateCodecTest {
+
+    @Test
+    public void testCache() throws Exception {
+        Assert.assertSame(DateCodec.forPattern(Formats.DATE_FORMAT), DateCodec.forPattern(Formats.DATE_FORMAT));
+        Assert.assertEquals(Formats.DATE_FORMAT_CLEAN, DateCodec.forPattern(Formats.DATE_FORMAT_CLEAN).getPattern());
+    }
+
+    @Test
+    public void testFixed() throws Exception {
+        DateCodec codec = DateCodec.forPattern(Formats.DATE_FORMAT_TIMESTAMP);
+        LocalDateTime value = LocalDateTime.of(2011, 3, 22, 8, 5, 9);
+        Assert.assertEquals("20110322080509", codec.format(value));
+        Assert.assertEquals(value, codec.parseLocalDateTime(" 20110322080509 ", 0, 16));
+        Assert.assertNull(codec.parseLocalDateTime("   ", 0, 3));
+        Assert.assertEquals(LocalDate.of(1982, 12, 30), DateCodec.forPattern(Formats.DATE_FORMAT_CLEAN).parseLocalDate("30121982", 0, 8));
+        codec = DateCodec.forPattern(Formats.DATE_FORMAT_DATETIME);
+        value = LocalDateTime.of(2011, 3, 22, 23, 59, 1, 7000000);
+        Assert.assertEquals("22/03/2011 23:59:01.007", codec.format(value));
+        Assert.assertEquals(value, codec.parseLocalDateTime("22/03/2011 23:59:01.007", 0, 23));
+    }
+
+    @Test
+    public void testSameAsSimpleDateFormat() throws Exception {
+        Date date = new Date(1300780800123L);
+        String[] formats = {Formats.DATE_FORMAT, Formats.DATE_FORMAT_CLEAN_INVERTED, Formats.DATE_FORMAT_TIMESTAMP,
+                Formats.DATE_FORMAT_DATETIME, Formats.DATE_FORMAT_TIME, "dd MMM yyyy HH:mm", "dd/MM/yy", "YYYY-MM-dd u"};
+        for (String format : formats) {
+            SimpleDateFormat sdf = new SimpleDateFormat(format);
+            String text = sdf.format(date);
+            Assert.assertEquals(format, text, DateCodec.forPattern(format).format(date));
+            Assert.assertEquals(format, sdf.parse(text), DateCodec.forPattern(format).parseDate(text, 0, text.length()));
+        }
+    }
+
+    @Test
+    public void testTwoDigitYear() throws Exception {
+        Assert.assertEquals(LocalDate.of(1995, 1, 1), DateCodec.forPattern("ddMMyy").parseLocalDate("010195", 0, 6));
+        Assert.assertEquals(LocalDate.of(1995, 1, 1), DateCodec.forPattern("dd/MM/yy").parseLocalDate("01/01/95", 0, 8));
+        Assert.assertEquals("010195", DateCodec.forPattern("ddMMyy").format(LocalDate.of(1995, 1, 1)));
+    }
+
+    @Test
+    public void testNotExact() throws Exception {
+        Assert.assertEquals(LocalDate.of(2011, 1, 5), DateCodec.forPattern(Formats.DATE_FORMAT).parseLocalDate("5/1/2011", 0, 8));
+        Assert.assertEquals(LocalDate.of(2011, 1, 5), DateCodec.forPattern(Formats.DATE_FORMAT_CLEAN_INVERTED).parseLocalDate("20110105xx", 0, 10));
+        Assert.assertEquals(Utility.stringToDate("1500-06-01", "yyyy-MM-dd"), new SimpleDateFormat("yyyy-MM-dd").parse("1500-06-01"));
+    }
+
+    @Test
+    public void testDaylightSaving() throws Exception {
+        TimeZone zone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Rome"));
+        try {
+            Assert.assertEquals(1698543000000L, Utility.stringToDate("202310290230", "yyyyMMddHHmm").getTime());
+            Assert.assertEquals(1698543000000L, Utility.stringToDate("29/10/2023 2:30", "d/M/yyyy H:mm").getTime());
+            Assert.assertEquals(Instant.ofEpochMilli(1698543000000L), DateCodec.forPattern("yyyyMMddHHmm").parseInstant("202310290230", 0, 12));
+            Date summer = new Date(1698539400000L);
+            Assert.assertEquals("202310290230", DateCodec.forPattern("yyyyMMddHHmm").format(summer));
+            String format = "yyyy-MM-dd HH:mm z";
+            Assert.assertEquals(new SimpleDateFormat(format).format(summer), DateCodec.forPattern(format).format(summer));
+            Assert.assertEquals(LocalDateTime.of(2023, 3, 26, 2, 30), DateCodec.forPattern("yyyyMMddHHmm").parseLocalDateTime("202303260230", 0, 12));
+            String[][] skipped = {{"yyyyMMddHHmm", "202303260230"}, {"d/M/yyyy H:mm", "26/3/2023 2:30"}};
+            for (String[] value : skipped) {
+                try {
+                    Utility.stringToDate(value[1], value[0]);
+                    Assert.fail(value[1] + " is skipped by daylight saving");
+                } catch (IllegalArgumentException ignore) {}
+            }
+        } finally {
+            TimeZone.setDefault(zone);
+        }
+    }
+
+    @Test
+    public void testInstant() throws Exception {
+        DateCodec codec = DateCodec.forPattern(Formats.DATE_FORMAT_TIMESTAMP);
+        Instant instant = LocalDateTime.of(2011, 3, 22, 8, 5, 9).atZone(ZoneId.systemDefault()).toInstant();
+        Assert.assertEquals(instant, codec.parseInstant("20110322080509", 0, 14));
+        Assert.assertEquals("20110322080509", codec.format(instant));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDay() throws Exception {
+        DateCodec.forPattern(Formats.DATE_FORMAT_CLEAN_INVERTED).parseDate("20110230", 0, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLength() throws Exception {
+        DateCodec.forPattern(Formats.DATE_FORMAT_CLEAN_INVERTED).parseDate("201102", 0, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFormatter() throws Exception {
+        DateCodec.forPattern("dd MMM yyyy").parseDate("30 Foo 1982", 0, 11);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPattern() throws Exception {
+        DateCodec.forPattern("ABC").format(new Date());
+    }
+}
@@ -0,0 +1,86 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class DecimalCodecTest {
+
+    private static BigDecimal parse(DecimalCodec codec, String value) {
+        return codec.parseBigDecimal(value, 0, value.length());
+    }
+
+    private static long parseMinorUnits(DecimalCodec codec, String value) {
+        return codec.parseMinorUnits(value, 0, value.length());
+    }
+
+    @Test
+    public void testDefault() throws Exception {
+        DecimalCodec codec = DecimalCodec.DEFAULT;
+        Assert.assertEquals(new BigDecimal("1234.50"), parse(codec, " 1234,50 "));
+        Assert.assertEquals(new BigDecimal("-0.001"), parse(codec, "- .001"));
+        Assert.assertEquals(new BigDecimal("12345678901234567890.12"), parse(codec, "12345678901234567890.12"));
+        Assert.assertNull(parse(codec, "   "));
+        String[] values = {"0", "-0.05", "1234.50", "12345678901234567890.12", "-9223372036854775808"};
+        for (String value : values) {
+            Assert.assertEquals(value, new BigDecimal(value).toPlainString(), codec.format(new BigDecimal(value)));
+        }
+        Assert.assertEquals("1000", codec.format(new BigDecimal("1E+3")));
+    }
+
+    @Test
+    public void testDefaultExponent() throws Exception {
+        Assert.assertEquals(new BigDecimal("1.5E+3"), parse(DecimalCodec.DEFAULT, "1.5E3"));
+        Assert.assertEquals(new BigDecimal("0.02"), parse(DecimalCodec.DEFAULT, "2e-2"));
+        Assert.assertEquals(Utility.stringToBigDecimal("-1,5E3"), parse(DecimalCodec.DEFAULT, "-1,5E3"));
+    }
+
+    @Test
+    public void testImplied() throws Exception {
+        DecimalCodec codec = new DecimalCodec(2, true, (char) 0);
+        BigDecimal value = parse(codec, "000001234567");
+        Assert.assertEquals(new BigDecimal("12345.67"), value);
+        Assert.assertEquals(2, value.scale());
+        Assert.assertEquals("1234567", codec.format(value));
+        Assert.assertEquals("500", codec.format(new BigDecimal("5")));
+        Assert.assertEquals(1234567L, parseMinorUnits(codec, "000001234567"));
+        Assert.assertEquals(new BigDecimal("123456789012345678901.23"), parse(codec, "12345678901234567890123"));
+    }
+
+    @Test
+    public void testScaleAndSeparator() throws Exception {
+        DecimalCodec codec = new DecimalCodec(2, false, ',');
+        Assert.assertEquals(new BigDecimal("12.50"), parse(codec, "12,5"));
+        Assert.assertEquals(new BigDecimal("12.00"), parse(codec, "12"));
+        Assert.assertEquals("-0,05", codec.format(new BigDecimal("-0.050")));
+        Assert.assertEquals(-5L, parseMinorUnits(codec, "-0,05"));
+        Assert.assertEquals(0L, parseMinorUnits(codec, " "));
+        Assert.assertEquals("12345,67", codec.format(1234567L));
+        Assert.assertEquals(Long.MIN_VALUE, parseMinorUnits(new DecimalCodec(0, false, (char) 0), "-9223372036854775808"));
+        char[] chars = "[        ]".toCharArray();
+        int end = codec.getChars(-7L, chars, 1);
+        Assert.assertEquals("[-0,07   ]", new String(chars));
+        Assert.assertEquals(1 + codec.length(-7L), end);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyDecimals() throws Exception {
+        parse(new DecimalCodec(2, false, (char) 0), "1.234");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongSeparator() throws Exception {
+        parse(new DecimalCodec(2, false, ','), "1.23");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinorUnitsOverflow() throws Exception {
+        parseMinorUnits(new DecimalCodec(2, false, (char) 0), "92233720368547758.08");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImpliedWithoutScale() throws Exception {
+        new DecimalCodec(-1, true, (char) 0);
+    }
+}
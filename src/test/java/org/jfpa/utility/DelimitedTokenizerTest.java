@@ -0,0 +1,58 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DelimitedTokenizerTest {
+
+    private static String[] tokens(DelimitedTokenizer tokenizer, String line) {
+        String[] tokens = new String[tokenizer.tokenize(line)];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = line.substring(tokenizer.getStart(i), tokenizer.getEnd(i));
+        }
+        return tokens;
+    }
+
+    @Test
+    public void testSplitSemantics() throws Exception {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(";", null);
+        Assert.assertArrayEquals(new String[]{"A", "", "B", ""}, tokens(tokenizer, "A;;B;"));
+        Assert.assertArrayEquals(new String[]{""}, tokens(tokenizer, ""));
+        Assert.assertArrayEquals(new String[]{"A", "B"}, tokens(new DelimitedTokenizer("||", ""), "A||B"));
+    }
+
+    @Test
+    public void testGrow() throws Exception {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(",", null, 1);
+        Assert.assertEquals(50, tokenizer.tokenize(Utility.buildDelimitedString(",", new Object[50])));
+    }
+
+    @Test
+    public void testEnclosed() throws Exception {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(";", "\"");
+        Assert.assertArrayEquals(new String[]{"\"A;B\"", "1", "\"C\""}, tokens(tokenizer, "\"A;B\";1;\"C\""));
+    }
+
+    @Test
+    public void testRange() throws Exception {
+        DelimitedTokenizer tokenizer = new DelimitedTokenizer(";", null);
+        Assert.assertEquals(2, tokenizer.tokenize("xxA;Byy", 2, 5));
+        Assert.assertEquals(2, tokenizer.getStart(0));
+        Assert.assertEquals(3, tokenizer.getEnd(0));
+        Assert.assertEquals(4, tokenizer.getStart(1));
+        Assert.assertEquals(5, tokenizer.getEnd(1));
+    }
+
+    @Test
+    public void testColumn() throws Exception {
+        Assert.assertEquals("B", DelimitedTokenizer.column("A;B;C", 1, ";", null));
+        Assert.assertEquals("", DelimitedTokenizer.column("A;B;", 2, ";", null));
+        Assert.assertNull(DelimitedTokenizer.column("A;B", 2, ";", null));
+        Assert.assertEquals("\"B;C\"", DelimitedTokenizer.column("A;\"B;C\";D", 1, ";", "\""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyDelimiter() throws Exception {
+        new DelimitedTokenizer("", null);
+    }
+}
@@ -0,0 +1,38 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getPercentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(1000000, histogram.getMax());
+        Assert.assertEquals(500500.0, histogram.getMean(), 0.001);
+        long median = histogram.getPercentile(50);
+        Assert.assertTrue(median >= 500000 && median <= 500000 * 1.125);
+        long p99 = histogram.getPercentile(99);
+        Assert.assertTrue(p99 >= 990000 && p99 <= 1000000);
+        Assert.assertEquals(1000000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(0, histogram.getPercentile(10));
+        Assert.assertEquals(3, histogram.getPercentile(50));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMax());
+    }
+}
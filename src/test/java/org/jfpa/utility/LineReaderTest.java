@@ -0,0 +1,74 @@
+package org.jfpa.utility;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LineReaderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static List<String> lines(LineReader reader) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    @Test
+    public void testTerminators() throws Exception {
+        LineReader reader = new LineReader(new StringReader("A\nB\r\nC\rD\r\n\nE"), 1);
+        Assert.assertEquals(Arrays.asList("A", "B", "C", "D", "", "E"), lines(reader));
+        Assert.assertEquals(6, reader.getLineNumber());
+    }
+
+    @Test
+    public void testLastTerminator() throws Exception {
+        Assert.assertEquals(Arrays.asList("A", "B"), lines(new LineReader(new StringReader("A\nB\n"))));
+        Assert.assertEquals(Arrays.<String>asList(), lines(new LineReader(new StringReader(""))));
+    }
+
+    @Test
+    public void testLongLine() throws Exception {
+        String line = Utility.spaces(100) + "X";
+        Assert.assertEquals(Arrays.asList(line, "Y"), lines(new LineReader(new StringReader(line + "\r\nY"), 8)));
+    }
+
+    @Test
+    public void testChannel() throws Exception {
+        String text = "\u00e0\u00e8\u00ec\u00f2\u00f9\n\u20ac;\u20ac\n";
+        ChannelReader channelReader = new ChannelReader(Channels.newChannel(new ByteArrayInputStream(text.getBytes(UTF_8))), UTF_8, 3);
+        Assert.assertEquals(Arrays.asList("\u00e0\u00e8\u00ec\u00f2\u00f9", "\u20ac;\u20ac"), lines(new LineReader(channelReader, 2)));
+    }
+
+    @Test(timeout = 5000)
+    public void testSurrogatePair() throws Exception {
+        String text = "abc\ud83d\ude00def\n";
+        ChannelReader channelReader = new ChannelReader(Channels.newChannel(new ByteArrayInputStream(text.getBytes(UTF_8))), UTF_8);
+        Assert.assertEquals(Arrays.asList("abc\ud83d\ude00def"), lines(new LineReader(channelReader, 4)));
+        channelReader = new ChannelReader(Channels.newChannel(new ByteArrayInputStream(text.getBytes(UTF_8))), UTF_8);
+        char[] chars = new char[4];
+        Assert.assertEquals(3, channelReader.read(chars, 0, 3));
+        Assert.assertEquals(1, channelReader.read(chars, 3, 1));
+        Assert.assertEquals('\ud83d', chars[3]);
+        Assert.assertEquals(1, channelReader.read(chars, 0, 4));
+        Assert.assertEquals('\ude00', chars[0]);
+    }
+
+    @Test(expected = MalformedInputException.class)
+    public void testMalformed() throws Exception {
+        byte[] bytes = {'A', (byte) 0xC3};
+        lines(new LineReader(new ChannelReader(Channels.newChannel(new ByteArrayInputStream(bytes)), UTF_8)));
+    }
+}